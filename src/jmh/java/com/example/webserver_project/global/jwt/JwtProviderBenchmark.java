@@ -0,0 +1,74 @@
+package com.example.webserver_project.global.jwt;
+
+import com.example.webserver_project.global.security.JwtUserInfoDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import javax.crypto.SecretKey;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+// JwtAuthFilter가 요청 하나를 처리할 때 드는 JWT 검증 비용 비교
+// legacy : 요청마다 JwtParser를 새로 만들고 validateToken/getTokenId/getUserId에서 3번 파싱하던 이전 방식
+// verifyOnce : 생성자에서 만든 JwtParser로 한 번만 검증하고 VerifiedToken을 재사용하는 방식 (검증 캐시 없음)
+// verifyCached : 같은 토큰이 반복해서 들어올 때 VerifiedTokenCache에서 꺼내오는 방식
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JwtProviderBenchmark {
+    private static final byte[] SECRET = "benchmark-secret-key-for-hs256-0123456789".getBytes();
+
+    private JwtProvider jwtProvider;
+    private JwtProvider cachedJwtProvider;
+    private SecretKey key;
+    private JwtUserInfoDto user;
+    private String accessToken;
+
+    @Setup
+    public void setUp() throws Exception {
+        String secret = Base64.getEncoder().encodeToString(SECRET);
+        JwtKeyRing keyRing = new JwtKeyRing(secret, JwtAlgorithm.HS256, "", 0, 14 * 24 * 60 * 60 * 1000L, new ObjectMapper());
+        jwtProvider = new JwtProvider(keyRing, 30 * 60 * 1000L, 14 * 24 * 60 * 60 * 1000L, new VerifiedTokenCache(0), new SimpleMeterRegistry());
+        cachedJwtProvider = new JwtProvider(keyRing, 30 * 60 * 1000L, 14 * 24 * 60 * 60 * 1000L, new VerifiedTokenCache(10_000), new SimpleMeterRegistry());
+        key = Keys.hmacShaKeyFor(SECRET);
+        user = JwtUserInfoDto.builder()
+                .userId(1L)
+                .email("bench@example.com")
+                .name("bench")
+                .role(RoleType.USER)
+                .build();
+        accessToken = jwtProvider.createAccessToken(user);
+    }
+
+    @Benchmark
+    public String createAccessToken() {
+        return jwtProvider.createAccessToken(user);
+    }
+
+    @Benchmark
+    public Claims parseClaims() {
+        return jwtProvider.parseClaims(accessToken);
+    }
+
+    @Benchmark
+    public void legacy(Blackhole bh) {
+        for (int i = 0; i < 3; i++) {
+            bh.consume(Jwts.parser().verifyWith(key).build().parseSignedClaims(accessToken).getPayload());
+        }
+    }
+
+    @Benchmark
+    public VerifiedToken verifyOnce() {
+        return jwtProvider.verify(accessToken);
+    }
+
+    @Benchmark
+    public VerifiedToken verifyCached() {
+        return cachedJwtProvider.verify(accessToken);
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.webserver_project.global.jwt;
+
+import com.example.webserver_project.global.security.JwtUserInfoDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+// 서명 알고리즘별 access token 서명/검증 비용 비교 (jwt.signing-algorithm 선택용)
+// HS256 : HMAC-SHA256 / ES256 : ECDSA P-256 / EdDSA : Ed25519
+// 검증 캐시를 끈 상태로 측정한다. (캐시 적중 시에는 알고리즘과 관계없이 비용이 같다)
+    // ㄴ> 실행 : ./gradlew jmh -PjmhIncludes=JwtSignatureAlgorithmBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JwtSignatureAlgorithmBenchmark {
+    private static final byte[] SECRET = "benchmark-secret-key-for-hs256-0123456789".getBytes();
+
+    @Param({"HS256", "ES256", "EdDSA"})
+    public JwtAlgorithm algorithm;
+
+    private JwtProvider jwtProvider;
+    private JwtUserInfoDto user;
+    private String accessToken;
+
+    @Setup
+    public void setUp() throws Exception {
+        JwtKeyRing keyRing = new JwtKeyRing(Base64.getEncoder().encodeToString(SECRET), algorithm, "", 0,
+                14 * 24 * 60 * 60 * 1000L, new ObjectMapper());
+        jwtProvider = new JwtProvider(keyRing, 30 * 60 * 1000L, 14 * 24 * 60 * 60 * 1000L, new VerifiedTokenCache(0), new SimpleMeterRegistry());
+        user = JwtUserInfoDto.builder()
+                .userId(1L)
+                .email("bench@example.com")
+                .name("bench")
+                .role(RoleType.USER)
+                .build();
+        accessToken = jwtProvider.createAccessToken(user);
+    }
+
+    @Benchmark
+    public String sign() {
+        return jwtProvider.createAccessToken(user);
+    }
+
+    @Benchmark
+    public VerifiedToken verify() {
+        return jwtProvider.verify(accessToken);
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.webserver_project.global.response;
+
+import com.example.webserver_project.domain.Auth.Dto.response.LoginResponseDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.util.concurrent.TimeUnit;
+
+// 모든 컨트롤러 응답을 감싸는 GlobalWebResponse의 JSON 직렬화 비용
+// serialize* : ObjectMapper로 byte[]를 만드는 비용
+// jacksonConverter* : 기본 MappingJackson2HttpMessageConverter로 응답 스트림에 쓰는 비용
+// envelopeConverter* : GlobalWebResponseHttpMessageConverter로 응답 스트림에 쓰는 비용
+// blackbird : ObjectMapper에 Blackbird 모듈 등록 여부 (애플리케이션은 JsonConfig에서 등록한다)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GlobalWebResponseBenchmark {
+    @Param({"false", "true"})
+    public boolean blackbird;
+
+    private ObjectMapper objectMapper;
+    private MappingJackson2HttpMessageConverter jacksonConverter;
+    private GlobalWebResponseHttpMessageConverter envelopeConverter;
+    private GlobalWebResponse<LoginResponseDto> success;
+    private GlobalWebResponse<?> error;
+
+    @Setup
+    public void setUp() {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json(); // Spring MVC와 같은 설정의 ObjectMapper
+        if(blackbird) {
+            builder.modulesToInstall(new BlackbirdModule());
+        }
+        objectMapper = builder.build();
+        jacksonConverter = new MappingJackson2HttpMessageConverter(objectMapper);
+        envelopeConverter = new GlobalWebResponseHttpMessageConverter(objectMapper, new SimpleMeterRegistry());
+
+        success = GlobalWebResponse.success("로그인 성공", LoginResponseDto.builder()
+                .id(1L)
+                .name("bench")
+                .email("bench@example.com")
+                .build());
+        error = GlobalWebResponse.error("401", "인증이 필요합니다.");
+    }
+
+    @Benchmark
+    public byte[] serializeSuccess() throws Exception {
+        return objectMapper.writeValueAsBytes(success);
+    }
+
+    @Benchmark
+    public byte[] serializeError() throws Exception {
+        return objectMapper.writeValueAsBytes(error);
+    }
+
+    @Benchmark
+    public MockHttpOutputMessage jacksonConverterSuccess() throws Exception {
+        MockHttpOutputMessage message = new MockHttpOutputMessage();
+        jacksonConverter.write(success, MediaType.APPLICATION_JSON, message);
+        return message;
+    }
+
+    @Benchmark
+    public MockHttpOutputMessage envelopeConverterSuccess() throws Exception {
+        MockHttpOutputMessage message = new MockHttpOutputMessage();
+        envelopeConverter.write(success, MediaType.APPLICATION_JSON, message);
+        return message;
+    }
+
+    @Benchmark
+    public MockHttpOutputMessage jacksonConverterError() throws Exception {
+        MockHttpOutputMessage message = new MockHttpOutputMessage();
+        jacksonConverter.write(error, MediaType.APPLICATION_JSON, message);
+        return message;
+    }
+
+    @Benchmark
+    public MockHttpOutputMessage envelopeConverterError() throws Exception {
+        MockHttpOutputMessage message = new MockHttpOutputMessage();
+        envelopeConverter.write(error, MediaType.APPLICATION_JSON, message);
+        return message;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.webserver_project.global.response;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+
+// 거절(401) 응답 하나를 쓰는 비용 비교
+// legacy : 요청마다 GlobalWebResponse.error() 생성 + ObjectMapper.writeValueAsString() + Writer로 쓰기 (기존 UserAuthenticationEntryPoint)
+// preSerialized : StaticJsonResponses에 미리 만들어둔 byte[]를 OutputStream으로 쓰기
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class StaticJsonResponseBenchmark {
+    private ObjectMapper objectMapper;
+    private StaticJsonResponses staticJsonResponses;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        staticJsonResponses = new StaticJsonResponses(objectMapper);
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse legacy() throws Exception {
+        response.reset();
+        GlobalWebResponse<?> errorResponse = GlobalWebResponse.error("401", "인증이 필요합니다.");
+        response.setStatus(HttpStatus.UNAUTHORIZED.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.getWriter().write(objectMapper.writeValueAsString(errorResponse));
+        response.getWriter().flush();
+        return response;
+    }
+
+    @Benchmark
+    public MockHttpServletResponse preSerialized() throws Exception {
+        response.reset();
+        staticJsonResponses.getUnauthorized().write(response);
+        return response;
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.webserver_project.global.security;
+
+import com.example.webserver_project.global.jwt.RoleType;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+// Spring Security가 인가 과정에서 여러 번 호출하는 getAuthorities()의 비용
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CustomUserDetailsBenchmark {
+    private CustomUserDetails userDetails;
+
+    @Setup
+    public void setUp() {
+        userDetails = CustomUserDetails.builder()
+                .user(JwtUserInfoDto.builder()
+                        .userId(1L)
+                        .email("bench@example.com")
+                        .name("bench")
+                        .role(RoleType.USER)
+                        .build())
+                .build();
+    }
+
+    @Benchmark
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return userDetails.getAuthorities();
+    }
+}
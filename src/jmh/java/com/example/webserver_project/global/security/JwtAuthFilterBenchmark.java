@@ -0,0 +1,83 @@
+package com.example.webserver_project.global.security;
+
+import com.example.webserver_project.global.jwt.JwtAlgorithm;
+import com.example.webserver_project.global.jwt.JwtKeyRing;
+import com.example.webserver_project.global.jwt.JwtProvider;
+import com.example.webserver_project.global.jwt.RoleType;
+import com.example.webserver_project.global.jwt.VerifiedTokenCache;
+import com.example.webserver_project.global.metrics.AuthMetrics;
+import com.example.webserver_project.global.response.StaticJsonResponses;
+import com.example.webserver_project.infra.redis.RedisUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// 인증된 요청 하나가 JwtAuthFilter를 통과하는 비용 (Redis, DB는 목 객체로 대체)
+// principalSource : CLAIMS(토큰 클레임으로 principal 생성) / DB(UserDetailsCache 조회)
+// verifiedCacheSize : 0이면 매 요청 서명 검증, 0보다 크면 검증 캐시 사용
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JwtAuthFilterBenchmark {
+    private static final byte[] SECRET = "benchmark-secret-key-for-hs256-0123456789".getBytes();
+
+    @Param({"CLAIMS", "DB"})
+    public PrincipalSource principalSource;
+
+    @Param({"0", "10000"})
+    public int verifiedCacheSize;
+
+    private JwtAuthFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private final FilterChain chain = (req, res) -> { };
+
+    @Setup
+    public void setUp() throws Exception {
+        JwtKeyRing keyRing = new JwtKeyRing(Base64.getEncoder().encodeToString(SECRET), JwtAlgorithm.HS256, "", 0,
+                14 * 24 * 60 * 60 * 1000L, new ObjectMapper());
+        JwtProvider jwtProvider = new JwtProvider(keyRing,
+                30 * 60 * 1000L, 14 * 24 * 60 * 60 * 1000L, new VerifiedTokenCache(verifiedCacheSize), new SimpleMeterRegistry());
+        JwtUserInfoDto user = JwtUserInfoDto.builder()
+                .userId(1L)
+                .email("bench@example.com")
+                .name("bench")
+                .role(RoleType.USER)
+                .build();
+
+        RedisUtil redisUtil = mock(RedisUtil.class);
+        when(redisUtil.isBlacklisted(anyString())).thenReturn(false);
+        UserDetailsCache userDetailsCache = mock(UserDetailsCache.class);
+        when(userDetailsCache.get(anyLong())).thenReturn(CustomUserDetails.builder().user(user).build());
+
+        filter = new JwtAuthFilter(userDetailsCache, jwtProvider, redisUtil,
+                new BearerTokenResolver(), new AuthMetrics(new SimpleMeterRegistry()),
+                new StaticJsonResponses(new ObjectMapper()));
+        ReflectionTestUtils.setField(filter, "principalSource", principalSource);
+
+        request = new MockHttpServletRequest("GET", "/user/me");
+        request.addHeader("Authorization", "Bearer " + jwtProvider.createAccessToken(user));
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public void doFilter() throws Exception {
+        filter.doFilter(request, response, chain);
+        SecurityContextHolder.clearContext();
+        // BearerTokenResolver가 꺼낸 토큰을 request attribute에 저장하므로, 지우지 않으면 두 번째 호출부터 헤더 파싱을 건너뛴다
+        request.clearAttributes();
+    }
+}
@@ -5,6 +5,7 @@ import com.example.webserver_project.domain.Auth.Dto.request.LoginRequestDto;
 import com.example.webserver_project.domain.Auth.Dto.response.LoginResponseDto;
 import com.example.webserver_project.domain.Auth.Sevice.AuthService;
 import com.example.webserver_project.global.response.GlobalWebResponse;
+import com.example.webserver_project.global.response.StaticJsonResponses;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
@@ -15,6 +16,8 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
+
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/auth")
@@ -23,6 +26,7 @@ import org.springframework.web.bind.annotation.RestController;
 // 토큰 발급/인증 흐름 관리에만 집중함 - 로그인, 회원가입, 토큰 재발급, 로그아웃
 public class AuthController {
     private final AuthService authService;
+    private final StaticJsonResponses staticJsonResponses; // 본문이 고정된 성공 응답 (서버 시작 시 한 번만 직렬화)
 
 
     // 사용자 정보를 바탕으로 로그인 및 jwt 발급 수행
@@ -32,16 +36,23 @@ public class AuthController {
         return ResponseEntity.ok(GlobalWebResponse.success("로그인 성공", dto));
     }
 
+    // 응답 본문 : GlobalWebResponse.success("로그아웃 성공")
+    // 본문은 서버 시작 시 직렬화해둔 byte[]를 응답에 바로 쓰고 null을 반환한다. (HttpEntityMethodProcessor는 null이면 응답을 다시 쓰지 않는다)
+    // ㄴ> 반환 타입은 실제 본문과 같은 GlobalWebResponse로 선언해서 API 문서(OpenAPI)에 응답 형식이 그대로 나오도록 한다.
     @PostMapping("/logout")
-    public ResponseEntity<GlobalWebResponse<Void>> logout(HttpServletRequest request, HttpServletResponse response){
+    public ResponseEntity<GlobalWebResponse<Void>> logout(HttpServletRequest request, HttpServletResponse response) throws IOException {
         authService.logout(request, response);
-        return ResponseEntity.ok(GlobalWebResponse.success("로그아웃 성공"));
+        staticJsonResponses.getLogoutSuccess().write(response);
+        return null;
     }
 
+    // 응답 본문 : GlobalWebResponse.success("Access Token 재발급 성공") (logout과 같은 방식으로 쓴다)
+    // 새 토큰은 Authorization 헤더와 Set-Cookie 헤더로 내려간다.
     @PostMapping("/refresh")
-    public ResponseEntity<GlobalWebResponse<Void>> reissueAccessToken(HttpServletRequest request, HttpServletResponse response) {
+    public ResponseEntity<GlobalWebResponse<Void>> reissueAccessToken(HttpServletRequest request, HttpServletResponse response) throws IOException {
         authService.reissueAccessToken(request, response);
-        return ResponseEntity.ok(GlobalWebResponse.success("Access Token 재발급 성공"));
+        staticJsonResponses.getReissueSuccess().write(response);
+        return null;
     }
 
 
@@ -0,0 +1,35 @@
+package com.example.webserver_project.domain.Auth.Controller;
+
+
+import com.example.webserver_project.global.jwt.JwtKeyRing;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+
+@RestController
+@RequiredArgsConstructor
+
+// 토큰 검증용 공개키 목록(JWK Set, RFC 7517)을 공개하는 컨트롤러
+// 다른 서비스는 해당 목록을 캐싱해두고, 토큰 헤더의 kid로 공개키를 찾아서 이 서버를 호출하지 않고 직접 토큰을 검증한다.
+// 표준 형식({"keys":[...]})을 그대로 내려줘야 하므로 GlobalWebResponse로 감싸지 않는다.
+public class JwksController {
+    private final JwtKeyRing jwtKeyRing;
+
+    // 다른 서비스가 JWKS를 캐싱하는 시간 (새 키는 서명에 쓰기 전에 미리 공개되므로, 교체 주기보다 짧기만 하면 된다)
+    @Value("${jwt.key-ring.jwks-max-age-seconds:300}")
+    private long maxAgeSeconds;
+
+    // 응답 본문은 키가 바뀔 때만 다시 직렬화된다 (JwtKeyRing)
+    @GetMapping(value = "/.well-known/jwks.json", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> jwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds)).cachePublic())
+                .body(jwtKeyRing.getJwksJson());
+    }
+}
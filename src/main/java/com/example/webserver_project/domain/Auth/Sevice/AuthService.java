@@ -4,23 +4,34 @@ import com.example.webserver_project.domain.Auth.Dto.request.LoginRequestDto;
 import com.example.webserver_project.domain.Auth.Dto.response.LoginResponseDto;
 import com.example.webserver_project.domain.Auth.exception.AuthErrorCode;
 import com.example.webserver_project.global.exception.CustomException;
+import com.example.webserver_project.global.metrics.AuthMetrics;
+import com.example.webserver_project.global.security.BearerTokenResolver;
 import com.example.webserver_project.global.security.CustomUserDetails;
+import com.example.webserver_project.global.security.CustomUserDetailsService;
+import com.example.webserver_project.global.security.JwtUserInfoDto;
 import com.example.webserver_project.infra.redis.RedisUtil;
 import com.example.webserver_project.global.jwt.JwtProvider;
-import jakarta.servlet.http.Cookie;
+import com.example.webserver_project.global.jwt.VerifiedToken;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseCookie;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
-import java.util.Date;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
@@ -28,9 +39,21 @@ public class AuthService {
     private final RedisUtil redisUtil; // refresh 토큰을 저장할 redis 객체
     private final JwtProvider jwtProvider;
     private final AuthenticationManager authenticationManager; // 인증 처리의 진입점이다. 여러 AuthenticationProvider에게 인증을 시도함
+    private final CustomUserDetailsService customUserDetailsService; // 토큰 재발급 시 최신 사용자 정보를 조회하기 위해 사용
+    private final BearerTokenResolver bearerTokenResolver; // 요청에서 access/refresh token을 꺼내는 객체
+    private final AuthMetrics authMetrics; // 로그인 인증(BCrypt 비교) 소요 시간 지표
 
     private boolean secure;
 
+    // 사용자별 최대 로그인 세션(refresh token 패밀리) 수 - 넘으면 가장 먼저 만료되는 세션부터 로그아웃된다.
+    @Value("${auth.refresh.max-sessions:10}")
+    private int maxSessions;
+
+    // 같은 refresh token으로 동시에 들어온 재발급(여러 탭 등)을 재사용으로 보지 않는 시간
+    // ㄴ> 회전 직후 이 시간 안에 들어온 직전 세대 토큰은 패밀리를 폐기하지 않고 거절만 한다.
+    @Value("${auth.refresh.reuse-grace-ms:2000}")
+    private long reuseGraceMillis;
+
     // 로그인 진행 함수 - login 시, 새로운 access token을 발급해주는 함수
     /*
     @param loginRequestDto : 사용자 로그인 요청 담긴 객체
@@ -54,130 +77,124 @@ public class AuthService {
     - 로그아웃 처리 메서드
     => 요청 헤더에서 액세스 토큰 추출
     => Redis 블랙리스트에 저장
-    => refresh token redis에서 삭제하여 재사용 차단
+    => 현재 로그인 세션의 refresh token 패밀리를 redis에서 삭제하여 재사용 차단 (다른 기기의 로그인은 유지됨)
     @param request : http 요청 객체(헤더에서 access token, userId get용)
     @param response : http 응답 객체(refresh 쿠키 삭제용)
     @throws CustomException : 액세스 토큰이 유효하지 않거나 없을 경우 {@link AuthErrorCode#INVALID_ACCESS_TOKEN}
      */
     public void logout(HttpServletRequest request, HttpServletResponse response){
         // Authorization 헤더에서 accessToken 가져오기
-        String accessToken = extractAccessTokenFromHeader(request);
-        if(accessToken == null || !jwtProvider.validateToken(accessToken)){
+        // 같은 요청에서 JwtAuthFilter가 이미 꺼낸 값이 있다면 재사용한다 (BearerTokenResolver)
+        String accessToken = bearerTokenResolver.resolveAccessToken(request);
+        if(accessToken == null){
             throw new CustomException(AuthErrorCode.INVALID_ACCESS_TOKEN);
         }
 
+        // accessToken을 한 번만 검증하고, 이후에는 검증 결과(VerifiedToken)에서 클레임을 꺼내쓴다
+        VerifiedToken verifiedToken = jwtProvider.verify(accessToken);
+
         // accessToken에서 userId 가져오기 (redis 저장소 관리용)
-        Long userId = jwtProvider.getUserId(accessToken);
+        Long userId = verifiedToken.getUserId();
 
         // accessToken에서 jti 가져오기 (블랙리스트 설정용)
-        String jti = jwtProvider.getTokenId(accessToken);
+        String jti = verifiedToken.getTokenId();
 
-        // 해당 accessToken redis의 블랙리스트에 등록하기
-        long expireTime = jwtProvider.getExpirationMiliSecond(accessToken) - System.currentTimeMillis();
+        // 해당 accessToken을 redis의 블랙리스트에 등록하고, accessToken의 패밀리 id(fid)로 해당 로그인 세션의 refresh token 패밀리를 제거한다.
+        // 두 작업을 Lua 스크립트 하나로 묶어서 Redis 왕복 1번으로 처리한다.
+        // ㄴ> fid가 없는 accessToken(패밀리 도입 전에 발급)이라면 이전 방식의 refresh token key를 지운다.
+        long expireTime = verifiedToken.getRemainMiliSecond(System.currentTimeMillis());
         String jtiKey = RedisUtil.BLACKLIST_TOKEN_PREFIX + jti;
-        redisUtil.setBlacklist(jtiKey, expireTime);
-
-        // userId를 이용해서 redis에서 refreshToken을 제거한다.
-        String userIdKey = RedisUtil.REFRESH_TOKEN_PREFIX + userId;
-        redisUtil.deleteData(userIdKey);
+        String familyId = verifiedToken.getFamilyId();
+        String refreshKey = familyId == null
+                ? RedisUtil.REFRESH_TOKEN_PREFIX + userId
+                : RedisUtil.REFRESH_FAMILY_PREFIX + userId;
+        redisUtil.blacklistAndRevoke(jtiKey, expireTime, refreshKey, familyId);
+        jwtProvider.invalidate(jti); // 블랙리스트에 등록한 토큰은 검증 캐시에서도 제거한다
     }
     
 
-    /*
-    - request의 Authorization 헤더에서 accessToken를 꺼내오는 함수
-    @param request : http 요청 헤더
-    @return accessToken
-     */
-    private String extractAccessTokenFromHeader(HttpServletRequest request){
-        // Authorization 헤더 꺼내오기
-        String bearer = request.getHeader(HttpHeaders.AUTHORIZATION);
-
-        // 꺼내온 인증 헤더가 Bearer로 시작하는지 확인
-        if(bearer != null && bearer.startsWith("Bearer ")){
-            return bearer.substring(7); // "Bearer "라는 7개의 단어 자르기
-        }
-        return null;
-    }
-    
-    
-    
-
     /*
     - 토큰 재발급 함수 - Refresh 토큰으로 새 Access(+회전된 Refresh) 발급
     - 쿠키에서 refresh token을 추출한 후 redis에 저장된 토큰과 비교하여 유효성을 검증한다.
     - 검증에 성공하면 새로운 액세스 토큰을 생성하여 응답 헤더에 포함시킨다.
     refresh 토큰 회전 : 액세스 토큰을 갱신할 때마다 기존 리프레시 토큰을 무효화하고 새로운 refresh 토큰을 발급하는 보안 강화 메커니즘
+    refresh 토큰 패밀리 : 로그인 한 번에서 회전으로 이어지는 refresh 토큰들의 묶음 (fid 클레임, 세대는 gen 클레임)
+    ㄴ> 이미 회전된 이전 세대의 토큰이 다시 들어오면 토큰이 탈취된 것으로 보고 패밀리 전체를 폐기한다. (정상 사용자도 다시 로그인해야 함)
 
     @param request : Http 요청 객체 (쿠키에서 refresh token 추출용)
     @param response : Http 응답 객체 (새로운 액세스 토큰 설정용)
      */
     // 디벨롭 가능 부분 - refreshToken 관련 absolute, Idle 개념 적용시키기
-    @Transactional
+    // DB는 사용자 조회만 하므로(회전/폐기는 Redis) 읽기 전용 트랜잭션으로 replica에서 읽는다. (방금 가입/탈퇴한 사용자는 ReadYourWritesTracker가 primary로 보냄)
+    @Transactional(readOnly = true)
     public void reissueAccessToken(HttpServletRequest request, HttpServletResponse response) {
         // 1. 쿠키에서 refreshToken 추출
-        String refreshToken = extractRefreshTokenFromCookie(request);
-        if(refreshToken == null || !jwtProvider.validateToken(refreshToken)) {
-            // refreshToken이 null이거나 유효한 refreshToken이 아니면 예외처리
-            // refreshToken이 만료된 상태라면, 재로그인을 시킨다.
+        String refreshToken = bearerTokenResolver.resolveRefreshToken(request); // 원본 Cookie 헤더에서 refreshToken 값만 꺼낸다
+        if(refreshToken == null) {
+            // refreshToken이 null이면 예외처리
             throw new CustomException(AuthErrorCode.INVALID_REFRESH_TOKEN);
         }
+        // refreshToken을 한 번만 검증한다. 유효한 refreshToken이 아니면 JwtException이 발생한다.
+        // refreshToken이 만료된 상태라면, 재로그인을 시킨다.
+        VerifiedToken verifiedToken = jwtProvider.verify(refreshToken);
 
         // 2. 사용자 ID 추출
-        Long userId = jwtProvider.getUserId(refreshToken);
-
-        // refreshToken의 redis에서 사용되는 redisKey
-        String redisKey = RedisUtil.REFRESH_TOKEN_PREFIX + userId;
-
-        // 3. redis에 저장된 refresh Token과 쿠키에서 추출한 refresh Token 비교
-        String storedToken = redisUtil.getData(redisKey);
-        // ㄴ> RedisUtil.REFRESH_TOKEN_PREFIX + userId 형식으로 된 key로 저장해둔 토큰을 확인한다.
-        if(storedToken == null || !refreshToken.equals(storedToken)) {
-            // refresh Token과 stored Token이 같지 않다면, 예외 발생
-            throw new CustomException(AuthErrorCode.INVALID_REFRESH_TOKEN);
-        }
+        Long userId = verifiedToken.getUserId();
 
-        // 4. 쿠키에 저장된 refresh token의 expire 시간 추출
-        Date now = new Date();
-        long remainExpireTime = jwtProvider.getExpirationMiliSecond(refreshToken) - now.getTime();
+        // 3. 쿠키에 저장된 refresh token의 expire 시간 추출
+        long now = System.currentTimeMillis();
+        long remainExpireTime = verifiedToken.getRemainMiliSecond(now);
 
         // 현재 refresh token이 만료된 경우, 예외처리
         if(remainExpireTime <= 0) {
             throw new CustomException(AuthErrorCode.REFRESH_TOKEN_EXPIRED);
         }
 
-        // 5. New accessToken, refreshToken 발급 (refresh 토큰 회전)
-        // 이전에 사용되던 refreshToken의 expireTime을 그대로 새로 생성된 refreshToken에도 적용시킨다.
-        String newAccessToken = jwtProvider.createAccessToken(userId);
-        String newRefreshToken = jwtProvider.createRefreshToken(userId, remainExpireTime);
+        // 4. access token에 넣을 최신 사용자 정보를 DB에서 조회한다 (재발급은 드물게 일어나므로 여기서만 DB를 조회함)
+        // 탈퇴한 사용자라면 재발급하지 않는다.
+        CustomUserDetails principal = customUserDetailsService.loadUserById(userId);
+        if(principal == null) {
+            throw new CustomException(AuthErrorCode.INVALID_REFRESH_TOKEN);
+        }
+        JwtUserInfoDto user = principal.getUser();
 
-        // 6. redis에 저장된 refresh Token 값을 새롭게 발급한 refreshToken으로 교체
-        redisUtil.setData(redisKey, newRefreshToken, jwtProvider.getExpirationMiliSecond(newRefreshToken)/1000);
+        // 5. 패밀리 도입 전에 발급된 refresh token(fid 없음)이라면, 저장된 토큰과 같을 때만 지우고 새 패밀리로 옮겨간다.
+        String familyId = verifiedToken.getFamilyId();
+        if(familyId == null) {
+            if(!redisUtil.consumeLegacyRefreshToken(RedisUtil.REFRESH_TOKEN_PREFIX + userId, refreshToken)) {
+                throw new CustomException(AuthErrorCode.INVALID_REFRESH_TOKEN);
+            }
+            issueFamily(user, now + remainExpireTime, response);
+            return;
+        }
 
-        // 7. 응답 설정
+        // 6. New accessToken, refreshToken 발급 (refresh 토큰 회전)
+        // 이전에 사용되던 refreshToken의 expireTime을 그대로 새로 생성된 refreshToken에도 적용시킨다. (패밀리 전체의 수명은 로그인 시점에 정해진다)
+        long generation = verifiedToken.getGeneration();
+        String newAccessToken = jwtProvider.createAccessToken(user, familyId);
+        String newRefreshToken = jwtProvider.createRefreshToken(userId, user.getRole(), familyId, generation + 1, remainExpireTime);
+
+        // 7. redis에 저장된 패밀리의 세대와 토큰 해시가 쿠키의 refresh Token과 같을 때만 다음 세대로 교체 (CAS)
+        // 비교와 교체를 Redis 안에서 원자적으로 수행하므로, 같은 refreshToken으로 동시에 들어온 요청 중 하나만 성공한다.
+        int result = redisUtil.rotateRefreshFamily(RedisUtil.REFRESH_FAMILY_PREFIX + userId, familyId,
+                generation, hashToken(refreshToken), hashToken(newRefreshToken), reuseGraceMillis);
+        if(result == RedisUtil.REFRESH_REUSE_DETECTED) {
+            // 이미 회전된 refresh Token이 다시 사용됨 -> 패밀리는 Redis에서 폐기되었다.
+            authMetrics.getRefreshReuseCounter().increment();
+            throw new CustomException(AuthErrorCode.REFRESH_TOKEN_REUSED);
+        }
+        if(result != RedisUtil.REFRESH_ROTATED) {
+            // 패밀리가 없거나(로그아웃, 만료) 방금 다른 요청이 같은 토큰으로 회전했다면, 예외 발생
+            throw new CustomException(AuthErrorCode.INVALID_REFRESH_TOKEN);
+        }
+
+        // 8. 응답 설정
         setAccessTokenHeader(response, newAccessToken);
-        setRefreshTokenHeader(response, newRefreshToken, jwtProvider.getExpirationMiliSecond(newRefreshToken)/1000);
+        setRefreshTokenHeader(response, newRefreshToken, remainExpireTime/1000);
     }
 
 
 
-    /*
-    - 쿠키에서 refreshToken을 추출하는 함수
-    @param request : http 요청 객체
-    @return String : refreshToken
-     */
-    private String extractRefreshTokenFromCookie(HttpServletRequest request){
-        if(request.getCookies() == null) return null; // 요청에 쿠키가 없으면
-
-        for(Cookie cookie : request.getCookies()) {
-            // 쿠키에 refreshToken이 있다면, 해당 쿠키값 반환
-            if("refreshToken".equals(cookie.getName())) {
-                return cookie.getValue();
-            }
-        }
-        return null;
-    }
-
-
     // 사용자 정보를 인증하는 함수 (이메일, 비밀번호 검증)
     /*
         @params loginRequestDto : 로그인 요청 정보 담겨있는 dto
@@ -187,14 +204,34 @@ public class AuthService {
      */
     private CustomUserDetails validateUser(LoginRequestDto loginRequestDto){
         // 인증 진입점인 AuthenticationManager를 사용하여
-        Authentication auth = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(loginRequestDto.getEmail(), loginRequestDto.getPassword())
-        );
+        // 인증 시간(사용자 조회 + BCrypt 비교)을 결과별로 기록한다.
+        long start = System.nanoTime();
+        Authentication auth;
+        try {
+            auth = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(loginRequestDto.getEmail(), loginRequestDto.getPassword())
+            );
+            authMetrics.getLoginTimer().success(start);
+        } catch (BadCredentialsException e) {
+            authMetrics.getLoginTimer().failure(start);
+            authMetrics.getBadCredentialsCounter().increment();
+            throw e;
+        } catch (CustomException e) {
+            authMetrics.getLoginTimer().failure(start);
+            if(e.getErrorCode() == AuthErrorCode.PASSWORD_HASH_BUSY) {
+                authMetrics.getHashBusyCounter().increment();
+            }
+            throw e;
+        } catch (RuntimeException e) {
+            authMetrics.getLoginTimer().failure(start);
+            throw e;
+        }
         // ㄴ> 내부적으로 AuthenticationProvider(DaoAuthenticationProvider)
         // -> UserDetailsService.loadUserByUsername(email)로 DB에서 사용자 로드
         // -> PasswordEncoder.matches(raw, encoded)로 비번 검증
         // -> 성공 시 인증 완료 Authentication 반환
         // 위 과정을 통해 로그인 인증 과정을 내부적으로 수행한다. 따라서, UserDetailsService를 구현해놓고 PasswordEncoder 빈 등록을 해주어야 하는 것이다.
+        // -> 저장된 해시가 현재 해시 정책과 다르면(passwordEncoder.upgradeEncoding) 새 정책으로 다시 해싱해서 CustomUserDetailsService.updatePassword()로 교체함
 
         CustomUserDetails principal = (CustomUserDetails) auth.getPrincipal();
         // auth.getPrincipal() : 현재 로그인한 사용자 정보를 가져오는 메서드
@@ -205,28 +242,54 @@ public class AuthService {
 
     /*
     token 발급 및 response 설정 함수
-    redis에 refreshToken을 등록하고, response에 accessToken과 refreshToken Header를 설정
+    새 refresh token 패밀리를 만들어 redis에 등록하고, response에 accessToken과 refreshToken Header를 설정
     @param principal : CustomUserDetails 객체로, Authentication의 principal인 UserDetails 구현 객체이다.
     @param response : Http 응답 객체
      */
     private void issueTokensAndSetResponse(CustomUserDetails principal, HttpServletResponse response){
-        // 해당 principal에서 userId를 얻어온다
-        Long userId = principal.getUser().getUserId();
-
-        // 얻어온 userId로 AccessToken, RefreshToken을 생성한다.
-        String accessToken = jwtProvider.createAccessToken(userId);
-        String refreshToken = jwtProvider.createRefreshToken(userId);
+        issueFamily(principal.getUser(), 0, response);
+    }
 
-        // redis에 refreshToken 저장하기
-        // key-userId & value-refreshToken
-        String redisKey = RedisUtil.REFRESH_TOKEN_PREFIX + userId;
-        redisUtil.setData(redisKey, refreshToken, jwtProvider.getExpirationMiliSecond(refreshToken)/1000);
+    /*
+    새 refresh token 패밀리(1세대)를 발급하는 함수
+    @param user : 토큰에 넣을 사용자 정보
+    @param expiresAtMillis : refresh token 만료 시각 (0이면 jwt.refresh-token-expiration-time만큼 새로 정한다)
+     */
+    private void issueFamily(JwtUserInfoDto user, long expiresAtMillis, HttpServletResponse response){
+        Long userId = user.getUserId();
+        String familyId = UUID.randomUUID().toString();
+
+        // 얻어온 사용자 정보로 AccessToken, RefreshToken을 생성한다.
+        // access token에는 비밀번호를 제외한 사용자 정보가 클레임으로 들어간다. (로그아웃 시 세션을 찾기 위해 fid도 넣는다)
+        String accessToken = jwtProvider.createAccessToken(user, familyId);
+        String refreshToken = expiresAtMillis > 0
+                ? jwtProvider.createRefreshToken(userId, user.getRole(), familyId, 1, expiresAtMillis - System.currentTimeMillis())
+                : jwtProvider.createRefreshToken(userId, user.getRole(), familyId, 1);
+        long refreshExpiresAt = jwtProvider.getExpirationMiliSecond(refreshToken);
+
+        // 방금 발급한 refreshToken의 만료 시간 (초)
+        long refreshExpireSeconds = (refreshExpiresAt - System.currentTimeMillis())/1000;
+
+        // redis의 사용자별 패밀리 hash에 등록하기
+        // key-userId & field-familyId & value-"세대:토큰 해시:만료 시각:회전 시각"
+        redisUtil.issueRefreshFamily(RedisUtil.REFRESH_FAMILY_PREFIX + userId, familyId, hashToken(refreshToken),
+                refreshExpiresAt, maxSessions);
 
         // response Access Token Header 설정
         setAccessTokenHeader(response, accessToken);
         // response에 Refresh Token Header 설정
-        setRefreshTokenHeader(response, refreshToken, jwtProvider.getExpirationMiliSecond(refreshToken)/1000);
+        setRefreshTokenHeader(response, refreshToken, refreshExpireSeconds);
+    }
 
+    // redis에 JWT 원문 대신 저장할 refresh token 해시 (SHA-256 앞 16byte, base64url)
+    // ㄴ> 세대 번호로 재사용을 판단하고, 해시는 같은 세대의 위조 토큰(서명 키 유출 등)을 구분하는 용도이므로 128bit면 충분하다.
+    private static String hashToken(String token){
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 16));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e); // 모든 JVM은 SHA-256을 지원해야 한다
+        }
     }
 
     // response Header에 accessToken 헤더 설정하는 함수
@@ -245,7 +308,7 @@ public class AuthService {
             // ㄴ> name : 쿠키의 이름 / value : 쿠키의 값
             // 브라우저에 name:<value> 형태의 쿠키가 저장되도록 Set-Cookie 헤더를 만드는 것임
         ResponseCookie.ResponseCookieBuilder cookie =
-                ResponseCookie.from("refreshToken", refreshToken)
+                ResponseCookie.from(BearerTokenResolver.REFRESH_TOKEN_COOKIE, refreshToken)
                         .httpOnly(true) // 해당 쿠키에 JS(문서, 콘솔)의 document.cookie 식의 접근을 차단함 -> XSS 방어에 핵심임 (악의적인 스크립트가 쿠키 정보를 탈취하는 것을 막음)
                         .path("/") // 어떤 경로의 요청에 쿠키가 담길지 범위를 지정함 (전 사이트 경로에서 전송. 보안 강화하려면 /auth 등의 url로 좁힐 수 있음)
                         .secure(false) // 로컬은 HTTP이므로 false 지정. HTTPS(운영)일 때는 true로 설정한다
@@ -13,6 +13,7 @@ public enum AuthErrorCode implements BaseErrorCode {
     INVALID_AUTH_CONTEXT("AUTH_401_003", "SecurityContext에 인증 정보가 없습니다.", HttpStatus.UNAUTHORIZED),
     AUTHENTICATION_NOT_FOUND("AUTH_401_004", "로그인이 필요합니다.", HttpStatus.UNAUTHORIZED),
     INVALID_PASSWORD("AUTH_401_005", "비밀번호가 일치하지 않습니다.", HttpStatus.UNAUTHORIZED),
+    PASSWORD_HASH_BUSY("AUTH_503_001", "요청이 많아 잠시 후 다시 시도해주세요.", HttpStatus.SERVICE_UNAVAILABLE),
 
     TOKEN_FAIL("JWT_401_001", "액세스 토큰 요청을 실패했습니다.", HttpStatus.UNAUTHORIZED),
     INVALID_ACCESS_TOKEN("JWT_401_002", "유효하지 않은 액세스 토큰입니다.", HttpStatus.UNAUTHORIZED),
@@ -20,7 +21,8 @@ public enum AuthErrorCode implements BaseErrorCode {
     ACCESS_TOKEN_EXPIRED("JWT_401_004", "액세스 토큰이 만료되었습니다.", HttpStatus.UNAUTHORIZED),
     REFRESH_TOKEN_EXPIRED("JWT_401_005", "리프레시 토큰이 만료되었습니다.", HttpStatus.UNAUTHORIZED),
     UNSUPPORTED_TOKEN("JWT_401_006", "지원되지 않는 JWT 형식입니다.",  HttpStatus.UNAUTHORIZED),
-    INVALID_SIGNATURE("JWT_401_007", "JWT 서명이 유효하지 않습니다.", HttpStatus.UNAUTHORIZED)
+    INVALID_SIGNATURE("JWT_401_007", "JWT 서명이 유효하지 않습니다.", HttpStatus.UNAUTHORIZED),
+    REFRESH_TOKEN_REUSED("JWT_401_008", "이미 사용된 리프레시 토큰입니다. 다시 로그인해주세요.", HttpStatus.UNAUTHORIZED)
     ;
 
     private final String code;
@@ -0,0 +1,73 @@
+package com.example.webserver_project.domain.user.Controller;
+
+import com.example.webserver_project.domain.user.Dto.request.UserBulkDeleteRequestDto;
+import com.example.webserver_project.domain.user.Dto.response.UserBulkDeleteResponseDto;
+import com.example.webserver_project.domain.user.Dto.response.UserImportResponseDto;
+import com.example.webserver_project.domain.user.Dto.response.UserSearchResponseDto;
+import com.example.webserver_project.domain.user.Service.UserImportService;
+import com.example.webserver_project.domain.user.Service.UserReindexService;
+import com.example.webserver_project.domain.user.Service.UserSearchService;
+import com.example.webserver_project.domain.user.Service.UserService;
+import com.example.webserver_project.global.response.GlobalWebResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/admin/users")
+@PreAuthorize("hasRole('ADMIN')") // 관리자만 접근 가능 (SecurityConfig에서도 /admin/** 경로에 ADMIN 권한을 요구한다)
+
+// 관리자 도구에서 사용하는 사용자 관리 API
+public class AdminUserController {
+    private final UserSearchService userSearchService;
+    private final UserImportService userImportService;
+    private final UserService userService;
+    private final UserReindexService userReindexService;
+
+    // 이름/이메일 접두어 검색 - GET /admin/users/search?q=kim&size=20
+    @GetMapping("/search")
+    public ResponseEntity<GlobalWebResponse<List<UserSearchResponseDto>>> search(
+            @RequestParam("q") String query,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        List<UserSearchResponseDto> users = userSearchService.searchByPrefix(query, size);
+        return ResponseEntity.ok(GlobalWebResponse.success("사용자 검색 성공", users));
+    }
+
+    // 사용자 일괄 등록 - POST /admin/users/import (Content-Type : application/x-ndjson 또는 text/csv)
+    // 본문을 @RequestBody로 한 번에 역직렬화하지 않고, 요청 스트림을 그대로 넘겨서 배치 단위로 읽는다.
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv"})
+    public ResponseEntity<GlobalWebResponse<UserImportResponseDto>> importUsers(HttpServletRequest request) throws IOException {
+        UserImportResponseDto result = userImportService.importUsers(request.getInputStream(), request.getContentType());
+        return ResponseEntity.ok(GlobalWebResponse.success("사용자 일괄 등록 완료", result));
+    }
+
+    // 사용자 일괄 삭제 - POST /admin/users/delete {"userIds": [1, 2, 3]}
+    // DB에서 행이 지워지면(access token 블랙리스트 등록 포함) 바로 응답하고, refresh token 삭제와 검색 색인 삭제는 이후에 비동기로 진행된다.
+    @PostMapping("/delete")
+    public ResponseEntity<GlobalWebResponse<UserBulkDeleteResponseDto>> deleteUsers(@RequestBody @Valid UserBulkDeleteRequestDto request) {
+        UserBulkDeleteResponseDto result = userService.deleteUsers(request.getUserIds());
+        return ResponseEntity.ok(GlobalWebResponse.success("사용자 일괄 삭제 완료", result));
+    }
+
+    // 검색 색인 재구성 - POST /admin/users/reindex
+    // User 테이블 전체를 다시 색인하므로 오래 걸릴 수 있다. 전용 스레드에서 시작만 하고 바로 응답한다. (완료는 로그로 확인)
+    @PostMapping("/reindex")
+    public ResponseEntity<GlobalWebResponse<Void>> reindex() {
+        if(!userReindexService.start()) {
+            return ResponseEntity.ok(GlobalWebResponse.success("검색 색인 재구성이 이미 진행 중이거나 색인이 꺼져 있습니다."));
+        }
+        return ResponseEntity.ok(GlobalWebResponse.success("검색 색인 재구성 시작"));
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.webserver_project.domain.user.Document;
+
+// Elasticsearch 사용자 검색 색인 문서 (관리자용 이름/이메일 접두어 검색)
+// 원본은 MySQL의 User 테이블이며, 해당 색인은 UserIndexingPipeline이 커밋된 변경을 모아서 bulk로 반영하는 읽기 전용 사본이다.
+    // ㄴ> 비밀번호는 색인하지 않는다.
+
+import com.example.webserver_project.domain.user.Event.UserChangedEvent;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.elasticsearch.annotations.Document;
+import org.springframework.data.elasticsearch.annotations.Field;
+import org.springframework.data.elasticsearch.annotations.FieldType;
+
+import java.util.Locale;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Document(indexName = "users")
+public class UserDocument {
+    @Id
+    private String id; // userId를 문서 id로 사용한다 (같은 사용자의 변경은 같은 문서를 덮어씀)
+
+    @Field(type = FieldType.Long)
+    private Long userId;
+
+    @Field(type = FieldType.Search_As_You_Type)
+    private String name;
+    // ㄴ> search_as_you_type : name, name._2gram, name._3gram, name._index_prefix 하위 필드를 색인 시점에 만들어두므로
+    //      접두어 검색이 wildcard/prefix 쿼리처럼 term 사전을 훑지 않는다.
+
+    @Field(type = FieldType.Keyword)
+    private String email; // 소문자로 정규화해서 저장한다 (prefix 쿼리는 분석기를 거치지 않으므로)
+
+    @Field(type = FieldType.Keyword)
+    private String role;
+
+    public static UserDocument from(UserChangedEvent event) {
+        return UserDocument.builder()
+                .id(String.valueOf(event.userId()))
+                .userId(event.userId())
+                .name(event.name())
+                .email(event.email() == null ? null : event.email().toLowerCase(Locale.ROOT))
+                .role(event.role() == null ? null : event.role().name())
+                .build();
+    }
+}
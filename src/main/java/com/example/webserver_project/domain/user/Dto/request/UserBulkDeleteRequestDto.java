@@ -0,0 +1,18 @@
+package com.example.webserver_project.domain.user.Dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserBulkDeleteRequestDto {
+    // 한 번에 삭제할 수 있는 최대 수는 user-delete.max-bulk-size로 서비스에서 확인한다
+    @NotEmpty(message = "삭제할 사용자 id는 필수 입력 값입니다.")
+    private List<@NotNull Long> userIds;
+}
@@ -0,0 +1,14 @@
+package com.example.webserver_project.domain.user.Dto.response;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+// 사용자 일괄 삭제 결과 (토큰 폐기는 응답 이후에 비동기로 진행된다)
+@RequiredArgsConstructor
+@Getter
+@Builder
+public class UserBulkDeleteResponseDto {
+    private final int requested; // 요청한 id 수 (중복 제외)
+    private final int deleted; // 실제로 삭제된 사용자 수 (없는 id는 건너뜀)
+}
@@ -0,0 +1,24 @@
+package com.example.webserver_project.domain.user.Dto.response;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+@Getter
+@Builder
+public class UserImportResponseDto {
+    private final long total; // 읽은 레코드 수 (빈 줄, CSV 헤더 제외)
+    private final long imported; // 새로 등록한 사용자 수
+    private final long duplicates; // 이미 가입된 이메일이거나 본문 안에서 중복된 이메일
+    private final long invalid; // 형식/검증 오류
+    private final boolean truncated; // 최대 건수(user-import.max-records)를 넘어서 나머지를 읽지 않았는지
+    private final long elapsedMillis;
+    private final long recordsPerSecond;
+    private final List<Failure> failures; // 실패한 줄 (앞에서부터 최대 user-import.max-reported-failures개)
+
+    public record Failure(int line, String reason) {
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.webserver_project.domain.user.Dto.response;
+
+import com.example.webserver_project.domain.user.Document.UserDocument;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+@Getter
+@Builder
+public class UserSearchResponseDto {
+    private final Long id;
+    private final String name;
+    private final String email;
+    private final String role;
+
+    public static UserSearchResponseDto from(UserDocument document) {
+        return UserSearchResponseDto.builder()
+                .id(document.getUserId())
+                .name(document.getName())
+                .email(document.getEmail())
+                .role(document.getRole())
+                .build();
+    }
+}
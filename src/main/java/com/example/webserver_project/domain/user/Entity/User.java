@@ -2,6 +2,7 @@ package com.example.webserver_project.domain.user.Entity;
 
 import com.example.webserver_project.domain.user.Dto.request.JoinRequestDto;
 import com.example.webserver_project.global.jwt.RoleType;
+import com.example.webserver_project.global.security.UserDetailsCacheInvalidator;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -11,10 +12,26 @@ import lombok.*;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@Table(name = "User") // default값은 설정 안하면 Class명이 됨
+@Table(name = "User", // default값은 설정 안하면 Class명이 됨
+        uniqueConstraints = @UniqueConstraint(name = User.EMAIL_UNIQUE_INDEX, columnNames = "email")) // 실제 인덱스는 V3 마이그레이션이 만든다
+@EntityListeners(UserDetailsCacheInvalidator.class) // 수정/삭제 시 사용자 정보 캐시를 비운다
 public class User {
+    public static final String EMAIL_UNIQUE_INDEX = "uk_user_email";
+
+    // id 할당 테이블 (Hibernate TableGenerator와 UserIdAllocator가 같은 행을 같은 방식(pooled)으로 사용한다)
+    public static final String ID_TABLE = "id_sequence";
+    public static final String ID_TABLE_NAME_COLUMN = "sequence_name";
+    public static final String ID_TABLE_VALUE_COLUMN = "next_val";
+    public static final String ID_SEQUENCE_NAME = "user";
+    public static final int ID_ALLOCATION_SIZE = 50; // 한 번에 예약하는 id 수 (pooled : 테이블 값이 V이면 (V - 50, V] 구간을 사용)
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY) // DB의 AUTO_INCREMENT와 같은 방식
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "user_id")
+    @TableGenerator(name = "user_id", table = ID_TABLE, pkColumnName = ID_TABLE_NAME_COLUMN, valueColumnName = ID_TABLE_VALUE_COLUMN,
+            pkColumnValue = ID_SEQUENCE_NAME, allocationSize = ID_ALLOCATION_SIZE)
+    // ㄴ> IDENTITY(AUTO_INCREMENT)는 INSERT를 실행해야 id를 알 수 있어서 Hibernate가 insert를 JDBC batch로 묶지 못한다.
+    //      id를 미리 블록 단위로 예약해두면 insert 전에 id가 정해지므로 batch insert가 가능하다. (UserBulkRepository)
+    // ㄴ> 기존 AUTO_INCREMENT로 만들어진 id와 겹치지 않도록, 서버 시작 시 UserIdAllocator가 테이블 값을 max(id) 이후로 맞춘다.
     private Long id;
 
     @Column(name="name", nullable=false)
@@ -35,6 +52,7 @@ public class User {
                 .name(dto.getName())
                 .password(dto.getPassword())
                 .email(dto.getEmail())
+                .role(RoleType.USER) // 권한은 클라이언트 값이 아니라 서버가 기본값(USER)으로 정한다 (ROLE 컬럼은 NOT NULL)
                 .build();
     }
 
@@ -0,0 +1,27 @@
+package com.example.webserver_project.domain.user.Event;
+
+// 사용자 생성/삭제 이벤트 - UserService에서 발행하고, 트랜잭션이 커밋된 뒤에 검색 색인(UserIndexingPipeline)에 반영된다.
+// 트랜잭션이 롤백되면 이벤트도 버려지므로, 검색 색인에는 커밋된 변경만 들어간다.
+
+import com.example.webserver_project.domain.user.Entity.User;
+import com.example.webserver_project.global.jwt.RoleType;
+
+public record UserChangedEvent(Type type, Long userId, String name, String email, RoleType role) {
+
+    public enum Type {
+        UPSERTED, // 생성 또는 수정 (문서 전체를 다시 색인)
+        DELETED
+    }
+
+    public static UserChangedEvent upserted(User user) {
+        return new UserChangedEvent(Type.UPSERTED, user.getId(), user.getName(), user.getEmail(), user.getRole());
+    }
+
+    public static UserChangedEvent deleted(Long userId) {
+        return new UserChangedEvent(Type.DELETED, userId, null, null, null);
+    }
+
+    public boolean isDeleted() {
+        return type == Type.DELETED;
+    }
+}
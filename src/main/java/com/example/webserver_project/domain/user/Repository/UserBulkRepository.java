@@ -0,0 +1,76 @@
+package com.example.webserver_project.domain.user.Repository;
+
+// 사용자 일괄 등록(UserImportService)과 삭제(UserService)에서 사용하는 JDBC 저장소
+// 영속성 컨텍스트(1차 캐시, dirty checking)를 거치지 않고, 이메일 중복 확인과 INSERT/DELETE를 배치 단위로 수행한다.
+    // ㄴ> 엔티티를 거치지 않으므로 엔티티 리스너(UserDetailsCacheInvalidator)가 실행되지 않는다. 캐시는 호출하는 쪽에서 비워야 한다.
+    // ㄴ> MySQL에서 batchUpdate가 실제로 한 번의 왕복(multi-row INSERT)으로 묶이려면 JDBC URL에 rewriteBatchedStatements=true가 필요하다.
+
+import com.example.webserver_project.domain.user.Entity.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+@Repository
+@RequiredArgsConstructor
+public class UserBulkRepository {
+    private static final String INSERT_USER = "INSERT INTO User (id, name, password, email, ROLE) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    /*
+    * 이미 가입된 이메일을 한 번의 쿼리로 찾는 함수 (existsByEmail을 건마다 호출하지 않음)
+     @return : 이미 존재하는 이메일 (소문자)
+     */
+    public Set<String> findExistingEmails(Collection<String> emails) {
+        Set<String> existing = new HashSet<>();
+        if(emails.isEmpty()) {
+            return existing;
+        }
+        namedParameterJdbcTemplate.query("SELECT email FROM User WHERE email IN (:emails)", Map.of("emails", emails),
+                rs -> {
+                    existing.add(rs.getString(1).toLowerCase(Locale.ROOT));
+                });
+        return existing;
+    }
+
+    /*
+    * 실제로 존재하는 사용자 id만 골라내는 함수 (삭제 대상 확인용)
+     삭제할 행을 잠가서, 확인과 DELETE 사이에 다른 트랜잭션이 같은 행을 바꾸지 못하게 한다.
+     */
+    public List<Long> findExistingIdsForUpdate(Collection<Long> userIds) {
+        if(userIds.isEmpty()) {
+            return List.of();
+        }
+        return namedParameterJdbcTemplate.queryForList("SELECT id FROM User WHERE id IN (:ids) FOR UPDATE",
+                Map.of("ids", userIds), Long.class);
+    }
+
+    // 사용자들을 DELETE 한 번으로 삭제한다 (엔티티를 읽고 하나씩 remove하지 않음)
+    // @return : 삭제된 행 수
+    public int deleteAllById(Collection<Long> userIds) {
+        if(userIds.isEmpty()) {
+            return 0;
+        }
+        return namedParameterJdbcTemplate.update("DELETE FROM User WHERE id IN (:ids)", Map.of("ids", userIds));
+    }
+
+    // id가 정해진 사용자들을 JDBC batch로 INSERT한다
+    public void insertAll(List<User> users) {
+        jdbcTemplate.batchUpdate(INSERT_USER, users, users.size(), (ps, user) -> {
+            ps.setLong(1, user.getId());
+            ps.setString(2, user.getName());
+            ps.setString(3, user.getPassword());
+            ps.setString(4, user.getEmail());
+            ps.setString(5, user.getRole().name());
+        });
+    }
+}
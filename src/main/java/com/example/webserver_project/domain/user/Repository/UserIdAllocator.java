@@ -0,0 +1,79 @@
+package com.example.webserver_project.domain.user.Repository;
+
+// JDBC로 직접 INSERT하는 경로(UserBulkRepository)에서 사용할 User id를 블록 단위로 예약하는 클래스
+// User 엔티티의 @TableGenerator(pooled)와 같은 테이블, 같은 행을 같은 규칙으로 사용하므로 JPA 회원가입과 id가 겹치지 않는다.
+    // ㄴ> 규칙 : 테이블 값 V를 읽고 V + 50 * k로 올리면, (V - 50, V + 50 * (k - 1)] 구간을 사용할 수 있다.
+    // ㄴ> 행 잠금(SELECT ... FOR UPDATE)은 별도 트랜잭션(REQUIRES_NEW)에서 잡고 바로 커밋하므로, 일괄 등록 트랜잭션 동안 회원가입이 막히지 않는다.
+// 예약했지만 사용하지 않은 id는 버려진다. (id에 빈 구간이 생길 수 있음)
+
+import com.example.webserver_project.domain.user.Entity.User;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+@Slf4j
+@Component
+public class UserIdAllocator implements SmartInitializingSingleton {
+    private static final String SELECT_FOR_UPDATE = "SELECT " + User.ID_TABLE_VALUE_COLUMN + " FROM " + User.ID_TABLE
+            + " WHERE " + User.ID_TABLE_NAME_COLUMN + " = ? FOR UPDATE";
+    private static final String UPDATE = "UPDATE " + User.ID_TABLE + " SET " + User.ID_TABLE_VALUE_COLUMN + " = ?"
+            + " WHERE " + User.ID_TABLE_NAME_COLUMN + " = ?";
+    private static final String INSERT = "INSERT INTO " + User.ID_TABLE
+            + " (" + User.ID_TABLE_NAME_COLUMN + ", " + User.ID_TABLE_VALUE_COLUMN + ") VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate requiresNew;
+
+    public UserIdAllocator(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    // 모든 빈(스키마를 만드는 EntityManagerFactory 포함)이 만들어진 뒤, 웹 서버가 요청을 받기 전에 실행된다.
+    // id 할당 테이블 값을 기존 User.id 이후로 맞춘다. (IDENTITY에서 바꾼 경우 기존 AUTO_INCREMENT id와 겹치지 않도록)
+    @Override
+    public void afterSingletonsInstantiated() {
+        requiresNew.executeWithoutResult(status -> {
+            Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM User", Long.class);
+            long floor = maxId + User.ID_ALLOCATION_SIZE; // 다음 블록 (floor - 50, floor]이 max(id) 이후부터 시작한다
+            List<Long> current = jdbcTemplate.queryForList(SELECT_FOR_UPDATE, Long.class, User.ID_SEQUENCE_NAME);
+            if(current.isEmpty()) {
+                jdbcTemplate.update(INSERT, User.ID_SEQUENCE_NAME, floor);
+            } else if(current.get(0) < floor && maxId > 0) {
+                jdbcTemplate.update(UPDATE, floor, User.ID_SEQUENCE_NAME);
+                log.info("User id 할당 테이블 값을 {} -> {}로 올렸습니다. (max(id)={})", current.get(0), floor, maxId);
+            }
+        });
+    }
+
+    /*
+    * 연속된 id count개를 예약하는 함수
+     @return : 첫 id (first ~ first + count - 1 사용 가능)
+     */
+    public long allocate(int count) {
+        if(count <= 0) {
+            throw new IllegalArgumentException("count는 0보다 커야 합니다.");
+        }
+        Long first = requiresNew.execute(status -> {
+            List<Long> current = jdbcTemplate.queryForList(SELECT_FOR_UPDATE, Long.class, User.ID_SEQUENCE_NAME);
+            if(current.isEmpty()) {
+                throw new IllegalStateException("id 할당 테이블에 '" + User.ID_SEQUENCE_NAME + "' 행이 없습니다.");
+            }
+            long value = current.get(0);
+            // Hibernate pooled optimizer와 같은 규칙 (테이블 초기값 1처럼 블록 크기보다 작은 값은 그 값부터 사용한다)
+            long start = value < User.ID_ALLOCATION_SIZE ? value : value - User.ID_ALLOCATION_SIZE + 1;
+            long last = start + count - 1;
+            long blocks = 1 + Math.max(0, Math.ceilDiv(last - value, User.ID_ALLOCATION_SIZE));
+            jdbcTemplate.update(UPDATE, value + blocks * User.ID_ALLOCATION_SIZE, User.ID_SEQUENCE_NAME);
+            return start;
+        });
+        return first;
+    }
+}
@@ -1,8 +1,13 @@
 package com.example.webserver_project.domain.user.Repository;
 import com.example.webserver_project.domain.user.Entity.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -11,6 +16,14 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     User findByEmail(String email);
     boolean existsByEmail(String email); // 이메일로 중복 확인하는 함수
-    void deleteByEmail(String email);
+
+    // 탈퇴 시 사용하는 id 조회 (엔티티를 만들지 않고, 이메일 unique 인덱스만으로 id를 읽는다)
+    @Query("select u.id from User u where u.email = :email")
+    Long findIdByEmail(@Param("email") String email);
+
+    // 검색 색인 재구성 시 사용하는 id 순서 페이지 조회 (keyset : OFFSET 없이 PK 인덱스에서 바로 다음 위치부터 읽는다)
+    // ㄴ> 테이블 전체를 읽으므로 읽기 전용 트랜잭션으로 replica에서 읽는다. (직접 선언한 조회 메서드는 트랜잭션 설정을 물려받지 않음)
+    @Transactional(readOnly = true)
+    List<User> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
 
 }
@@ -0,0 +1,156 @@
+package com.example.webserver_project.domain.user.Service;
+
+// 사용자 일괄 등록 본문을 한 줄씩 읽는 리더 (본문 전체를 메모리에 올리지 않는다)
+    // ㄴ> NDJSON (application/x-ndjson) : 한 줄에 JSON 객체 하나 - {"name":"...","email":"...","password":"..."}
+    // ㄴ> CSV (text/csv) : 첫 줄은 헤더(name,email,password - 순서 무관), 값에 쉼표/따옴표가 있으면 "..."로 감싸고 따옴표는 ""로 쓴다
+// 한 줄의 형식 오류는 해당 줄만 실패로 처리하고 다음 줄을 계속 읽는다.
+
+import com.example.webserver_project.domain.user.Dto.request.JoinRequestDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.springframework.http.MediaType;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+final class UserImportReader implements Closeable {
+    static final String NDJSON = "application/x-ndjson";
+    static final String CSV = "text/csv";
+
+    enum Format {
+        NDJSON, CSV;
+
+        static Format fromContentType(String contentType) {
+            if(contentType != null) {
+                MediaType mediaType = MediaType.parseMediaType(contentType);
+                if(mediaType.isCompatibleWith(MediaType.parseMediaType(UserImportReader.NDJSON))) return NDJSON;
+                if(mediaType.isCompatibleWith(MediaType.parseMediaType(UserImportReader.CSV))) return CSV;
+            }
+            throw new IllegalArgumentException("Content-Type은 " + UserImportReader.NDJSON + " 또는 " + UserImportReader.CSV + "이어야 합니다.");
+        }
+    }
+
+    // 읽은 한 줄 - request와 error 중 하나만 값이 있다
+    record Line(int lineNumber, JoinRequestDto request, String error) {
+    }
+
+    private final BufferedReader reader;
+    private final Format format;
+    private final ObjectReader jsonReader;
+    private int lineNumber;
+    private int nameColumn = -1, emailColumn = -1, passwordColumn = -1; // CSV 헤더의 열 위치
+
+    UserImportReader(InputStream in, Format format, ObjectMapper objectMapper) throws IOException {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        this.format = format;
+        this.jsonReader = objectMapper.readerFor(JoinRequestDto.class);
+        if(format == Format.CSV) {
+            readCsvHeader();
+        }
+    }
+
+    // @return : 다음 줄 (빈 줄은 건너뜀), 본문의 끝이면 null
+    Line next() throws IOException {
+        String line;
+        while((line = reader.readLine()) != null) {
+            lineNumber++;
+            if(line.isBlank()) {
+                continue;
+            }
+            return format == Format.NDJSON ? parseJson(line) : parseCsv(line);
+        }
+        return null;
+    }
+
+    private Line parseJson(String line) {
+        try {
+            return new Line(lineNumber, jsonReader.readValue(line), null);
+        } catch (JsonProcessingException e) {
+            return new Line(lineNumber, null, "JSON 형식 오류");
+        }
+    }
+
+    private Line parseCsv(String line) {
+        List<String> fields = splitCsv(line);
+        if(fields == null) {
+            return new Line(lineNumber, null, "CSV 형식 오류 (닫히지 않은 따옴표)");
+        }
+        int required = Math.max(nameColumn, Math.max(emailColumn, passwordColumn));
+        if(fields.size() <= required) {
+            return new Line(lineNumber, null, "CSV 열 개수 부족");
+        }
+        JoinRequestDto request = new JoinRequestDto(fields.get(nameColumn), fields.get(emailColumn), fields.get(passwordColumn), null);
+        return new Line(lineNumber, request, null);
+    }
+
+    private void readCsvHeader() throws IOException {
+        String header = reader.readLine();
+        lineNumber++;
+        if(header == null) {
+            throw new IllegalArgumentException("CSV 헤더가 없습니다.");
+        }
+        if(header.startsWith("\uFEFF")) {
+            header = header.substring(1); // 엑셀에서 저장한 UTF-8 CSV의 BOM
+        }
+        List<String> columns = splitCsv(header);
+        for(int i = 0; columns != null && i < columns.size(); i++) {
+            switch(columns.get(i).trim().toLowerCase(Locale.ROOT)) {
+                case "name" -> nameColumn = i;
+                case "email" -> emailColumn = i;
+                case "password" -> passwordColumn = i;
+                default -> { } // 그 외의 열은 무시한다
+            }
+        }
+        if(nameColumn < 0 || emailColumn < 0 || passwordColumn < 0) {
+            throw new IllegalArgumentException("CSV 헤더에 name, email, password 열이 모두 있어야 합니다.");
+        }
+    }
+
+    // CSV 한 줄을 열로 나눈다 (따옴표 안의 줄바꿈은 지원하지 않는다)
+    // @return : 열 목록, 따옴표가 닫히지 않았다면 null
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for(int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if(quoted) {
+                if(c == '"') {
+                    if(i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if(c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if(c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if(quoted) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,295 @@
+package com.example.webserver_project.domain.user.Service;
+
+// 사용자 일괄 등록 서비스 (제휴사 온보딩 등 수만 건 단위)
+// /user/join을 건마다 호출하면 BCrypt 해싱 + INSERT가 한 건씩 순서대로 실행된다.
+// 해당 서비스는 본문을 스트리밍으로 읽으면서 batch-size건씩 묶어서 처리한다.
+    // ㄴ> 1) 중복 확인 : 본문 안의 중복은 메모리의 Set으로, 이미 가입된 이메일은 배치마다 IN 쿼리 한 번으로 확인한다.
+    // ㄴ> 2) 해싱 : 일괄 등록 전용 풀(AppConfig.userImportHashExecutor)에서 병렬로 수행한다. (로그인 해싱 풀과 분리)
+    // ㄴ> 3) INSERT : id를 블록 단위로 미리 예약하고(UserIdAllocator) JDBC batch로 넣는다.
+// 배치마다 트랜잭션을 따로 커밋하므로, 중간에 실패해도 앞에서 커밋된 배치는 유지된다. (같은 파일을 다시 보내면 중복으로 건너뛴다)
+// 진행 상황 지표
+    // ㄴ> user.import.records{result=imported|duplicate|invalid} : 처리한 레코드 수
+    // ㄴ> user.import.batch{outcome} : 배치(중복 확인 + 해싱 + INSERT) 소요 시간
+    // ㄴ> user.import.active : 진행 중인 일괄 등록 수
+
+import com.example.webserver_project.domain.user.Dto.request.JoinRequestDto;
+import com.example.webserver_project.domain.user.Dto.response.UserImportResponseDto;
+import com.example.webserver_project.domain.user.Entity.User;
+import com.example.webserver_project.domain.user.Event.UserChangedEvent;
+import com.example.webserver_project.domain.user.Repository.UserBulkRepository;
+import com.example.webserver_project.domain.user.Repository.UserIdAllocator;
+import com.example.webserver_project.global.jwt.RoleType;
+import com.example.webserver_project.global.metrics.OutcomeTimer;
+import com.example.webserver_project.global.security.BoundedPasswordEncoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+@Service
+public class UserImportService {
+    private final UserBulkRepository userBulkRepository;
+    private final UserIdAllocator userIdAllocator;
+    private final PasswordEncoder passwordEncoder; // 실제 해싱을 수행하는 PasswordEncoder (BoundedPasswordEncoder를 거치지 않음)
+    private final ExecutorService hashExecutor;
+    private final Validator validator; // JoinRequestDto의 검증 어노테이션을 그대로 적용한다
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    private final int batchSize;
+    private final long maxRecords;
+    private final int maxReportedFailures;
+
+    private final Counter importedCounter;
+    private final Counter duplicateCounter;
+    private final Counter invalidCounter;
+    private final OutcomeTimer batchTimer;
+    private final AtomicInteger activeImports = new AtomicInteger();
+
+    public UserImportService(
+            UserBulkRepository userBulkRepository,
+            UserIdAllocator userIdAllocator,
+            PasswordEncoder passwordEncoder,
+            @Qualifier("userImportHashExecutor") ExecutorService hashExecutor,
+            Validator validator,
+            ObjectMapper objectMapper,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${user-import.batch-size:1000}") int batchSize,
+            @Value("${user-import.max-records:100000}") long maxRecords,
+            @Value("${user-import.max-reported-failures:100}") int maxReportedFailures
+    ) {
+        this.userBulkRepository = userBulkRepository;
+        this.userIdAllocator = userIdAllocator;
+        this.passwordEncoder = passwordEncoder instanceof BoundedPasswordEncoder bounded ? bounded.getDelegate() : passwordEncoder;
+        this.hashExecutor = hashExecutor;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxRecords = maxRecords;
+        this.maxReportedFailures = maxReportedFailures;
+
+        this.importedCounter = Counter.builder("user.import.records").tag("result", "imported").register(meterRegistry);
+        this.duplicateCounter = Counter.builder("user.import.records").tag("result", "duplicate").register(meterRegistry);
+        this.invalidCounter = Counter.builder("user.import.records").tag("result", "invalid").register(meterRegistry);
+        this.batchTimer = OutcomeTimer.register(meterRegistry, "user.import.batch", "사용자 일괄 등록 배치 소요 시간");
+        Gauge.builder("user.import.active", activeImports, AtomicInteger::get).register(meterRegistry);
+    }
+
+    /*
+    * 사용자 일괄 등록 함수
+     @param body : 요청 본문 (NDJSON 또는 CSV)
+     @param contentType : 요청 Content-Type (형식 판단용)
+     @return : 처리 결과 (건수, 처리량, 실패한 줄)
+     */
+    public UserImportResponseDto importUsers(InputStream body, String contentType) throws IOException {
+        UserImportReader.Format format = UserImportReader.Format.fromContentType(contentType);
+        activeImports.incrementAndGet();
+        long start = System.nanoTime();
+        Progress progress = new Progress();
+        try(UserImportReader reader = new UserImportReader(body, format, objectMapper)) {
+            Set<String> seenEmails = new HashSet<>(); // 본문 안의 중복 확인 (소문자)
+            List<UserImportReader.Line> batch = new ArrayList<>(batchSize);
+            UserImportReader.Line line;
+            while((line = reader.next()) != null) {
+                if(progress.total >= maxRecords) {
+                    progress.truncated = true;
+                    break;
+                }
+                progress.total++;
+                String error = line.error() != null ? line.error() : validate(line.request());
+                if(error != null) {
+                    progress.invalid(line.lineNumber(), error);
+                    continue;
+                }
+                if(!seenEmails.add(line.request().getEmail().toLowerCase(Locale.ROOT))) {
+                    progress.duplicate(line.lineNumber());
+                    continue;
+                }
+                batch.add(line);
+                if(batch.size() >= batchSize) {
+                    importBatch(batch, progress, start);
+                    batch.clear();
+                }
+            }
+            if(!batch.isEmpty()) {
+                importBatch(batch, progress, start);
+            }
+        } finally {
+            activeImports.decrementAndGet();
+        }
+
+        long elapsedNanos = System.nanoTime() - start;
+        return UserImportResponseDto.builder()
+                .total(progress.total)
+                .imported(progress.imported)
+                .duplicates(progress.duplicates)
+                .invalid(progress.invalid)
+                .truncated(progress.truncated)
+                .elapsedMillis(TimeUnit.NANOSECONDS.toMillis(elapsedNanos))
+                .recordsPerSecond(perSecond(progress.total, elapsedNanos))
+                .failures(progress.failures)
+                .build();
+    }
+
+    // 배치 하나를 처리한다 : 이미 가입된 이메일 제외 -> 병렬 해싱 -> id 예약 + batch INSERT (한 트랜잭션)
+    private void importBatch(List<UserImportReader.Line> batch, Progress progress, long importStart) {
+        long start = System.nanoTime();
+        try {
+            // 1. 이미 가입된 이메일을 한 번의 쿼리로 확인한다
+            Set<String> existing = userBulkRepository.findExistingEmails(batch.stream().map(line -> line.request().getEmail()).toList());
+            List<UserImportReader.Line> candidates = new ArrayList<>(batch.size());
+            for(UserImportReader.Line line : batch) {
+                if(existing.contains(line.request().getEmail().toLowerCase(Locale.ROOT))) {
+                    progress.duplicate(line.lineNumber());
+                } else {
+                    candidates.add(line);
+                }
+            }
+            if(candidates.isEmpty()) {
+                batchTimer.success(start);
+                return;
+            }
+
+            // 2. 비밀번호를 병렬로 해싱한다 (풀의 대기 큐가 가득 차면 현재 스레드가 직접 해싱함)
+            List<CompletableFuture<String>> hashes = new ArrayList<>(candidates.size());
+            for(UserImportReader.Line line : candidates) {
+                String rawPassword = line.request().getPassword();
+                hashes.add(CompletableFuture.supplyAsync(() -> passwordEncoder.encode(rawPassword), hashExecutor));
+            }
+            List<User> users = new ArrayList<>(candidates.size());
+            for(int i = 0; i < candidates.size(); i++) {
+                JoinRequestDto request = candidates.get(i).request();
+                users.add(User.builder()
+                        .name(request.getName())
+                        .email(request.getEmail())
+                        .password(join(hashes.get(i)))
+                        .role(RoleType.USER) // 회원가입과 동일하게 권한은 서버가 정한다
+                        .build());
+            }
+
+            // 3. id를 블록 단위로 예약하고 JDBC batch로 INSERT한다
+            // 1번 확인 이후에 같은 이메일로 가입한 사용자가 있다면 unique 인덱스 위반으로 배치 전체가 롤백된다.
+            // ㄴ> 이때는 다시 확인해서 해당 사용자만 중복으로 빼고 한 번 더 시도한다.
+            for(int attempt = 0; ; attempt++) {
+                try {
+                    insertBatch(users);
+                    break;
+                } catch (DataIntegrityViolationException e) {
+                    if(attempt > 0) {
+                        throw e;
+                    }
+                    Set<String> raced = userBulkRepository.findExistingEmails(users.stream().map(User::getEmail).toList());
+                    for(int i = users.size() - 1; i >= 0; i--) {
+                        if(raced.contains(users.get(i).getEmail().toLowerCase(Locale.ROOT))) {
+                            progress.duplicate(candidates.get(i).lineNumber());
+                            users.remove(i);
+                            candidates.remove(i);
+                        }
+                    }
+                    if(users.isEmpty()) {
+                        break;
+                    }
+                }
+            }
+            progress.imported += users.size();
+            importedCounter.increment(users.size());
+            batchTimer.success(start);
+        } catch (RuntimeException e) {
+            batchTimer.failure(start);
+            throw e;
+        }
+        long elapsedNanos = System.nanoTime() - importStart;
+        log.info("사용자 일괄 등록 진행 - 처리 {}건 (등록 {}, 중복 {}, 오류 {}), {}건/초",
+                progress.total, progress.imported, progress.duplicates, progress.invalid, perSecond(progress.total, elapsedNanos));
+    }
+
+    // 배치 하나를 한 트랜잭션으로 INSERT한다 (커밋 후 검색 색인에 반영)
+    private void insertBatch(List<User> users) {
+        transactionTemplate.executeWithoutResult(status -> {
+            long firstId = userIdAllocator.allocate(users.size());
+            for(int i = 0; i < users.size(); i++) {
+                users.get(i).setId(firstId + i);
+            }
+            userBulkRepository.insertAll(users);
+            users.forEach(user -> eventPublisher.publishEvent(UserChangedEvent.upserted(user)));
+        });
+    }
+
+    private String validate(JoinRequestDto request) {
+        Set<ConstraintViolation<JoinRequestDto>> violations = validator.validate(request);
+        return violations.isEmpty() ? null : violations.iterator().next().getMessage();
+    }
+
+    private static String join(CompletableFuture<String> hash) {
+        try {
+            return hash.join();
+        } catch (CompletionException e) {
+            if(e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    private static long perSecond(long count, long elapsedNanos) {
+        return elapsedNanos <= 0 ? 0 : count * TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+
+    // 한 번의 일괄 등록 진행 상황 (요청 스레드 하나에서만 사용)
+    private final class Progress {
+        long total;
+        long imported;
+        long duplicates;
+        long invalid;
+        boolean truncated;
+        final List<UserImportResponseDto.Failure> failures = new ArrayList<>();
+
+        void invalid(int lineNumber, String reason) {
+            invalid++;
+            invalidCounter.increment();
+            report(lineNumber, reason);
+        }
+
+        void duplicate(int lineNumber) {
+            duplicates++;
+            duplicateCounter.increment();
+            report(lineNumber, "이미 존재하는 이메일입니다!");
+        }
+
+        private void report(int lineNumber, String reason) {
+            if(failures.size() < maxReportedFailures) {
+                failures.add(new UserImportResponseDto.Failure(lineNumber, reason));
+            }
+        }
+    }
+}
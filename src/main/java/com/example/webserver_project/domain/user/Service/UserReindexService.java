@@ -0,0 +1,116 @@
+package com.example.webserver_project.domain.user.Service;
+
+// 사용자 검색 색인 재구성 서비스
+// UserIndexingPipeline은 커밋된 변경(UserChangedEvent)만 색인하므로, 색인을 도입하기 전에 가입한 사용자나 색인이 비어 있던 동안의 변경은 검색되지 않는다.
+// 해당 서비스는 User 테이블을 id 순서로 batch-size건씩 읽어서 파이프라인과 같은 bulk 요청(UserIndexingPipeline.sendNow)으로 색인한다.
+    // ㄴ> 언제 실행되는가
+    //     1) 색인을 새로 만들었을 때 (서버 시작 시 또는 파이프라인이 첫 변경을 보낼 때 - UserSearchIndexCreatedEvent)
+    //     2) 관리자가 요청했을 때 (POST /admin/users/reindex - 이미 있는 색인이 테이블과 어긋난 경우)
+    // ㄴ> 색인(덮어쓰기)은 몇 번을 다시 보내도 결과가 같으므로, 실패하면 처음부터 다시 요청하면 된다.
+    // ㄴ> 한 페이지를 읽은 뒤 보내기 전에 탈퇴한 사용자는 문서가 다시 생길 수 있다. (재구성은 덮어쓰기만 하고 지우지 않으므로 드물게 남을 수 있음)
+// 재구성은 전용 스레드에서 한 번에 하나만 진행한다.
+
+import com.example.webserver_project.domain.user.Entity.User;
+import com.example.webserver_project.domain.user.Event.UserChangedEvent;
+import com.example.webserver_project.domain.user.Repository.UserRepository;
+import com.example.webserver_project.infra.elasticsearch.UserIndexingPipeline;
+import com.example.webserver_project.infra.elasticsearch.UserSearchIndexCreatedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Slf4j
+@Service
+public class UserReindexService {
+    private final UserRepository userRepository;
+    private final UserIndexingPipeline userIndexingPipeline;
+    private final boolean enabled;
+    private final int batchSize;
+    private final AtomicBoolean running = new AtomicBoolean(false); // 재구성이 동시에 두 번 진행되지 않도록 막는 플래그
+
+    public UserReindexService(
+            UserRepository userRepository,
+            UserIndexingPipeline userIndexingPipeline,
+            @Value("${search.user-index.enabled:true}") boolean enabled,
+            @Value("${search.user-index.reindex-batch-size:1000}") int batchSize
+    ) {
+        this.userRepository = userRepository;
+        this.userIndexingPipeline = userIndexingPipeline;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+    }
+
+    // 서버가 뜬 뒤 색인이 있는지 확인한다. (없어서 새로 만들었다면 UserSearchIndexCreatedEvent로 재구성이 시작된다)
+    // ㄴ> Elasticsearch 장애로 확인하지 못해도 서버 시작은 실패시키지 않는다. (파이프라인이 첫 변경을 보낼 때 다시 확인함)
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if(!enabled) {
+            return;
+        }
+        try {
+            userIndexingPipeline.prepareIndex();
+        } catch (RuntimeException e) {
+            log.warn("사용자 검색 색인을 확인하지 못했습니다: {}", e.getMessage());
+        }
+    }
+
+    @EventListener(UserSearchIndexCreatedEvent.class)
+    public void onIndexCreated() {
+        log.info("사용자 검색 색인을 새로 만들었으므로 기존 사용자를 색인합니다.");
+        start();
+    }
+
+    /*
+    * 전용 스레드에서 재구성을 시작하는 함수
+     @return : 시작했다면 true, 색인이 꺼져 있거나 이미 진행 중이라면 false
+     */
+    public boolean start() {
+        if(!enabled || !running.compareAndSet(false, true)) {
+            return false;
+        }
+        Thread worker = new Thread(() -> {
+            try {
+                reindex();
+            } catch (RuntimeException e) {
+                log.error("사용자 검색 색인 재구성 실패 - 다시 요청해야 합니다: {}", e.getMessage());
+            } finally {
+                running.set(false);
+            }
+        }, "user-reindex");
+        worker.setDaemon(true);
+        worker.start();
+        return true;
+    }
+
+    /*
+    * User 테이블 전체를 id 순서로 읽어서 색인하는 함수 (호출한 스레드에서 실행)
+     @return : 색인한 사용자 수
+     */
+    public long reindex() {
+        long start = System.currentTimeMillis();
+        long indexed = 0;
+        long lastId = 0;
+        while(true) {
+            // 페이지마다 별도 트랜잭션으로 읽으므로 영속성 컨텍스트에 엔티티가 쌓이지 않는다
+            List<User> users = userRepository.findByIdGreaterThanOrderByIdAsc(lastId, Limit.of(batchSize));
+            if(users.isEmpty()) {
+                break;
+            }
+            userIndexingPipeline.sendNow(users.stream().map(UserChangedEvent::upserted).toList());
+            indexed += users.size();
+            lastId = users.get(users.size() - 1).getId();
+        }
+        log.info("사용자 검색 색인 재구성 완료 - {}명, {}ms", indexed, System.currentTimeMillis() - start);
+        return indexed;
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+}
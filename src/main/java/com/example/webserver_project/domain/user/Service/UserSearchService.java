@@ -0,0 +1,40 @@
+package com.example.webserver_project.domain.user.Service;
+
+// 관리자용 사용자 검색 서비스
+// User 테이블에 LIKE '%...%' 조회를 하면 인덱스를 사용하지 못하고 테이블 전체를 읽으므로, Elasticsearch 검색 색인(UserSearchIndex)에서 찾는다.
+    // ㄴ> 색인은 커밋 후 최대 search.user-index.flush-interval-ms 뒤에 반영되므로, 방금 가입/탈퇴한 사용자는 잠시 검색 결과와 다를 수 있다.
+
+import com.example.webserver_project.domain.user.Dto.response.UserSearchResponseDto;
+import com.example.webserver_project.infra.elasticsearch.UserSearchIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class UserSearchService {
+    private static final int MAX_PREFIX_LENGTH = 50; // User.email 컬럼 길이
+
+    private final UserSearchIndex userSearchIndex;
+
+    @Value("${search.user-index.max-results:50}")
+    private int maxResults;
+
+    /*
+    * 이름 또는 이메일 접두어로 사용자를 검색하는 함수
+     @param prefix : 검색어 (앞뒤 공백 제거)
+     @param size : 최대 결과 수 (1 ~ search.user-index.max-results)
+     */
+    public List<UserSearchResponseDto> searchByPrefix(String prefix, int size) {
+        String trimmed = prefix == null ? "" : prefix.trim();
+        if(trimmed.isEmpty() || trimmed.length() > MAX_PREFIX_LENGTH) {
+            throw new IllegalArgumentException("검색어는 1자 이상 " + MAX_PREFIX_LENGTH + "자 이하여야 합니다.");
+        }
+        int limit = Math.max(1, Math.min(size, maxResults));
+        return userSearchIndex.searchByPrefix(trimmed, limit).stream()
+                .map(UserSearchResponseDto::from)
+                .toList();
+    }
+}
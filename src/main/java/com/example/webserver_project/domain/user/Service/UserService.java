@@ -3,32 +3,70 @@ package com.example.webserver_project.domain.user.Service;
 import com.example.webserver_project.domain.user.Dto.request.DeleteRequestDto;
 import com.example.webserver_project.domain.user.Dto.request.JoinRequestDto;
 import com.example.webserver_project.domain.user.Dto.response.JoinResponseDto;
+import com.example.webserver_project.domain.user.Dto.response.UserBulkDeleteResponseDto;
 import com.example.webserver_project.domain.user.Entity.User;
+import com.example.webserver_project.domain.user.Event.UserChangedEvent;
+import com.example.webserver_project.domain.user.Repository.UserBulkRepository;
 import com.example.webserver_project.domain.user.Repository.UserRepository;
-import jakarta.transaction.Transactional;
+import com.example.webserver_project.global.datasource.ReadYourWritesTracker;
+import com.example.webserver_project.global.security.UserDetailsCacheInvalidator;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class UserService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserBulkRepository userBulkRepository; // 탈퇴/일괄 삭제 (DELETE 한 번)
+    private final UserDetailsCacheInvalidator userDetailsCacheInvalidator;
+    private final ReadYourWritesTracker readYourWritesTracker; // 가입/탈퇴 직후의 조회를 primary로 보낸다 (읽기/쓰기 분리 시)
+    private final ApplicationEventPublisher eventPublisher; // 사용자 변경 이벤트 발행 (커밋 후 검색 색인에 반영됨 - UserIndexingPipeline)
+    private final TransactionTemplate transactionTemplate; // 가입 INSERT만 감싸는 트랜잭션 (비밀번호 해싱은 트랜잭션 밖에서)
+
+    // 관리자 일괄 삭제 한 번에 지울 수 있는 최대 사용자 수 (IN 목록과 잠금 범위를 제한한다)
+    @Value("${user-delete.max-bulk-size:1000}")
+    private int maxBulkDeleteSize;
 
     // 회원가입 진행 함수
-    @Transactional
+    // 이메일 중복 확인(existsByEmail) 후 save하면 쿼리가 두 번이고, 확인과 저장 사이에 같은 이메일로 가입하는 요청이 끼어들 수 있다.
+    // 따라서, 확인 없이 바로 INSERT하고 이메일 unique 인덱스(uk_user_email) 위반을 중복 이메일로 처리한다. (DB 왕복 1번, 중복 계정 없음)
+    // 비밀번호 해싱(수백 ms)은 트랜잭션 밖에서 먼저 하고, INSERT만 트랜잭션(transactionTemplate)으로 감싼다.
+        // ㄴ> @Transactional을 메서드에 붙이면 해싱하는 동안에도 DB 커넥션을 잡고 있게 되어, 가입이 몰리면 커넥션 풀이 먼저 고갈된다.
     public JoinResponseDto join(JoinRequestDto joinRequestDto) {
-        // 1. 회원가입하려는 회원 이메일로 중복확인
-        if(userRepository.existsByEmail(joinRequestDto.getEmail())) {
-            throw new IllegalArgumentException("이미 존재하는 이메일입니다!");
-        }
-
-        // 2. 중복이 안된 이메일이라면, 해당 User Entity 객체를 생성해서 repository로 save한다,
+        // 1. 해당 User Entity 객체를 생성한다.
         User user = User.from(joinRequestDto);
         // PasswordEncoder로 비밀번호 인코딩
         user.setPassword(passwordEncoder.encode(joinRequestDto.getPassword())); // user 객체에 인코딩된 비밀번호 저장
-        User savedUser = userRepository.save(user); // save 성공 시, 인자로 넣은 객체와 동일한 데이터를 갖고 있는 객체를 다시 반환함
+
+        // 2. repository로 save한다. 트랜잭션 커밋 시점이 아니라 여기서 INSERT가 실행되도록 flush까지 한다. (중복 이메일 예외를 여기서 잡기 위함)
+        User savedUser = transactionTemplate.execute(status -> {
+            User saved;
+            try {
+                saved = userRepository.saveAndFlush(user); // save 성공 시, 인자로 넣은 객체와 동일한 데이터를 갖고 있는 객체를 다시 반환함
+            } catch (DataIntegrityViolationException e) {
+                if(isDuplicateEmail(e)) {
+                    throw new IllegalArgumentException("이미 존재하는 이메일입니다!");
+                }
+                throw e;
+            }
+            eventPublisher.publishEvent(UserChangedEvent.upserted(saved));
+            readYourWritesTracker.markWritten(saved.getId(), saved.getEmail()); // 가입 직후 로그인은 replica가 아닌 primary에서 읽는다
+            return saved;
+        });
 
         // 3. save 성공 시 ResponseDto에 해당 객체의 데이터 담는다.
         // Service는 비즈니스 로직에만 집중한다.
@@ -42,11 +80,65 @@ public class UserService {
 
 
     // 회원 탈퇴 함수
+    // 엔티티를 읽어서 remove하지 않고, id만 조회한 뒤 DELETE 한 번으로 지운다. (행이 지워지고 커밋되면 바로 응답)
+    // ㄴ> access token 블랙리스트는 커밋 직후 바로 등록되고, 검색 색인 삭제와 refresh token 삭제는 비동기로 처리된다. (UserTokenCleanupPipeline, UserIndexingPipeline)
     @Transactional // 이 어노테이션을 붙여주지 않으면 오류 발생함
     public void delete(DeleteRequestDto deleteRequest) {
 
 
         // 전부 맞은 경우, 해당 사용자를 삭제한다.
-        userRepository.deleteByEmail(deleteRequest.getEmail());
+        // 검색 색인과 토큰 폐기에 userId가 필요하므로 id는 조회한다. (이메일 unique 인덱스만 읽음)
+        Long userId = userRepository.findIdByEmail(deleteRequest.getEmail());
+        if(userId == null) {
+            return;
+        }
+        userBulkRepository.deleteAllById(List.of(userId));
+        readYourWritesTracker.markWritten(null, deleteRequest.getEmail()); // 이메일 로그인 조회도 primary로 보낸다 (userId는 afterDelete에서 기록)
+        afterDelete(List.of(userId));
+    }
+
+    /*
+    * 사용자 일괄 삭제 함수 (관리자용)
+     존재하는 id를 확인(행 잠금)한 뒤 DELETE 한 번으로 지운다. 없는 id는 건너뛴다.
+     ㄴ> 없는 id까지 토큰을 폐기하면, 나중에 해당 id로 가입한 사용자의 access token이 막히므로 실제로 지운 id만 정리한다.
+     @return : 요청한 수, 실제로 삭제된 수
+     */
+    @Transactional
+    public UserBulkDeleteResponseDto deleteUsers(List<Long> userIds) {
+        Set<Long> distinctIds = new LinkedHashSet<>(userIds);
+        if(distinctIds.size() > maxBulkDeleteSize) {
+            throw new IllegalArgumentException("한 번에 삭제할 수 있는 사용자는 최대 " + maxBulkDeleteSize + "명입니다.");
+        }
+        List<Long> existingIds = userBulkRepository.findExistingIdsForUpdate(distinctIds);
+        int deleted = userBulkRepository.deleteAllById(existingIds);
+        afterDelete(existingIds);
+        return UserBulkDeleteResponseDto.builder()
+                .requested(distinctIds.size())
+                .deleted(deleted)
+                .build();
+    }
+
+    // JDBC로 지웠으므로 엔티티 리스너 대신 캐시를 직접 비우고, 커밋 후 검색 색인/토큰 정리가 진행되도록 이벤트를 발행한다.
+    // 복제 지연 동안 replica에서 탈퇴 전 사용자를 읽지 않도록 primary 조회로 기록한다.
+    private void afterDelete(Collection<Long> userIds) {
+        for(Long userId : userIds) {
+            readYourWritesTracker.markWritten(userId, null);
+            userDetailsCacheInvalidator.invalidate(userId);
+            eventPublisher.publishEvent(UserChangedEvent.deleted(userId));
+        }
+    }
+
+    // 이메일 unique 인덱스 위반인지 확인한다 (DB마다 예외 형식이 다르므로 제약 조건 이름과 원인 메시지를 모두 확인)
+    // ㄴ> MySQL : "Duplicate entry '...' for key 'User.uk_user_email'" / H2 : "... PUBLIC.UK_USER_EMAIL_INDEX_2 ON PUBLIC.USER(EMAIL ...)"
+    static boolean isDuplicateEmail(DataIntegrityViolationException e) {
+        for(Throwable cause = e; cause != null; cause = cause.getCause()) {
+            String text = cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null
+                    ? violation.getConstraintName()
+                    : cause.getMessage();
+            if(text != null && text.toLowerCase(Locale.ROOT).contains(User.EMAIL_UNIQUE_INDEX)) {
+                return true;
+            }
+        }
+        return false;
     }
 }
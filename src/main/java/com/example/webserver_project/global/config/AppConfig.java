@@ -1,9 +1,69 @@
 package com.example.webserver_project.global.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 @Configuration
+@EnableScheduling // @Scheduled 작업 활성화 (블랙리스트 블룸 필터 주기적 재구성 등)
+@EnableAsync // @Async 작업 활성화
+    // ㄴ> @Async는 Spring Boot의 applicationTaskExecutor에서 실행된다.
+    // spring.threads.virtual.enabled=true 이면 applicationTaskExecutor와 taskScheduler가 가상 스레드 실행기로 바뀐다. (VirtualThreadConfig 참고)
+    // I/O 대기 위주의 실행기는 해당 설정을 따르고, CPU 위주의 실행기(비밀번호 해싱 등)는 플랫폼 스레드 풀로 따로 둔다.
 public class AppConfig {
+
+    // 비밀번호 해싱(BCrypt) 전용 스레드 풀 (BoundedPasswordEncoder에서 사용)
+    // CPU 위주 작업이므로 가상 스레드가 아닌 고정 크기의 플랫폼 스레드 풀로 둔다.
+    // 대기 큐가 가득 차면 RejectedExecutionException이 발생하고, BoundedPasswordEncoder가 503으로 바로 거절한다.
+        // ㄴ> auth.password-hash.pool-size : 스레드 수 (기본 : CPU 코어 수의 절반, 최소 1) -> 나머지 코어는 다른 API 처리에 남겨둔다
+        // ㄴ> auth.password-hash.queue-capacity : 대기 큐 크기 (기본 64)
+    // executor.active, executor.queued(큐 깊이), executor.completed 등의 지표가 "passwordHash" 이름으로 등록된다.
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService passwordHashExecutor(
+            MeterRegistry meterRegistry,
+            @Value("${auth.password-hash.pool-size:0}") int poolSize,
+            @Value("${auth.password-hash.queue-capacity:64}") int queueCapacity
+    ) {
+        int threads = poolSize > 0 ? poolSize : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("password-hash-"),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        return ExecutorServiceMetrics.monitor(meterRegistry, executor, "passwordHash");
+    }
+
+    // 사용자 일괄 등록(UserImportService)의 비밀번호 해싱 전용 스레드 풀
+    // 로그인 해싱 풀(passwordHashExecutor)을 같이 쓰면 수만 건의 해싱이 로그인 요청을 503으로 밀어내므로 따로 둔다.
+    // 대기 큐가 가득 차면 일괄 등록 요청 스레드가 직접 해싱한다(CallerRunsPolicy). -> 파일을 읽는 속도가 해싱 속도에 맞춰진다 (역압)
+        // ㄴ> user-import.hash-pool-size : 스레드 수 (기본 : CPU 코어 수의 절반, 최소 1)
+        // ㄴ> user-import.hash-queue-capacity : 대기 큐 크기 (기본 1000 = 일괄 등록 배치 크기)
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService userImportHashExecutor(
+            MeterRegistry meterRegistry,
+            @Value("${user-import.hash-pool-size:0}") int poolSize,
+            @Value("${user-import.hash-queue-capacity:1000}") int queueCapacity
+    ) {
+        int threads = poolSize > 0 ? poolSize : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("user-import-hash-"),
+                new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+        return ExecutorServiceMetrics.monitor(meterRegistry, executor, "userImportHash");
+    }
 //    @Bean
 //    public UserService userService() {
 //        return new UserService();
@@ -0,0 +1,90 @@
+package com.example.webserver_project.global.config;
+
+// 읽기/쓰기 분리 DataSource 설정 - datasource.replica.url이 있을 때만 적용된다. (없으면 Spring Boot 기본 DataSource 하나를 사용)
+// 인증된 요청은 매번 User를 읽지만, 쓰기는 가입/탈퇴/비밀번호 변경뿐이므로 읽기를 replica로 보내서 primary의 부하를 줄인다.
+    // ㄴ> primary : spring.datasource.* (커넥션 풀은 spring.datasource.hikari.*)
+    // ㄴ> replica : datasource.replica.url / username / password (비워두면 primary와 같은 계정, 커넥션 풀은 datasource.replica.hikari.*)
+    // ㄴ> datasource.replica.max-lag-ms : replica를 사용해도 되는 최대 복제 지연 (기본 1000ms, ReplicaLagMonitor)
+    // ㄴ> datasource.replica.heartbeat-interval-ms : 복제 지연 측정 간격 (기본 500ms)
+    // ㄴ> datasource.replica.sticky-window-ms : 가입/탈퇴 직후 해당 사용자를 primary에서 읽는 시간 (기본 3000ms, ReadYourWritesTracker)
+// 로컬에서는 replica 대신 다른 DB 인스턴스(예 : 두 번째 H2/MySQL 컨테이너)를 지정해서 확인할 수 있다.
+    // ㄴ> 실제 복제가 없으므로 Flyway 마이그레이션(primary에만 적용)을 replica에도 적용하고, heartbeat는 직접 맞춰야 한다.
+
+import com.example.webserver_project.global.datasource.ReplicaLagMonitor;
+import com.example.webserver_project.global.datasource.ReplicationRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+
+@Configuration
+@ConditionalOnProperty(name = "datasource.replica.url")
+public class DataSourceConfig {
+
+    // 쓰기용 커넥션 풀 (Spring Boot 기본 DataSource와 같은 설정을 사용한다)
+    @Bean(destroyMethod = "close")
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    // 읽기용 커넥션 풀 (연결을 읽기 전용으로 열어서, 실수로 replica에 쓰는 경우 DB가 거절하도록 한다)
+    @Bean(destroyMethod = "close")
+    @ConfigurationProperties("datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(
+            DataSourceProperties properties,
+            @Value("${datasource.replica.url}") String url,
+            @Value("${datasource.replica.username:}") String username,
+            @Value("${datasource.replica.password:}") String password
+    ) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(url)
+                .username(StringUtils.hasText(username) ? username : properties.determineUsername())
+                .password(StringUtils.hasText(username) ? password : properties.determinePassword())
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(
+            @Qualifier("primaryDataSource") DataSource primaryDataSource,
+            @Qualifier("replicaDataSource") DataSource replicaDataSource,
+            @Value("${datasource.replica.max-lag-ms:1000}") long maxLagMillis,
+            MeterRegistry meterRegistry
+    ) {
+        return new ReplicaLagMonitor(primaryDataSource, replicaDataSource, maxLagMillis, meterRegistry);
+    }
+
+    // JPA, JdbcTemplate, Flyway, 트랜잭션 매니저가 사용하는 DataSource
+    // LazyConnectionDataSourceProxy : 트랜잭션이 시작될 때가 아니라 첫 SQL을 실행할 때 실제 연결을 잡는다.
+        // ㄴ> 그때는 트랜잭션의 readOnly 여부가 등록되어 있으므로 ReplicationRoutingDataSource가 대상을 고를 수 있다.
+        // ㄴ> SQL을 실행하지 않는 트랜잭션은 연결을 아예 잡지 않는다.
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("primaryDataSource") DataSource primaryDataSource,
+            @Qualifier("replicaDataSource") DataSource replicaDataSource,
+            ReplicaLagMonitor replicaLagMonitor,
+            MeterRegistry meterRegistry
+    ) {
+        return new LazyConnectionDataSourceProxy(
+                new ReplicationRoutingDataSource(primaryDataSource, replicaDataSource, replicaLagMonitor, meterRegistry));
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.webserver_project.global.config;
+
+// JSON 직렬화 설정
+// 1. Blackbird 모듈 : Jackson이 getter/필드를 리플렉션(Method.invoke)으로 호출하는 대신, LambdaMetafactory로 생성한 코드로 호출하도록 한다.
+//    ㄴ> Spring Boot는 Module 타입의 빈을 애플리케이션 ObjectMapper에 자동으로 등록한다.
+// 2. GlobalWebResponse 전용 컨버터 : HttpMessageConverter 타입의 빈은 기본 컨버터들보다 앞에 등록되므로,
+//    GlobalWebResponse 응답은 Jackson 컨버터보다 먼저 해당 컨버터가 처리한다.
+
+import com.example.webserver_project.global.response.GlobalWebResponseHttpMessageConverter;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JsonConfig {
+
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    @Bean
+    public GlobalWebResponseHttpMessageConverter globalWebResponseHttpMessageConverter(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        return new GlobalWebResponseHttpMessageConverter(objectMapper, meterRegistry);
+    }
+}
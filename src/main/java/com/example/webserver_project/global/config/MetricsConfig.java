@@ -0,0 +1,70 @@
+package com.example.webserver_project.global.config;
+
+// 지표(Micrometer) 설정 - /actuator/prometheus 로 노출된다. (management.endpoints.web.exposure.include)
+// 요청 경로의 지표는 각 클래스에서 미리 등록해두고(OutcomeTimer, AuthMetrics), 해당 클래스에서는 요청마다 새로 만들 필요가 없는 지표만 등록한다.
+    // ㄴ> 이미 LongAdder로 세고 있는 카운터는 FunctionCounter로 scrape 시점에만 읽어간다. (요청 경로 비용 없음)
+// 그 밖에 Spring Boot가 자동으로 등록하는 지표
+    // ㄴ> http.server.requests : 엔드포인트별 응답 시간
+    // ㄴ> spring.data.repository.invocations{repository, method, state} : UserRepository 호출별 소요 시간 (SUCCESS/ERROR)
+    // ㄴ> hikaricp.connections.* : 커넥션 풀 대기/사용 시간
+    // ㄴ> cache.* (userDetails), executor.* (passwordHash) : UserDetailsCache, AppConfig에서 등록
+
+import com.example.webserver_project.global.jwt.JwtKeyRing;
+import com.example.webserver_project.global.jwt.VerifiedTokenCache;
+import com.example.webserver_project.global.metrics.TimedJackson2HttpMessageConverter;
+import com.example.webserver_project.infra.redis.BlacklistBloomFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    // 검증 캐시(VerifiedTokenCache) 적중률
+    // jwt.verified.cache.requests{result=hit|miss}, jwt.verified.cache.evictions, jwt.verified.cache.size
+    @Bean
+    public MeterBinder verifiedTokenCacheMetrics(VerifiedTokenCache verifiedTokenCache) {
+        return registry -> {
+            FunctionCounter.builder("jwt.verified.cache.requests", verifiedTokenCache, VerifiedTokenCache::getHitCount)
+                    .tag("result", "hit").register(registry);
+            FunctionCounter.builder("jwt.verified.cache.requests", verifiedTokenCache, VerifiedTokenCache::getMissCount)
+                    .tag("result", "miss").register(registry);
+            FunctionCounter.builder("jwt.verified.cache.evictions", verifiedTokenCache, VerifiedTokenCache::getEvictionCount)
+                    .register(registry);
+            Gauge.builder("jwt.verified.cache.size", verifiedTokenCache, VerifiedTokenCache::size)
+                    .register(registry);
+        };
+    }
+
+    // 현재 검증 가능한 JWT 키 수 (서명 키 + 다음 키 + 보관 중인 이전 키 + HMAC secret)
+    // jwt.key_ring.keys : 교체 후 보관 기간이 지나면 줄어든다
+    @Bean
+    public MeterBinder jwtKeyRingMetrics(JwtKeyRing jwtKeyRing) {
+        return registry -> Gauge.builder("jwt.key_ring.keys", jwtKeyRing, JwtKeyRing::getVerificationKeyCount)
+                .register(registry);
+    }
+
+    // 블랙리스트 블룸 필터가 Redis 조회를 얼마나 생략하는지
+    // redis.blacklist.filter.lookups, redis.blacklist.filter.skipped, redis.blacklist.filter.ready (1 : 구성 완료)
+    @Bean
+    public MeterBinder blacklistBloomFilterMetrics(BlacklistBloomFilter blacklistBloomFilter) {
+        return registry -> {
+            FunctionCounter.builder("redis.blacklist.filter.lookups", blacklistBloomFilter, BlacklistBloomFilter::getLookupCount)
+                    .register(registry);
+            FunctionCounter.builder("redis.blacklist.filter.skipped", blacklistBloomFilter, BlacklistBloomFilter::getSkippedCount)
+                    .register(registry);
+            Gauge.builder("redis.blacklist.filter.ready", blacklistBloomFilter, filter -> filter.isReady() ? 1 : 0)
+                    .register(registry);
+        };
+    }
+
+    // 기본 Jackson 컨버터를 직렬화 시간을 기록하는 컨버터로 교체한다.
+    @Bean
+    public TimedJackson2HttpMessageConverter timedJackson2HttpMessageConverter(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        return new TimedJackson2HttpMessageConverter(objectMapper, meterRegistry);
+    }
+}
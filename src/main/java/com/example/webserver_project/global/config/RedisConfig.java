@@ -0,0 +1,24 @@
+package com.example.webserver_project.global.config;
+
+import com.example.webserver_project.infra.redis.BlacklistFilterSynchronizer;
+import com.example.webserver_project.infra.redis.RedisUtil;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+@Configuration
+public class RedisConfig {
+
+    // 블랙리스트 등록 채널(BLACKLIST_CHANNEL)을 구독하는 리스너 컨테이너
+    // 다른 서버에서 로그아웃된 토큰이 이 서버의 블룸 필터에도 추가되도록 한다.
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                       BlacklistFilterSynchronizer blacklistFilterSynchronizer) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(blacklistFilterSynchronizer, new ChannelTopic(RedisUtil.BLACKLIST_CHANNEL));
+        return container;
+    }
+}
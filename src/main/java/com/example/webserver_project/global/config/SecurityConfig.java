@@ -1,13 +1,21 @@
 package com.example.webserver_project.global.config;
 
+import com.example.webserver_project.global.security.BoundedPasswordEncoder;
 import com.example.webserver_project.global.security.CustomUserDetailsService;
 import com.example.webserver_project.global.exception.UserAccessDeniedHandler;
 import com.example.webserver_project.global.exception.UserAuthenticationEntryPoint;
 import com.example.webserver_project.global.security.JwtAuthFilter;
+import com.example.webserver_project.global.security.LoginRateLimitFilter;
+import com.example.webserver_project.global.security.PasswordHashPolicy;
+import com.example.webserver_project.global.security.PrecomputedRoleHierarchy;
 import com.example.webserver_project.global.jwt.JwtProvider;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.access.hierarchicalroles.RoleHierarchy;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
@@ -16,11 +24,12 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.util.concurrent.ExecutorService;
+
 @Configuration
 @EnableWebSecurity // Spring Security의 웹 보안 기능을 활성화하는 어노테이션
 
@@ -31,6 +40,7 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class SecurityConfig {
 
     private final JwtAuthFilter jwtAuthFilter;
+    private final LoginRateLimitFilter loginRateLimitFilter;
     private final CorsConfig corsConfig;
 
     private final UserAccessDeniedHandler accessDeniedHandler; // 인증은 됐지만 사용자의 권한(role)이 부족한 경우 사용할 핸들러
@@ -38,7 +48,7 @@ public class SecurityConfig {
 
     // 인증 없이 접근 가능한 화이트 리스트 URL 모음 String 배열 (로그인, 회원가입, 스웨거 등)
     private static final String[] AUTH_WHITELIST = {
-        "/user/login", "/user/join", "/swagger-ui/**", "/api-docs", "swagger-ui-custom.html"
+        "/user/login", "/user/join", "/swagger-ui/**", "/api-docs", "swagger-ui-custom.html", "/.well-known/jwks.json"
     };
 
     // 각 Request마다 해당 filterChain에 등록된 필터들이 순서대로 실행된다.
@@ -76,6 +86,9 @@ public class SecurityConfig {
         http.addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
             // ㄴ> http.addFilterBefore("추가할 필터", 기존 필터)
 
+        // 로그인 시도 제한 필터는 JwtAuthFilter보다 먼저 실행해서, 거절할 요청에는 JWT 검증/DB 조회/BCrypt 비교를 하지 않는다.
+        http.addFilterBefore(loginRateLimitFilter, JwtAuthFilter.class);
+
         // 5. 예외 처리 핸들러 설정 - 인증 실패 및 접근 거부 예외를 처리하는 핸들러를 설정함
         http.exceptionHandling(e -> e
                 .authenticationEntryPoint(authenticationEntryPoint) // authenticationEntryPoint(401) : 인증 자체가 없는 상태에서 보호된 자원에 접근할 때 사용하는 핸들러
@@ -85,10 +98,13 @@ public class SecurityConfig {
 
         // 6. 권한 규칙 작성
             // 1) 화이트 리스트에 있는 경로는 누구나 접근할 수 있도록 허용함
-            // 2) 나머지 모든 경로는 @PreAuthorize 등의 메서드 수준 보안을 사용하여 접근을 제어함
+            // 2) 관리자 API(/admin/**)는 URL 단계에서 ADMIN 권한을 검사함 (컨트롤러의 @PreAuthorize와 이중으로 검사)
+                // ㄴ> 필터 단계에서 거절되므로 authenticationEntryPoint(401) / accessDeniedHandler(403)가 바로 응답한다.
+            // 3) 나머지 모든 경로는 @PreAuthorize 등의 메서드 수준 보안을 사용하여 접근을 제어함
         http.authorizeHttpRequests(authorize -> {
             authorize
                     .requestMatchers(AUTH_WHITELIST).permitAll()
+                    .requestMatchers("/admin/**").hasRole("ADMIN")
                     .anyRequest().permitAll();
         });
         // authorizeHttpRequests() : Spring Security에서 URL 요청 별 인가(Authorization, 권한 부여)규칙을 설정하는 DSL 함수
@@ -99,6 +115,14 @@ public class SecurityConfig {
         return http.build(); // build() 함수로 HttpSecurity 객체를 빌드하여 SecurityFilterChain 객체를 생성함
     }
 
+    // 권한 계층 (ADMIN -> MANAGER -> USER) - @PreAuthorize, @Secured, authorizeHttpRequests의 hasRole 검사에 적용된다.
+    // 계층은 RoleType에 미리 펼쳐져 있으므로, 인가 검사마다 계층 문자열을 해석하지 않는다.
+    // 메서드 보안 설정보다 먼저 만들어질 수 있도록 static으로 등록한다.
+    @Bean
+    public static RoleHierarchy roleHierarchy() {
+        return new PrecomputedRoleHierarchy();
+    }
+
     // AuthenticationManager를 Bean으로 등록해야 컨트롤러/서비스에서 주입이 가능함
     @Bean
     public AuthenticationManager authenticationManager(AuthenticationConfiguration authenticationConfiguration) throws Exception {
@@ -109,9 +133,22 @@ public class SecurityConfig {
     // BCrypt 해싱 함수를 사용해서 비밀번호를 인코딩할 수 있음
     // 패스워드 인코더도 Bean으로 등록하기 => Spring Security가 AuthenticationProvider -> UserDetailsService -> PasswordEncoder 과정을 처리해줄 때
     // 사용 할 수 있도록 하기 위함
+    // BCrypt 해싱은 요청 스레드가 아닌 전용 스레드 풀(passwordHashExecutor)에서 실행한다. (BoundedPasswordEncoder 참고)
+    // 해시 알고리즘과 strength는 PasswordHashPolicy가 결정한다. (서버 시작 시 목표 해시 시간에 맞춰 strength 보정)
+        // ㄴ> auth.password-hash.bcrypt-strength : 고정 strength (기본 0 = 자동 보정)
+        // ㄴ> auth.password-hash.target-ms : 자동 보정 시 목표 해시 시간 (기본 250ms)
+        // ㄴ> auth.password-hash.min-strength / max-strength : 자동 보정 범위 (기본 10 ~ 14)
+        // ㄴ> auth.password-hash.wait-timeout-ms : 큐에서 해싱 시작을 기다리는 최대 시간 (기본 5000ms, 이미 시작된 해싱은 끝까지 기다린다)
     @Bean
-    public PasswordEncoder passwordEncoder(){
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Qualifier("passwordHashExecutor") ExecutorService passwordHashExecutor,
+                                           MeterRegistry meterRegistry,
+                                           @Value("${auth.password-hash.wait-timeout-ms:5000}") long waitTimeoutMillis,
+                                           @Value("${auth.password-hash.bcrypt-strength:0}") int bcryptStrength,
+                                           @Value("${auth.password-hash.target-ms:250}") long targetMillis,
+                                           @Value("${auth.password-hash.min-strength:10}") int minStrength,
+                                           @Value("${auth.password-hash.max-strength:14}") int maxStrength){
+        PasswordEncoder policyEncoder = PasswordHashPolicy.createEncoder(bcryptStrength, targetMillis, minStrength, maxStrength);
+        return new BoundedPasswordEncoder(policyEncoder, passwordHashExecutor, waitTimeoutMillis, meterRegistry);
     }
 
 }
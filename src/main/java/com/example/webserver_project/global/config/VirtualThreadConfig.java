@@ -0,0 +1,53 @@
+package com.example.webserver_project.global.config;
+
+// 가상 스레드(Virtual Thread) 모드 설정 - spring.threads.virtual.enabled=true 일 때만 적용된다.
+// 요청 처리 경로(JPA -> MySQL, StringRedisTemplate -> Redis, BCrypt)가 모두 블로킹 I/O라서,
+// Tomcat 플랫폼 스레드(기본 200개)가 CPU보다 먼저 바닥난다. 가상 스레드는 블로킹 시 캐리어 스레드를 반납하므로 동시 처리량이 늘어난다.
+
+// spring.threads.virtual.enabled=true 를 켜면 Spring Boot가 아래를 가상 스레드로 바꿔준다.
+    // ㄴ> Tomcat 요청 처리 스레드
+    // ㄴ> applicationTaskExecutor (@Async 기본 실행기), taskScheduler (@Scheduled)
+// 해당 클래스는 가상 스레드 모드에서 커넥션 풀이 병목/장애 지점이 되지 않도록 크기와 대기 시간을 맞춰준다.
+    // ㄴ> HikariCP(5.1+), MySQL Connector/J(9.x), Lettuce(6.3+)는 synchronized 대신 ReentrantLock을 사용하므로 캐리어 스레드 고정(pinning)이 생기지 않는다.
+    // ㄴ> Lettuce는 하나의 공유 커넥션에 명령을 파이프라이닝하고 Netty 이벤트 루프에서 I/O를 처리하므로 풀 크기 조정이 필요없다.
+    // ㄴ> 반면 JDBC 커넥션은 요청 하나가 하나를 점유하므로, 가상 스레드 수천 개가 Hikari 풀 앞에서 대기하게 된다.
+    //      기본 connectionTimeout(30초) 동안 기다리게 두면 요청이 쌓이기만 하므로, 짧은 대기 시간으로 빠르게 실패시킨다.
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+@Slf4j
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    // HikariDataSource가 만들어질 때 가상 스레드 모드에 맞는 풀 설정을 적용한다.
+    // app.virtual-threads.db-pool-size : JDBC 커넥션 최대 개수 (지정하지 않으면 spring.datasource.hikari 설정을 그대로 사용)
+    // app.virtual-threads.db-connection-timeout-ms : 커넥션을 얻기 위해 기다리는 최대 시간 (기본 2초)
+    // BeanPostProcessor는 다른 빈보다 먼저 만들어져야 하므로 static으로 등록한다.
+    @Bean
+    public static BeanPostProcessor virtualThreadDataSourcePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if(bean instanceof HikariDataSource dataSource) {
+                    Integer poolSize = environment.getProperty("app.virtual-threads.db-pool-size", Integer.class);
+                    if(poolSize != null) {
+                        dataSource.setMaximumPoolSize(poolSize);
+                    }
+                    dataSource.setConnectionTimeout(
+                            environment.getProperty("app.virtual-threads.db-connection-timeout-ms", Long.class, 2000L));
+                    log.info("가상 스레드 모드 - Hikari pool '{}' maximumPoolSize={}, connectionTimeout={}ms",
+                            beanName, dataSource.getMaximumPoolSize(), dataSource.getConnectionTimeout());
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.webserver_project.global.datasource;
+
+// 현재 스레드의 DB 연결을 primary/replica 중 어디로 보낼지 직접 지정하는 클래스
+// 기본 규칙(ReplicationRoutingDataSource) : @Transactional(readOnly = true) 안이면 replica, 그 외에는 primary
+// 트랜잭션 없이 읽는 경로(CustomUserDetailsService 등)는 해당 클래스로 replica를 지정하고,
+// 방금 쓴 데이터를 읽어야 하는 경우(ReadYourWritesTracker)는 primary를 지정한다.
+    // ㄴ> 이미 연결을 잡은 트랜잭션 안에서는 지정해도 효과가 없다. (트랜잭션은 처음 잡은 연결을 끝까지 사용함)
+
+import java.util.function.Supplier;
+
+public final class DataSourceRouting {
+    public enum Target { PRIMARY, REPLICA }
+
+    private static final ThreadLocal<Target> OVERRIDE = new ThreadLocal<>();
+
+    private DataSourceRouting() {
+    }
+
+    // action 안에서 새로 잡는 연결은 primary로 보낸다
+    public static <T> T onPrimary(Supplier<T> action) {
+        return with(Target.PRIMARY, action);
+    }
+
+    // action 안에서 새로 잡는 연결은 replica로 보낸다 (replica를 쓸 수 없으면 ReplicationRoutingDataSource가 primary로 보냄)
+    public static <T> T onReplica(Supplier<T> action) {
+        return with(Target.REPLICA, action);
+    }
+
+    // 지정된 대상 (지정하지 않았다면 null)
+    static Target current() {
+        return OVERRIDE.get();
+    }
+
+    private static <T> T with(Target target, Supplier<T> action) {
+        Target previous = OVERRIDE.get();
+        OVERRIDE.set(target);
+        try {
+            return action.get();
+        } finally {
+            if(previous == null) {
+                OVERRIDE.remove();
+            } else {
+                OVERRIDE.set(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.webserver_project.global.datasource;
+
+// 방금 쓴(가입/탈퇴) 사용자를 잠시 primary에서 읽도록 기억하는 클래스 (read-your-writes)
+// 가입 직후 바로 로그인하면, replica에는 아직 사용자가 복제되지 않아서 "존재하지 않는 사용자"로 실패할 수 있다.
+// 따라서, 커밋 후 sticky-window-ms 동안은 해당 사용자의 이메일/userId 조회를 primary로 보낸다.
+    // ㄴ> sticky-window-ms는 replica 허용 지연(max-lag-ms) + heartbeat 간격보다 길어야 한다. (그 이후에는 replica에도 반드시 보이는 상태)
+    // ㄴ> 서버 로컬 기록이므로, 가입과 로그인이 다른 서버로 가면 해당 서버는 replica를 읽는다. (로드 밸런서의 sticky session 또는 짧은 재시도로 보완)
+// replica를 설정하지 않았다면(datasource.replica.url 없음) 아무것도 기록하지 않는다.
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.util.Locale;
+
+@Component
+public class ReadYourWritesTracker {
+    private final boolean enabled;
+    private final Cache<String, Boolean> recentWrites; // "email:..." 또는 "id:..." -> 만료 전까지 primary에서 읽는다
+
+    public ReadYourWritesTracker(
+            @Value("${datasource.replica.url:}") String replicaUrl,
+            @Value("${datasource.replica.sticky-window-ms:3000}") long stickyWindowMillis,
+            @Value("${datasource.replica.sticky-max-size:100000}") long maxSize
+    ) {
+        this.enabled = StringUtils.hasText(replicaUrl);
+        this.recentWrites = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(stickyWindowMillis))
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    // 사용자를 썼다고 기록한다. 트랜잭션 안이라면 커밋 후에 기록한다. (커밋이 늦어져도 커밋 시점부터 sticky-window가 적용되도록)
+    public void markWritten(Long userId, String email) {
+        if(!enabled) {
+            return;
+        }
+        if(TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    record(userId, email);
+                }
+            });
+        } else {
+            record(userId, email);
+        }
+    }
+
+    public boolean isRecentlyWritten(Long userId) {
+        return enabled && userId != null && recentWrites.getIfPresent(idKey(userId)) != null;
+    }
+
+    public boolean isRecentlyWritten(String email) {
+        return enabled && email != null && recentWrites.getIfPresent(emailKey(email)) != null;
+    }
+
+    private void record(Long userId, String email) {
+        if(userId != null) {
+            recentWrites.put(idKey(userId), Boolean.TRUE);
+        }
+        if(email != null) {
+            recentWrites.put(emailKey(email), Boolean.TRUE);
+        }
+    }
+
+    private static String idKey(Long userId) {
+        return "id:" + userId;
+    }
+
+    private static String emailKey(String email) {
+        return "email:" + email.toLowerCase(Locale.ROOT);
+    }
+}
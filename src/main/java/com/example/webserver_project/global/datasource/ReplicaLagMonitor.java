@@ -0,0 +1,66 @@
+package com.example.webserver_project.global.datasource;
+
+// replica의 복제 지연을 heartbeat로 측정하는 클래스
+// heartbeat-interval-ms마다 primary의 replication_heartbeat 행에 현재 시각을 쓰고, replica에서 같은 행을 읽는다.
+    // ㄴ> 지연 = 현재 시각 - replica에 보이는 마지막 heartbeat 시각 (복제가 멈추면 계속 커진다)
+    // ㄴ> SHOW REPLICA STATUS와 달리 별도 권한이 필요 없고, 복제 방식과 관계없이 "실제로 보이는 데이터" 기준의 지연이다.
+// 지연이 max-lag-ms를 넘거나, 측정에 실패했거나, 아직 한 번도 측정하지 못했다면 replica를 쓰지 않는다. (primary로 보냄)
+// 지표 : datasource.replica.lag (ms, 측정 실패 시 -1)
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+
+@Slf4j
+public class ReplicaLagMonitor {
+    private static final String WRITE_HEARTBEAT = "UPDATE replication_heartbeat SET beat_at = ? WHERE id = 1";
+    private static final String READ_HEARTBEAT = "SELECT beat_at FROM replication_heartbeat WHERE id = 1";
+    private static final long UNKNOWN = -1;
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final long maxLagMillis;
+
+    private volatile long lagMillis = UNKNOWN;
+
+    public ReplicaLagMonitor(DataSource primaryDataSource, DataSource replicaDataSource, long maxLagMillis, MeterRegistry meterRegistry) {
+        this.primary = new JdbcTemplate(primaryDataSource);
+        this.replica = new JdbcTemplate(replicaDataSource);
+        this.maxLagMillis = maxLagMillis;
+        Gauge.builder("datasource.replica.lag", this, ReplicaLagMonitor::getLagMillis)
+                .description("replica 복제 지연 (ms, 측정 실패 시 -1)")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replica.heartbeat-interval-ms:500}")
+    public void check() {
+        try {
+            primary.update(WRITE_HEARTBEAT, System.currentTimeMillis());
+        } catch (RuntimeException e) {
+            // primary에 쓰지 못해도 replica에 보이는 값으로 지연을 계산한다. (heartbeat가 멈추면 지연이 커져서 replica를 쓰지 않게 됨)
+            log.warn("replica heartbeat 기록 실패: {}", e.getMessage());
+        }
+        try {
+            Long beatAt = replica.queryForObject(READ_HEARTBEAT, Long.class);
+            lagMillis = beatAt == null ? UNKNOWN : Math.max(0, System.currentTimeMillis() - beatAt);
+        } catch (RuntimeException e) {
+            lagMillis = UNKNOWN;
+            log.warn("replica 지연 측정 실패 - primary만 사용합니다: {}", e.getMessage());
+        }
+    }
+
+    // replica로 읽어도 되는지 (지연이 허용 범위 안인지)
+    public boolean isReplicaUsable() {
+        long lag = lagMillis;
+        return lag != UNKNOWN && lag <= maxLagMillis;
+    }
+
+    public long getLagMillis() {
+        return lagMillis;
+    }
+}
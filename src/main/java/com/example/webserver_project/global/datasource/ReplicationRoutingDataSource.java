@@ -0,0 +1,55 @@
+package com.example.webserver_project.global.datasource;
+
+// primary(쓰기)와 replica(읽기)로 연결을 나눠주는 DataSource
+// 연결을 잡는 시점에 대상을 고른다.
+    // ㄴ> 1) DataSourceRouting으로 지정된 대상이 있다면 해당 대상
+    // ㄴ> 2) @Transactional(readOnly = true) 트랜잭션 안이라면 replica
+    // ㄴ> 3) 그 외(쓰기 트랜잭션, 트랜잭션 밖)는 primary
+    // ㄴ> replica가 골라졌더라도 ReplicaLagMonitor 기준으로 지연이 허용 범위를 넘었다면 primary로 보낸다.
+// 트랜잭션 매니저는 readOnly 여부를 트랜잭션 시작(연결 획득) 이후에 등록하므로, 반드시 LazyConnectionDataSourceProxy로 감싸서
+// 첫 SQL을 실행할 때 실제 연결을 잡도록 해야 한다. (DataSourceConfig 참고)
+    // ㄴ> JpaTransactionManager(Hibernate)는 읽기 전용 트랜잭션을 시작할 때 연결에 setReadOnly(true)를 호출하는데, 이때 받는 연결도 프록시이므로 대상이 정해지지 않는다.
+// 지표 : datasource.routing{target=primary|replica} / datasource.routing.fallback{reason=replica_lag} (replica 대신 primary로 보낸 수)
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+public class ReplicationRoutingDataSource extends AbstractRoutingDataSource {
+    private final ReplicaLagMonitor replicaLagMonitor;
+    private final Counter primaryCounter;
+    private final Counter replicaCounter;
+    private final Counter lagFallbackCounter;
+
+    public ReplicationRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor replicaLagMonitor, MeterRegistry meterRegistry) {
+        this.replicaLagMonitor = replicaLagMonitor;
+        setTargetDataSources(Map.of(DataSourceRouting.Target.PRIMARY, primary, DataSourceRouting.Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+
+        this.primaryCounter = Counter.builder("datasource.routing").tag("target", "primary").register(meterRegistry);
+        this.replicaCounter = Counter.builder("datasource.routing").tag("target", "replica").register(meterRegistry);
+        this.lagFallbackCounter = Counter.builder("datasource.routing.fallback").tag("reason", "replica_lag").register(meterRegistry);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        DataSourceRouting.Target target = DataSourceRouting.current();
+        if(target == null) {
+            target = TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                    ? DataSourceRouting.Target.REPLICA
+                    : DataSourceRouting.Target.PRIMARY;
+        }
+        if(target == DataSourceRouting.Target.REPLICA && !replicaLagMonitor.isReplicaUsable()) {
+            lagFallbackCounter.increment();
+            target = DataSourceRouting.Target.PRIMARY;
+        }
+        (target == DataSourceRouting.Target.REPLICA ? replicaCounter : primaryCounter).increment();
+        return target;
+    }
+}
@@ -2,16 +2,21 @@ package com.example.webserver_project.global.exception;
 
 import com.example.webserver_project.global.exception.model.BaseErrorCode;
 import com.example.webserver_project.global.response.GlobalWebResponse;
+import com.example.webserver_project.global.response.StaticJsonResponses;
 import io.jsonwebtoken.ExpiredJwtException;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 @Slf4j
 @RestControllerAdvice
+@RequiredArgsConstructor
 public class GlobalExceptionHandler {
+    private final StaticJsonResponses staticJsonResponses; // 미리 직렬화해둔 500 응답
 
 
     // CustomException 예외 처리
@@ -34,12 +39,21 @@ public class GlobalExceptionHandler {
     }
 
 
+    // 메서드 보안(@PreAuthorize 등)에서 거절된 예외 처리
+    // 아래의 Exception 핸들러가 잡으면 500으로 응답하게 되므로, 그대로 다시 던져서 Spring Security의 ExceptionTranslationFilter가 처리하도록 한다.
+        // ㄴ> 인증되지 않은 요청은 authenticationEntryPoint(401), 권한이 부족한 요청은 accessDeniedHandler(403)로 응답한다.
+        // ㄴ> AuthorizationDeniedException(@PreAuthorize 거절)도 AccessDeniedException의 하위 클래스이다.
+    @ExceptionHandler(AccessDeniedException.class)
+    public void handleAccessDeniedException(AccessDeniedException e) {
+        throw e;
+    }
+
+
     // Exception 최후의 보루 예외 처리
+    // 본문이 항상 같으므로 미리 직렬화해둔 응답(GlobalWebResponse.error("500", "예상치 못한 서버 오류가 발생했습니다."))을 반환한다.
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<GlobalWebResponse<?>> handleException(Exception e){
-        return ResponseEntity
-                .status(HttpStatus.INTERNAL_SERVER_ERROR)
-                .body(GlobalWebResponse.error("500", "예상치 못한 서버 오류가 발생했습니다."));
+    public ResponseEntity<byte[]> handleException(Exception e){
+        return staticJsonResponses.getInternalServerError().toResponseEntity();
     }
 
 }
@@ -0,0 +1,56 @@
+package com.example.webserver_project.global.jwt;
+
+// 토큰 서명 알고리즘 (jwt.signing-algorithm)
+// ㄴ> HS256 : 대칭키(HMAC). 검증하는 모든 서비스가 같은 secret을 가지고 있어야 한다. (기존 방식)
+// ㄴ> ES256 : ECDSA P-256. 개인키로 서명하고, 공개키(JWKS)만으로 검증할 수 있다.
+// ㄴ> EdDSA : Ed25519. ES256과 같은 비대칭 방식이며 서명이 결정적(deterministic)이고 서명 속도가 빠르다.
+// 알고리즘별 서명/검증 비용은 JwtSignatureAlgorithmBenchmark로 비교한다.
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.SecureDigestAlgorithm;
+import io.jsonwebtoken.security.SignatureAlgorithm;
+
+import java.security.Key;
+import java.security.KeyPair;
+import java.security.interfaces.ECKey;
+
+public enum JwtAlgorithm {
+    HS256(Jwts.SIG.HS256),
+    ES256(Jwts.SIG.ES256),
+    EdDSA(Jwts.SIG.EdDSA);
+
+    private final SecureDigestAlgorithm<?, ?> signatureAlgorithm;
+
+    JwtAlgorithm(SecureDigestAlgorithm<?, ?> signatureAlgorithm) {
+        this.signatureAlgorithm = signatureAlgorithm;
+    }
+
+    SecureDigestAlgorithm<?, ?> getSignatureAlgorithm() {
+        return signatureAlgorithm;
+    }
+
+    // 공개키로 검증할 수 있는 알고리즘인지 (JWKS로 공개 가능한지)
+    public boolean isAsymmetric() {
+        return this != HS256;
+    }
+
+    // 새 키 쌍을 만드는 함수 (비대칭 알고리즘만 가능)
+    KeyPair generateKeyPair() {
+        if(!isAsymmetric()) {
+            throw new IllegalStateException(name() + "는 키 쌍을 만들 수 없습니다.");
+        }
+        return ((SignatureAlgorithm) signatureAlgorithm).keyPair().build();
+    }
+
+    // JWK 파일에서 읽은 키의 알고리즘을 판별하는 함수 (JWK의 alg 값이 없는 경우)
+    static JwtAlgorithm forKey(Key key) {
+        if(key instanceof ECKey) {
+            return ES256;
+        }
+        String algorithm = key.getAlgorithm();
+        if("EdDSA".equals(algorithm) || "Ed25519".equals(algorithm)) {
+            return EdDSA;
+        }
+        throw new IllegalStateException("지원하지 않는 서명 키입니다: " + algorithm);
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.webserver_project.global.jwt;
+
+// 서명을 검증하기 전에 토큰 헤더에서 kid만 꺼내는 유틸 클래스
+// kid로 검증 키(와 미리 만들어둔 JwtParser)를 고르기 위해 사용한다. 헤더 값은 아직 검증되지 않았으므로 키를 고르는 데에만 쓴다.
+    // ㄴ> 서명 검증은 고른 키의 JwtParser가 수행하며, 헤더의 alg와 키 타입이 맞지 않으면 (ex. 공개키로 HS256 검증 시도) jjwt가 거절한다.
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.jsonwebtoken.MalformedJwtException;
+
+import java.io.IOException;
+import java.util.Base64;
+
+final class JwtHeaders {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory(); // thread-safe
+    private static final int MAX_HEADER_LENGTH = 1024; // 비정상적으로 큰 헤더는 디코딩하지 않는다
+
+    private JwtHeaders() {
+    }
+
+    // 헤더의 kid 값 (없으면 null). 헤더가 Base64URL/JSON 형식이 아니라면 MalformedJwtException이 발생한다.
+    static String readKid(String token) {
+        int dot = token.indexOf('.');
+        if(dot <= 0 || dot > MAX_HEADER_LENGTH) {
+            throw new MalformedJwtException("JWT 헤더 형식이 올바르지 않습니다.");
+        }
+        try {
+            byte[] header = Base64.getUrlDecoder().decode(token.substring(0, dot));
+            try(JsonParser parser = JSON_FACTORY.createParser(header)) {
+                if(parser.nextToken() != JsonToken.START_OBJECT) {
+                    throw new MalformedJwtException("JWT 헤더 형식이 올바르지 않습니다.");
+                }
+                String kid = null;
+                while(parser.nextToken() == JsonToken.FIELD_NAME) {
+                    boolean isKid = "kid".equals(parser.currentName());
+                    JsonToken value = parser.nextToken();
+                    if(isKid && value == JsonToken.VALUE_STRING) {
+                        kid = parser.getText();
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                return kid;
+            }
+        } catch (IllegalArgumentException | IOException e) {
+            throw new MalformedJwtException("JWT 헤더 형식이 올바르지 않습니다.", e);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.webserver_project.global.jwt;
+
+// 키 링(JwtKeyRing)에 들어있는 서명/검증 키 하나
+// ㄴ> kid : 토큰 헤더의 kid 값. 검증 시 이 값으로 검증 키를 찾는다.
+// ㄴ> signingKey : 서명에 사용하는 키 (HMAC secret 또는 개인키). 검증 전용 키라면 null
+// ㄴ> verificationKey : 검증에 사용하는 키 (HMAC secret 또는 공개키)
+// ㄴ> publicJwk : JWKS로 공개할 공개키 (HMAC 키는 공개하지 않으므로 null)
+// ㄴ> parser : verificationKey가 설정된 JwtParser. 키마다 한 번만 만들어두고 재사용한다. (불변, thread-safe)
+
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.PublicJwk;
+import io.jsonwebtoken.security.SecureDigestAlgorithm;
+import lombok.Getter;
+
+import javax.crypto.SecretKey;
+import java.security.Key;
+import java.security.KeyPair;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.util.Arrays;
+import java.util.Base64;
+
+@Getter
+public final class JwtKey {
+    private final String kid;
+    private final JwtAlgorithm algorithm;
+    private final Key signingKey;
+    private final Key verificationKey;
+    private final PublicJwk<?> publicJwk;
+    private final JwtParser parser;
+
+    private JwtKey(String kid, JwtAlgorithm algorithm, Key signingKey, Key verificationKey, PublicJwk<?> publicJwk) {
+        this.kid = kid;
+        this.algorithm = algorithm;
+        this.signingKey = signingKey;
+        this.verificationKey = verificationKey;
+        this.publicJwk = publicJwk;
+        this.parser = verificationKey instanceof SecretKey secret
+                ? Jwts.parser().verifyWith(secret).build()
+                : Jwts.parser().verifyWith((PublicKey) verificationKey).build();
+    }
+
+    // HMAC(HS256) 키. kid는 secret의 SHA-256 해시 앞부분으로 만든다. (secret 자체는 드러나지 않음)
+    static JwtKey hmac(SecretKey secretKey) {
+        return new JwtKey(hmacKid(secretKey), JwtAlgorithm.HS256, secretKey, secretKey, null);
+    }
+
+    // 비대칭 키. kid가 없으면 공개키의 JWK thumbprint(RFC 7638)를 kid로 사용한다.
+    // privateKey가 null이면 검증 전용 키가 된다. (서명에서 빠진 이전 키, 아직 서명에 쓰지 않는 다음 키)
+    static JwtKey asymmetric(String kid, JwtAlgorithm algorithm, PrivateKey privateKey, PublicKey publicKey) {
+        PublicJwk<?> jwk = kid == null
+                ? Jwks.builder().key(publicKey).algorithm(algorithm.name()).publicKeyUse("sig").idFromThumbprint().build()
+                : Jwks.builder().key(publicKey).algorithm(algorithm.name()).publicKeyUse("sig").id(kid).build();
+        return new JwtKey(jwk.getId(), algorithm, privateKey, publicKey, jwk);
+    }
+
+    // 새 키 쌍을 만들어서 비대칭 키를 생성하는 함수
+    static JwtKey generate(JwtAlgorithm algorithm) {
+        KeyPair keyPair = algorithm.generateKeyPair();
+        return asymmetric(null, algorithm, keyPair.getPrivate(), keyPair.getPublic());
+    }
+
+    // 서명 키와 알고리즘을 builder에 설정하는 함수
+    // 알고리즘(MacAlgorithm / SignatureAlgorithm)마다 키 타입이 달라서 제네릭으로 묶을 수 없으므로 여기서만 캐스팅한다.
+    @SuppressWarnings("unchecked")
+    JwtBuilder signWith(JwtBuilder builder) {
+        if(signingKey == null) {
+            throw new IllegalStateException("검증 전용 키로는 서명할 수 없습니다: " + kid);
+        }
+        return builder.signWith(signingKey, (SecureDigestAlgorithm<Key, ?>) algorithm.getSignatureAlgorithm());
+    }
+
+    private static String hmacKid(SecretKey secretKey) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(secretKey.getEncoded());
+            return "hs256-" + Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 알고리즘을 사용할 수 없습니다.", e);
+        }
+    }
+}
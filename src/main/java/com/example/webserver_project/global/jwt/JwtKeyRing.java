@@ -0,0 +1,296 @@
+package com.example.webserver_project.global.jwt;
+
+// 토큰 서명 키와 검증 키들을 관리하는 키 링
+// 서명 키는 하나이고, 검증 키는 kid로 찾는다. 토큰 헤더에 kid를 넣으므로 키를 교체해도 이전 키로 서명된 토큰을 계속 검증할 수 있다.
+// 비대칭 알고리즘(ES256, EdDSA)이라면 공개키를 /.well-known/jwks.json으로 공개해서, 다른 서비스가 이 서버를 호출하지 않고 직접 토큰을 검증할 수 있게 한다.
+// 키를 가져오는 방식
+    // ㄴ> 1) jwt.key-ring.jwks-path 지정 : JWK Set 파일에서 읽는다. (여러 서버가 같은 키를 사용해야 하는 운영 환경)
+            // 파일에는 개인키(private JWK)가 정확히 하나 있어야 하며, 해당 키가 서명 키가 된다. 공개키(public JWK)는 검증 전용 키이다.
+            // 교체 순서 : 새 키를 공개키로 먼저 추가 -> (다른 서비스의 JWKS 캐시가 갱신된 뒤) 새 키를 개인키로, 이전 키를 공개키로 바꾼다.
+            // 파일이 바뀌면 jwt.key-ring.check-interval-ms 주기로 다시 읽는다.
+    // ㄴ> 2) 지정하지 않음 : 서버 시작 시 키 쌍을 만들고, jwt.key-ring.rotation-interval-ms 주기로 교체한다. (단일 서버/개발 환경용)
+            // 다음 키를 한 주기 먼저 만들어서 JWKS에 공개해두므로, 교체 직후에도 다른 서비스가 새 kid를 알고 있다.
+            // 서명에서 빠진 키는 가장 긴 토큰 수명(refresh token) 동안 검증용으로 남겨둔다.
+    // ㄴ> 3) HMAC secret : jwt.secret(HS256 서명 키), jwt.next-secret(검증 전용 - 다음 secret), jwt.previous-secrets(검증 전용 - 이전 secret)
+            // secret 교체 순서 : 새 secret을 jwt.next-secret으로 모든 서버에 배포 -> jwt.secret으로 올리고, 이전 secret은 jwt.previous-secrets로 옮긴다.
+            // 이전 secret으로 서명된 토큰도 계속 검증되므로, 교체 순간에 모든 사용자가 한꺼번에 /refresh, /login을 호출하지 않는다.
+            // jwt.previous-secrets 형식 : "secret@만료시각(ISO-8601)" 을 쉼표로 구분 (만료 시각이 없으면 서버 시작 + refresh token 수명)
+            // 비대칭 알고리즘으로 서명할 때는 jwt.secret도 이전 secret과 같이 검증 전용이 되고, 서버 시작 + refresh token 수명이 지나면 제거된다.
+            // ㄴ> secret을 알고 있는 다른 서비스가 계속 토큰을 만들어낼 수 없도록 하기 위함 (kid가 없는 토큰도 그때부터 거절된다)
+// 검증 키는 kid별로 JwtParser를 미리 만들어두고(JwtKey), 최신 키부터 순서대로 배열에 담는다. (키는 몇 개뿐이므로 해시 대신 순차 비교)
+// 보관 기간이 지난 키는 check-interval-ms 주기로 제거된다. (점진적 교체 - 한 번에 모든 토큰이 무효화되지 않음)
+// 키 상태는 불변 객체(Snapshot) 하나로 묶어서 volatile로 교체하므로, 요청 스레드는 락 없이 읽는다.
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Jwk;
+import io.jsonwebtoken.security.JwkSet;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.PrivateJwk;
+import io.jsonwebtoken.security.PublicJwk;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.Key;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Component
+public class JwtKeyRing {
+    private final JwtAlgorithm algorithm;
+    private final JwtKey secretKey; // jwt.secret으로 만든 HS256 키 (kid가 없는 이전 토큰도 해당 키로 검증한다 - 검증 키 목록에 남아 있는 동안만)
+    private final Path jwksPath; // null이면 서버에서 키를 만든다
+    private final long rotationIntervalMillis; // 서버에서 만든 키의 교체 주기 (0 이하면 교체하지 않음)
+    private final long maxTokenLifetimeMillis; // 서명에서 빠진 키를 남겨두는 시간
+    private final ObjectMapper objectMapper;
+
+    private volatile Snapshot snapshot;
+    // 아래 필드는 생성자와 synchronized 함수(refresh, rotate)에서만 접근한다
+    private List<RetiringKey> secretKeys; // HMAC 검증 키 (jwt.secret, jwt.next-secret, jwt.previous-secrets)
+    private long jwksLastModified; // 마지막으로 읽은 JWK Set 파일의 수정 시각
+
+    @Autowired
+    public JwtKeyRing(
+            @Value("${jwt.secret}") final String secret,
+            @Value("${jwt.next-secret:}") final String nextSecret,
+            @Value("${jwt.previous-secrets:}") final String previousSecrets,
+            @Value("${jwt.signing-algorithm:HS256}") final JwtAlgorithm algorithm,
+            @Value("${jwt.key-ring.jwks-path:}") final String jwksPath,
+            @Value("${jwt.key-ring.rotation-interval-ms:86400000}") final long rotationIntervalMillis,
+            @Value("${jwt.refresh-token-expiration-time}") final long maxTokenLifetimeMillis,
+            final ObjectMapper objectMapper
+    ) throws IOException {
+        long now = System.currentTimeMillis();
+        this.algorithm = algorithm;
+        this.secretKey = hmacKey(secret);
+        this.jwksPath = jwksPath == null || jwksPath.isBlank() ? null : Path.of(jwksPath);
+        this.rotationIntervalMillis = rotationIntervalMillis;
+        this.maxTokenLifetimeMillis = maxTokenLifetimeMillis;
+        this.objectMapper = objectMapper;
+        List<RetiringKey> secrets = new ArrayList<>();
+        if(algorithm.isAsymmetric()) {
+            secrets.add(new RetiringKey(secretKey, now + maxTokenLifetimeMillis)); // 비대칭 서명으로 바꾸기 전에 발급된 토큰의 최대 수명 동안만 검증한다
+        }
+        secrets.addAll(parseSecretKeys(nextSecret, previousSecrets, now));
+        this.secretKeys = List.copyOf(secrets);
+
+        if(!algorithm.isAsymmetric()) {
+            this.snapshot = buildSnapshot(secretKey, null, List.of(), now);
+        } else if(this.jwksPath != null) {
+            this.jwksLastModified = Files.getLastModifiedTime(this.jwksPath).toMillis();
+            this.snapshot = loadJwks(this.jwksPath);
+        } else {
+            log.warn("jwt.key-ring.jwks-path가 없어 서버에서 {} 키를 생성합니다. 여러 서버가 토큰을 함께 검증해야 한다면 JWK Set 파일을 지정해야 합니다.", algorithm);
+            this.snapshot = buildSnapshot(JwtKey.generate(algorithm), JwtKey.generate(algorithm), List.of(), now);
+        }
+        log.info("JWT 서명 키 : alg={}, kid={}, 검증 키 {}개", algorithm, snapshot.signingKey().getKid(), snapshot.verificationKeys().length);
+    }
+
+    // 테스트/벤치마크용 - 이전/다음 secret 없이 생성
+    public JwtKeyRing(String secret, JwtAlgorithm algorithm, String jwksPath, long rotationIntervalMillis,
+                      long maxTokenLifetimeMillis, ObjectMapper objectMapper) throws IOException {
+        this(secret, "", "", algorithm, jwksPath, rotationIntervalMillis, maxTokenLifetimeMillis, objectMapper);
+    }
+
+
+    // 현재 서명 키
+    public JwtKey getSigningKey() {
+        return snapshot.signingKey();
+    }
+
+    /*
+    * 토큰 헤더의 kid로 검증 키를 찾는 함수
+     @param kid : 헤더의 kid (없으면 jwt.secret 키로 검증한다 - kid를 넣기 전에 발급된 토큰)
+     @return : 검증 키 (모르는 kid이거나 이미 보관 기간이 지난 키라면 null)
+     */
+    public JwtKey findVerificationKey(String kid) {
+        Snapshot current = snapshot;
+        if(kid == null) {
+            return current.kidlessKey();
+        }
+        for(JwtKey key : current.verificationKeys()) { // 대부분의 토큰은 첫 번째(현재 서명 키)에서 찾는다
+            if(key.getKid().equals(kid)) {
+                return key;
+            }
+        }
+        return null;
+    }
+
+    // 현재 검증 가능한 키 수 (jwt.key_ring.keys 지표)
+    public int getVerificationKeyCount() {
+        return snapshot.verificationKeys().length;
+    }
+
+    // 공개키 목록(JWK Set) JSON. 키가 바뀔 때만 다시 직렬화한다.
+    public byte[] getJwksJson() {
+        return snapshot.jwksJson();
+    }
+
+
+    // 주기적으로 키 상태를 갱신하는 함수
+    // ㄴ> 보관 기간이 지난 검증 키를 제거한다.
+    // ㄴ> JWK Set 파일 : 수정 시각이 바뀌었으면 다시 읽는다. (읽기에 실패하면 기존 키를 그대로 사용)
+    // ㄴ> 서버에서 만든 키 : 교체 주기가 지났으면 교체한다.
+    @Scheduled(
+            initialDelayString = "${jwt.key-ring.check-interval-ms:60000}",
+            fixedDelayString = "${jwt.key-ring.check-interval-ms:60000}"
+    )
+    public synchronized void refresh() {
+        try {
+            long now = System.currentTimeMillis();
+            retireExpired(now);
+            if(!algorithm.isAsymmetric()) return;
+
+            if(jwksPath != null) {
+                long lastModified = Files.getLastModifiedTime(jwksPath).toMillis();
+                if(lastModified != jwksLastModified) {
+                    snapshot = loadJwks(jwksPath);
+                    jwksLastModified = lastModified;
+                    log.info("JWK Set 파일을 다시 읽었습니다. 서명 kid={}", snapshot.signingKey().getKid());
+                }
+            } else if(rotationIntervalMillis > 0 && now - snapshot.signingSince() >= rotationIntervalMillis) {
+                rotate();
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("JWT 키 링 갱신 실패 - 기존 키를 그대로 사용합니다.", e);
+        }
+    }
+
+    // 서버에서 만든 키를 교체하는 함수 : 다음 키 -> 서명 키, 서명 키 -> 검증 전용 키, 새 다음 키 생성
+    synchronized void rotate() throws IOException {
+        Snapshot current = snapshot;
+        long now = System.currentTimeMillis();
+        List<RetiringKey> retiring = new ArrayList<>();
+        retiring.add(new RetiringKey(current.signingKey(), now + maxTokenLifetimeMillis)); // 최신 키가 앞에 오도록 한다
+        retiring.addAll(current.retiring());
+        snapshot = buildSnapshot(current.nextKey(), JwtKey.generate(algorithm), retiring, now);
+        log.info("JWT 서명 키를 교체했습니다. kid={} -> {}", current.signingKey().getKid(), snapshot.signingKey().getKid());
+    }
+
+    // 보관 기간이 지난 키를 제거하는 함수 (서명 키, 다음 키는 제거하지 않는다)
+    synchronized void retireExpired(long now) throws IOException {
+        Snapshot current = snapshot;
+        List<RetiringKey> retiring = withoutExpired(current.retiring(), now);
+        List<RetiringKey> secrets = withoutExpired(secretKeys, now);
+        if(retiring.size() == current.retiring().size() && secrets.size() == secretKeys.size()) {
+            return;
+        }
+        secretKeys = secrets;
+        snapshot = buildSnapshot(current.signingKey(), current.nextKey(), retiring, current.signingSince());
+        log.info("보관 기간이 지난 JWT 검증 키를 제거했습니다. 남은 검증 키 {}개", snapshot.verificationKeys().length);
+    }
+
+    private static List<RetiringKey> withoutExpired(List<RetiringKey> keys, long now) {
+        List<RetiringKey> result = new ArrayList<>(keys.size());
+        for(RetiringKey key : keys) {
+            if(key.retireAt() > now) {
+                result.add(key);
+            }
+        }
+        return result;
+    }
+
+
+    // JWK Set 파일을 읽어서 키 상태를 만드는 함수
+    private Snapshot loadJwks(Path path) throws IOException {
+        JwkSet jwkSet;
+        try(Reader reader = Files.newBufferedReader(path)) {
+            jwkSet = Jwks.setParser().build().parse(reader);
+        }
+        JwtKey signingKey = null;
+        List<RetiringKey> verificationKeys = new ArrayList<>();
+        for(Jwk<?> jwk : jwkSet.getKeys()) {
+            if(jwk instanceof PrivateJwk<?, ?, ?> privateJwk) {
+                if(signingKey != null) {
+                    throw new IllegalStateException("JWK Set에 개인키가 두 개 이상 있습니다: " + path);
+                }
+                PrivateKey privateKey = privateJwk.toKey();
+                PublicKey publicKey = privateJwk.toPublicJwk().toKey();
+                signingKey = JwtKey.asymmetric(jwk.getId(), algorithmOf(jwk, privateKey), privateKey, publicKey);
+            } else if(jwk instanceof PublicJwk<?> publicJwk) {
+                // 파일에 남아있는 동안은 계속 검증한다 (파일에서 지우면 다음 refresh()에서 빠진다)
+                PublicKey publicKey = publicJwk.toKey();
+                verificationKeys.add(new RetiringKey(JwtKey.asymmetric(jwk.getId(), algorithmOf(jwk, publicKey), null, publicKey), Long.MAX_VALUE));
+            }
+        }
+        if(signingKey == null) {
+            throw new IllegalStateException("JWK Set에 서명용 개인키가 없습니다: " + path);
+        }
+        return buildSnapshot(signingKey, null, verificationKeys, System.currentTimeMillis());
+    }
+
+    private static JwtAlgorithm algorithmOf(Jwk<?> jwk, Key key) {
+        return jwk.getAlgorithm() != null ? JwtAlgorithm.valueOf(jwk.getAlgorithm()) : JwtAlgorithm.forKey(key);
+    }
+
+    // jwt.next-secret, jwt.previous-secrets를 검증 전용 HMAC 키로 만드는 함수
+    private List<RetiringKey> parseSecretKeys(String nextSecret, String previousSecrets, long now) {
+        List<RetiringKey> keys = new ArrayList<>();
+        if(nextSecret != null && !nextSecret.isBlank()) {
+            keys.add(new RetiringKey(hmacKey(nextSecret.trim()), Long.MAX_VALUE));
+        }
+        if(previousSecrets != null && !previousSecrets.isBlank()) {
+            for(String entry : previousSecrets.split(",")) {
+                String trimmed = entry.trim();
+                if(trimmed.isEmpty()) continue;
+                int at = trimmed.indexOf('@'); // Base64에는 '@'가 없다
+                long retireAt = at < 0 ? now + maxTokenLifetimeMillis : Instant.parse(trimmed.substring(at + 1)).toEpochMilli();
+                if(retireAt > now) {
+                    keys.add(new RetiringKey(hmacKey(at < 0 ? trimmed : trimmed.substring(0, at)), retireAt));
+                }
+            }
+        }
+        return List.copyOf(keys);
+    }
+
+    private static JwtKey hmacKey(String secret) {
+        return JwtKey.hmac(Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret)));
+    }
+
+    // 검증 키 순서 : 서명 키 -> 다음 키 -> 서명에서 빠진 키(최신순) -> HMAC 키
+    // jwt.secret 키는 HS256 서명 키이거나, 보관 기간이 남은 검증 전용 키(secretKeys)일 때만 들어간다.
+    private Snapshot buildSnapshot(JwtKey signingKey, JwtKey nextKey, List<RetiringKey> retiring, long signingSince) throws IOException {
+        Map<String, JwtKey> byKid = new LinkedHashMap<>();
+        byKid.put(signingKey.getKid(), signingKey);
+        if(nextKey != null) {
+            byKid.putIfAbsent(nextKey.getKid(), nextKey);
+        }
+        for(RetiringKey retiringKey : retiring) {
+            byKid.putIfAbsent(retiringKey.key().getKid(), retiringKey.key());
+        }
+        for(RetiringKey retiringKey : secretKeys) {
+            byKid.putIfAbsent(retiringKey.key().getKid(), retiringKey.key());
+        }
+
+        List<PublicJwk<?>> publicJwks = new ArrayList<>();
+        for(JwtKey key : byKid.values()) {
+            if(key.getPublicJwk() != null) {
+                publicJwks.add(key.getPublicJwk());
+            }
+        }
+        byte[] jwksJson = objectMapper.writeValueAsBytes(Map.of("keys", publicJwks));
+        JwtKey kidlessKey = byKid.containsKey(secretKey.getKid()) ? secretKey : null;
+        return new Snapshot(signingKey, nextKey, List.copyOf(retiring), signingSince,
+                byKid.values().toArray(new JwtKey[0]), kidlessKey, jwksJson);
+    }
+
+    // 서명에서 빠진(또는 검증 전용) 키와 보관 만료 시각
+    private record RetiringKey(JwtKey key, long retireAt) {}
+
+    private record Snapshot(JwtKey signingKey, JwtKey nextKey, List<RetiringKey> retiring, long signingSince,
+                            JwtKey[] verificationKeys, JwtKey kidlessKey, byte[] jwksJson) {}
+}
@@ -2,56 +2,66 @@ package com.example.webserver_project.global.jwt;
 
 // JWT를 생성하고 검증하는 기능을 하는 클래스
 
+import com.example.webserver_project.global.metrics.OutcomeTimer;
+import com.example.webserver_project.global.security.JwtUserInfoDto;
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.security.Key;
 import java.util.Date;
 import java.util.UUID;
 
 @Slf4j // lombok이 slf4j 로거 필드를 자동 생성해주는 어노테이션
 @Component
 public class JwtProvider {
-    private Key key; // SecretKey를 담고 있는 객체
+    private final JwtKeyRing keyRing; // 서명 키와 kid별 검증 키(+ 미리 만들어둔 JwtParser)를 담고 있는 키 링
+    private final VerifiedTokenCache verifiedTokenCache; // 검증이 끝난 토큰을 보관하는 캐시 (같은 토큰의 반복 검증을 생략함)
     private final long accessTokenExpTime; // access 토큰 만료까지 남은 시간(초)
     private final long refreshTokenExpTime; // refresh 토큰 만료까지 남은 시간(초)
+    private final OutcomeTimer signTimer; // jwt.operation{operation=sign} : 토큰 서명 시간
+    private final OutcomeTimer verifyTimer; // jwt.operation{operation=verify} : 캐시에 없는 토큰의 서명 검증 + 파싱 시간 (캐시 적중은 jwt.verified.cache 지표로 확인)
 
 
 
-    // application.yml에 저장되어있는 secret key와 만료 시간을 @Value로 값에 할당해준다.
+    // 서명/검증 키는 JwtKeyRing이 관리하고, application.yml에 저장되어있는 만료 시간을 @Value로 값에 할당해준다.
     public JwtProvider(
-        @Value("${jwt.secret}") final String secretKey,
+        final JwtKeyRing keyRing,
         @Value("${jwt.access-token-expiration-time}") final long accessTokenExpTime,
-        @Value("${jwt.refresh-token-expiration-time}") final long refreshTokenExpTime
+        @Value("${jwt.refresh-token-expiration-time}") final long refreshTokenExpTime,
+        final VerifiedTokenCache verifiedTokenCache,
+        final MeterRegistry meterRegistry
     ) {
-        // 내가 설정한 Base64 형식의 secretKey를 BASE64 방식으로 디코딩한다.
-        // 이후, 해당 값을 HMAC SHA 알고리즘을 사용한 키로 변환한다.
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        this.key = Keys.hmacShaKeyFor(keyBytes);  // 위 줄에서 만든 byte 배열로 secretKey를 만들어준다
-            // Keys.hmacShaKeyFor() : 갖고 있는 바이트 배열로 SecretKey를 만들어주는 함수
-            // 키 길이가 너무 짧으면 WeakKeyException이 발생함(HS256은 최소 256bit/32byte 권장됨)
+        this.keyRing = keyRing;
         this.accessTokenExpTime = accessTokenExpTime; //
         this.refreshTokenExpTime = refreshTokenExpTime; //
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.signTimer = OutcomeTimer.register(meterRegistry, "jwt.operation", "JWT 서명/검증 소요 시간", "operation", "sign");
+        this.verifyTimer = OutcomeTimer.register(meterRegistry, "jwt.operation", "JWT 서명/검증 소요 시간", "operation", "verify");
     }
 
 
     // 인증된 사용자 정보를 담은 Dto를 받아 Access Token을 생성하는 함수
-    public String createAccessToken(long userId){
-        return createToken(userId, accessTokenExpTime);
+    // 비밀번호를 제외한 사용자 정보(role, email, name)를 클레임에 넣어서, 요청마다 DB 조회 없이 principal을 만들 수 있도록 한다.
+    public String createAccessToken(JwtUserInfoDto user){
+        return createAccessToken(user, null);
     }
 
-    public String createRefreshToken(long userId){
-        return createToken(userId, refreshTokenExpTime);
+    // 로그인 세션(refresh token 패밀리) 식별자를 함께 넣는 access token (로그아웃 시 해당 세션만 종료하기 위함)
+    public String createAccessToken(JwtUserInfoDto user, String familyId){
+        return createToken(user.getUserId(), user.getRole(), user.getEmail(), user.getName(), familyId, null, accessTokenExpTime);
+    }
+
+    // refresh 토큰에는 재발급에 필요한 최소 정보(sub, role)와 패밀리 정보(fid, gen)만 넣는다.
+    public String createRefreshToken(long userId, RoleType role, String familyId, long generation){
+        return createRefreshToken(userId, role, familyId, generation, refreshTokenExpTime);
     }
 
     // refresh 토큰을 회전시킬 때, 회전시키기 전 토큰의 expireTime을 그대로 사용하기 위해 오버로드
-    public String createRefreshToken(long userId, long expireTime){
-        return createToken(userId, expireTime);
+    public String createRefreshToken(long userId, RoleType role, String familyId, long generation, long expireTime){
+        return createToken(userId, role, null, null, familyId, generation, expireTime);
     }
 
 
@@ -59,58 +69,114 @@ public class JwtProvider {
     // JWT 생성 과정
         // 1. 클레임(Claims) 생성 & 채우기 -> 토큰 본문(Payload) 데이터
         // 2. 발급/만료 시간 세팅 -> 표즌 등록 클레임 (iat, exp)
-        // 3. 서명(HS256 + 시크릿 키)
+        // 3. 서명(키 링의 현재 서명 키 - HS256/ES256/EdDSA) + 헤더에 kid 추가
         // 4. 직렬화 -> header.payload.signature 문자열로 반환
-    private String createToken(long userId, long expireTime){
+    private String createToken(long userId, RoleType role, String email, String name, String familyId, Long generation, long expireTime){
+        long start = System.nanoTime();
         Date now = new Date(); // 현재 시간 준비. 발급시각(iat), 만료시각(exp) 계산의 기준점이 필요하기 때문임
-        return Jwts.builder()
+        JwtKey signingKey = keyRing.getSigningKey();
+        JwtBuilder builder = Jwts.builder()
+                .header().keyId(signingKey.getKid()).and()
+                    // 검증하는 쪽(이 서버, JWKS를 사용하는 다른 서비스)이 kid로 검증 키를 찾는다
                 .setSubject(String.valueOf(userId))
                     // 주제(subject) 지정. sub 클레임에 사용자 식별자를 저장한다. 핵심 식별자는 보통 sub에 넣는게 표준임
                     // getSubject()로 쉽게 꺼내기 좋음
+                .claim(VerifiedToken.ROLE_CLAIM, role == null ? null : role.name())
+                    // role 클레임에 사용자 권한을 저장한다. (null이면 클레임이 추가되지 않음)
+                .claim(VerifiedToken.EMAIL_CLAIM, email)
+                .claim(VerifiedToken.NAME_CLAIM, name)
+                    // 프로필 클레임 (access token에만 들어간다)
+                .claim(VerifiedToken.FAMILY_CLAIM, familyId)
+                .claim(VerifiedToken.GENERATION_CLAIM, generation)
+                    // 로그인 세션(refresh token 패밀리) 클레임 (gen은 refresh token에만 들어간다)
                 .setId(UUID.randomUUID().toString())
                     // jti 클레임(jwt id)에 전역 고유값을 저장함 (UUID : 범용 고유 식별자)
                 .setIssuedAt(now)
                     // 발급 시각(issued at) 지정. 현재임
-                .setExpiration(new Date(now.getTime() + expireTime))
+                .setExpiration(new Date(now.getTime() + expireTime));
                     // 만료 시각(expiration) 지정. 현재 시간에 만료 시간 더해서 지정함
-                .signWith(key, SignatureAlgorithm.HS256)
-                    // 준비된 대칭키와 서명 알고리즘(HS256)으로 서명
+        String token = signingKey.signWith(builder) // 서명 키와 알고리즘으로 서명
                 .compact();
                     // header/claims를 base64url 인코딩하며, signature를 붙여 최종 문자열로 직렬화 하는 함수
+        signTimer.success(start);
+        return token;
     }
 
     // JWT 검증하는 함수
     // JWT는 Filter 과정에서 예외 처리를 끝낸다. 전역 예외 처리로 처리하지 않는다.
     public boolean validateToken(String token) {
-        parseClaims(token); // parseClaims() 함수를 실행하다가 성공하면 현재 함수에서 true가 return되며, 에러가 난다면 중간에 에러가 return될 것이다.
+        verify(token); // verify() 함수를 실행하다가 성공하면 현재 함수에서 true가 return되며, 에러가 난다면 중간에 에러가 return될 것이다.
         return true;
         // ㄴ> 향후, 나경이 코드 보고 예외처리 추가하기
     }
 
 
+    // JWT를 한 번만 검증하고, 필요한 클레임(sub, jti, exp, role, email, name)을 담은 VerifiedToken을 반환하는 함수
+    // 한 요청에서 여러 클레임이 필요할 때는 getUserId/getTokenId 등을 각각 부르지 말고 해당 함수의 결과를 재사용한다.
+    // 서명이 유효하지 않거나 만료된 경우 JwtException이 발생한다.
+    public VerifiedToken verify(String token) {
+        // 이미 검증한 적이 있고 아직 만료되지 않은 토큰이라면, 캐시에서 바로 꺼내온다 (HMAC 검증 + JSON 파싱 생략)
+        VerifiedToken cached = verifiedTokenCache.get(token);
+        if(cached != null) {
+            // 캐시에 넣은 뒤 서명 키가 제거되었다면 (보관 기간 만료, JWKS에서 삭제) 해당 토큰도 더 이상 통과시키지 않는다
+            if(keyRing.findVerificationKey(cached.getKeyId()) == null) {
+                verifiedTokenCache.invalidate(token);
+                throw new UnsupportedJwtException("검증 키를 찾을 수 없는 토큰입니다.");
+            }
+            return cached;
+        }
+
+        long start = System.nanoTime();
+        VerifiedToken verifiedToken;
+        try {
+            String kid = JwtHeaders.readKid(token);
+            verifiedToken = VerifiedToken.from(parseClaims(token, kid), kid);
+            verifyTimer.success(start);
+        } catch (RuntimeException e) {
+            verifyTimer.failure(start); // 서명 불일치, 만료, 형식 오류 등
+            throw e;
+        }
+        verifiedTokenCache.put(token, verifiedToken);
+        return verifiedToken;
+    }
+
+    // 블랙리스트에 등록된 토큰(jti)을 검증 캐시에서 제거하는 함수
+    // 로그아웃 이후에는 같은 토큰이 캐시에서 검증 통과되지 않도록 한다.
+    public void invalidate(String tokenId) {
+        verifiedTokenCache.invalidateTokenId(tokenId);
+    }
+
+
     // JWT Token에서 Claims를 추출하는 함수
     // Jwts : JWT를 다루기 위한 유틸리티 클래스
     public Claims parseClaims(String token){
-        return Jwts.parser() // parser() : JWT를 파싱할 준비 객체(JwtParserBuilder)를 반환하는 함수
-                             // JwtParserBuilder : 빌더 패턴을 사용해서 parser의 옵션들(서명키, Clock, 압축 설정 등)을 지정할 수 있는 객체
-                .setSigningKey(key) // setSigningKey(): 토큰 서명을 검증하기 위한 비밀 키를 설정하는 함수.(서명 검증 완료 시, JwtParserBuilder 반환)
-                .build() // 위에서 지금까지 설정한 옵션들을 기반으로 실제 JwtParser 객체를 생성한다.
+        return parseClaims(token, JwtHeaders.readKid(token));
+    }
+
+    private Claims parseClaims(String token, String kid){
+        // 헤더의 kid로 검증 키를 고른다. (보관 기간이 지나 제거된 키라면 null -> 거절)
+        JwtKey verificationKey = keyRing.findVerificationKey(kid);
+        if(verificationKey == null) {
+            throw new UnsupportedJwtException("검증 키를 찾을 수 없는 토큰입니다.");
+        }
+        return verificationKey.getParser() // 키마다 미리 만들어둔 JwtParser 재사용 (요청마다 JwtParserBuilder를 다시 만들지 않는다)
                          // JwtParser : JWT 문자열을 실제로 parsing하고, 클레임 검증 등을 수행할 수 있는 객체
-                .parseClaimsJws(token) // parseClaimsJws(): 전달된 문자열인 accessToken을 JWS(Signed JWT)로 해석하는 함수
+                .parseSignedClaims(token) // parseSignedClaims(): 전달된 문자열인 accessToken을 JWS(Signed JWT)로 해석하는 함수
                                              // 내부적으로 Signature를 검증하고, Payload를 Claims로 변환해준다.(반환값 Jws<Claims>)
                                              // JWS : Header.Payload.Signature 형태의 서명된 JWT를 뜻함
-                .getBody(); // Jws<Claims> 객체에서 Payload만 꺼내오는 함수 (Claims return)
+                .getPayload(); // Jws<Claims> 객체에서 Payload만 꺼내오는 함수 (Claims return)
     }
 
 
     // JWT Token에서 User Id를 추출하는 함수
     public Long getUserId(String token){
-        return parseClaims(token).get("id", Long.class);
+        return verify(token).getUserId();
+            // ㄴ> createToken()에서 사용자 식별자를 sub 클레임에 넣었으므로 sub에서 꺼낸다
     }
 
     // JWT Token에서 Token 전용 Id(jti)를 추출하는 함수
     public String getTokenId(String token){
-        return parseClaims(token).getId();
+        return verify(token).getTokenId();
             // ㄴ> Claims.getId() : JWT 표준 클레임 "jti"에 해당하는 값을 꺼내주는 함수
             // createToken()에서 .setId(UUID.randomUUID().toString()) 했을 때 들어가는 값임
             // jti : 토큰 자체의 고유 식별자. 로그아웃할 때 해당 jti를 DB/Redis에 블랙리스트로 저장한다. 이후, 같은 토큰이 들어오면 거부하는 식으로 사용된다.
@@ -119,7 +185,7 @@ public class JwtProvider {
 
     // JWT Token에서 만료 시간(exp)을 밀리세컨드 단위로 추출하는 함수
     public long getExpirationMiliSecond(String token){
-        return parseClaims(token).getExpiration().getTime();
+        return verify(token).getExpirationMiliSecond();
             // Claims.getExpiration()은 Date 객체를 반환한다.
             // Date 객체의 getTime() 함수는 밀리세컨드 단위로 시간을 반환한다.
     }
@@ -1,7 +1,80 @@
 package com.example.webserver_project.global.jwt;
 
+// 사용자 권한
+// Spring Security는 인가 과정에서 UserDetails.getAuthorities()를 요청마다 여러 번 호출한다.
+// 따라서, 권한별 GrantedAuthority 목록을 클래스 로딩 시점에 한 번만 만들어두고 모든 요청에서 같은 (불변) 객체를 공유한다.
+// 권한 계층 : ADMIN -> MANAGER -> USER (상위 권한은 하위 권한을 모두 포함한다)
+    // ㄴ> 계층도 미리 펼쳐둔다(reachableAuthorities). PrecomputedRoleHierarchy가 "ROLE_ADMIN" 문자열을 해석하지 않고 바로 꺼내쓴다.
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 public enum RoleType{
     ADMIN,
     MANAGER,
-    USER
+    USER;
+
+    public static final String ROLE_PREFIX = "ROLE_";
+
+    private final GrantedAuthority authority = new SimpleGrantedAuthority(ROLE_PREFIX + name()); // "ROLE_" + 권한 이름
+    private final List<GrantedAuthority> authorities = List.of(authority); // 해당 권한만 담은 불변 목록 (UserDetails.getAuthorities()용)
+    private Set<RoleType> reachableRoles; // 해당 권한이 포함하는 모든 권한 (자기 자신 포함)
+    private List<GrantedAuthority> reachableAuthorities; // reachableRoles의 GrantedAuthority 불변 목록
+
+    private static final Map<String, RoleType> BY_AUTHORITY = new HashMap<>(); // "ROLE_ADMIN" -> ADMIN
+
+    static {
+        // 바로 아래 권한 (상위 -> 하위)
+        Map<RoleType, RoleType> directlyImplies = new EnumMap<>(RoleType.class);
+        directlyImplies.put(ADMIN, MANAGER);
+        directlyImplies.put(MANAGER, USER);
+
+        for(RoleType role : values()) {
+            EnumSet<RoleType> reachable = EnumSet.of(role);
+            // 계층을 따라 내려가면서 하위 권한을 모두 추가한다
+            RoleType next = directlyImplies.get(role);
+            while(next != null && reachable.add(next)) {
+                next = directlyImplies.get(next);
+            }
+            List<GrantedAuthority> reachableAuthorities = new ArrayList<>(reachable.size());
+            reachable.forEach(reachableRole -> reachableAuthorities.add(reachableRole.authority));
+
+            role.reachableRoles = Collections.unmodifiableSet(reachable);
+            role.reachableAuthorities = List.copyOf(reachableAuthorities);
+            BY_AUTHORITY.put(role.authority.getAuthority(), role);
+        }
+    }
+
+    public GrantedAuthority getAuthority() {
+        return authority;
+    }
+
+    // 해당 권한만 담은 GrantedAuthority 목록 (매번 같은 불변 객체를 반환한다)
+    public List<GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    // 권한 계층을 펼친 GrantedAuthority 목록 (ex. ADMIN -> ROLE_ADMIN, ROLE_MANAGER, ROLE_USER)
+    public List<GrantedAuthority> getReachableAuthorities() {
+        return reachableAuthorities;
+    }
+
+    // 해당 권한이 other 권한을 포함하는지 확인하는 함수 (ex. ADMIN.implies(USER) == true)
+    public boolean implies(RoleType other) {
+        return reachableRoles.contains(other);
+    }
+
+    // "ROLE_ADMIN" 형식의 권한 문자열로 RoleType을 찾는 함수 (RoleType이 아니라면 null)
+    public static RoleType fromAuthority(String authority) {
+        return authority == null ? null : BY_AUTHORITY.get(authority);
+    }
 }
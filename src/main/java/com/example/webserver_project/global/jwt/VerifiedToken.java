@@ -0,0 +1,60 @@
+package com.example.webserver_project.global.jwt;
+
+// 서명 검증이 끝난 JWT의 결과를 담아두는 객체
+// 한 요청 안에서 validateToken/getTokenId/getUserId를 각각 호출하면 매번 Base64 디코딩 + JSON 파싱 + HMAC 검증을 반복하게 된다.
+// 따라서, 한 번만 검증(JwtProvider.verify)하고 필요한 클레임(sub, jti, exp, role, email, name, fid, gen)을 해당 객체에서 꺼내 쓰도록 한다.
+
+import io.jsonwebtoken.Claims;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class VerifiedToken {
+    public static final String ROLE_CLAIM = "role"; // 사용자 권한(RoleType)을 담는 커스텀 클레임 이름
+    public static final String EMAIL_CLAIM = "email"; // 사용자 이메일 클레임 이름 (access token에만 들어감)
+    public static final String NAME_CLAIM = "name"; // 사용자 이름 클레임 이름 (access token에만 들어감)
+    public static final String FAMILY_CLAIM = "fid"; // 로그인 세션(refresh token 패밀리) 식별자 (access/refresh token 모두 들어감)
+    public static final String GENERATION_CLAIM = "gen"; // refresh token 세대 (회전할 때마다 1씩 증가, refresh token에만 들어감)
+
+    private final Long userId; // sub 클레임 (사용자 식별자)
+    private final String tokenId; // jti 클레임 (토큰 고유 식별자, 블랙리스트 key로 사용)
+    private final long expirationMiliSecond; // exp 클레임 (밀리세컨드)
+    private final RoleType role; // role 클레임 (없는 토큰이면 null)
+    private final String email; // email 클레임 (refresh token이면 null)
+    private final String name; // name 클레임 (refresh token이면 null)
+    private final String familyId; // fid 클레임 (패밀리 도입 전에 발급된 토큰이면 null)
+    private final long generation; // gen 클레임 (access token이거나 패밀리 도입 전 토큰이면 0)
+    private final String keyId; // 서명을 검증한 키의 kid (헤더에 kid가 없는 이전 토큰이면 null)
+                                // ㄴ> 캐시에서 꺼낼 때 해당 키가 아직 키 링에 남아 있는지 다시 확인하기 위함
+
+    // 검증이 끝난 Claims 객체로부터 VerifiedToken을 생성하는 함수
+    // 반드시 JwtProvider에서 서명 검증을 마친 Claims와, 검증에 사용한 키의 kid만 넘겨야 한다.
+    static VerifiedToken from(Claims claims, String keyId) {
+        String role = claims.get(ROLE_CLAIM, String.class);
+        Long generation = claims.get(GENERATION_CLAIM, Long.class);
+        return new VerifiedToken(
+                Long.valueOf(claims.getSubject()),
+                claims.getId(),
+                claims.getExpiration().getTime(),
+                role == null ? null : RoleType.valueOf(role),
+                claims.get(EMAIL_CLAIM, String.class),
+                claims.get(NAME_CLAIM, String.class),
+                claims.get(FAMILY_CLAIM, String.class),
+                generation == null ? 0 : generation,
+                keyId
+        );
+    }
+
+    // 남은 만료 시간(밀리세컨드)을 반환하는 함수 (블랙리스트 TTL, refresh 토큰 회전에 사용)
+    public long getRemainMiliSecond(long nowMiliSecond) {
+        return expirationMiliSecond - nowMiliSecond;
+    }
+
+    // DB 조회 없이 principal을 만들 수 있을 만큼의 클레임(role, email)이 들어있는지 확인하는 함수
+    // 프로필 클레임이 없는 이전 버전의 access token이라면 false를 반환한다.
+    public boolean hasProfileClaims() {
+        return role != null && email != null;
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.webserver_project.global.jwt;
+
+// 서명 검증이 끝난 JWT(VerifiedToken)를 캐싱해두는 클래스
+// 클라이언트는 access token이 만료될 때까지 같은 토큰으로 수백 번 요청을 보낸다.
+// 따라서, 한 번 검증한 토큰은 캐시에 보관해두고 이후 요청에서는 HMAC 검증과 클레임 역직렬화를 생략한다.
+    // ㄴ> key : 원본 토큰 문자열의 SHA-256 해시 (토큰 원문을 메모리에 들고 있지 않기 위함)
+    // ㄴ> value : VerifiedToken (exp가 지난 엔트리는 조회 시점에 바로 제거된다)
+    // 검증 키가 키 링에서 제거되었는지는 JwtProvider.verify()가 캐시 적중 시 VerifiedToken의 kid로 다시 확인한다.
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+@Slf4j
+@Component
+public class VerifiedTokenCache {
+    private final Map<String, VerifiedToken> cache = new ConcurrentHashMap<>(); // 토큰 해시 -> 검증된 토큰
+    private final Map<String, String> keyByTokenId = new ConcurrentHashMap<>(); // jti -> 토큰 해시 (블랙리스트 등록 시 무효화용)
+    private final int maxSize; // 최대 엔트리 수 (0 이하면 캐시를 사용하지 않는다)
+    private final AtomicBoolean purging = new AtomicBoolean(false); // 여러 스레드가 동시에 정리 작업을 하지 않도록 막는 플래그
+
+    // 캐시 적중률 확인용 카운터
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    public VerifiedTokenCache(@Value("${jwt.verified-cache.max-size:10000}") final int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+
+    // 캐시에서 검증된 토큰을 꺼내오는 함수
+    // 캐시에 없거나 이미 만료된 토큰이라면 null을 반환한다. (만료된 엔트리는 바로 제거함)
+    public VerifiedToken get(String token) {
+        if(maxSize <= 0) return null;
+
+        String key = hash(token);
+        VerifiedToken verifiedToken = cache.get(key);
+        if(verifiedToken == null) {
+            missCount.increment();
+            return null;
+        }
+
+        // exp가 지난 토큰은 캐시에서 꺼내주지 않는다 -> 다시 파싱하면서 ExpiredJwtException이 발생하게 된다.
+        if(verifiedToken.getRemainMiliSecond(System.currentTimeMillis()) <= 0) {
+            remove(key, verifiedToken);
+            missCount.increment();
+            return null;
+        }
+        hitCount.increment();
+        return verifiedToken;
+    }
+
+    // 검증이 끝난 토큰을 캐시에 저장하는 함수
+    public void put(String token, VerifiedToken verifiedToken) {
+        if(maxSize <= 0) return;
+
+        if(cache.size() >= maxSize) {
+            evictIfFull();
+        }
+        String key = hash(token);
+        cache.put(key, verifiedToken);
+        if(verifiedToken.getTokenId() != null) {
+            keyByTokenId.put(verifiedToken.getTokenId(), key);
+        }
+    }
+
+    // 토큰 원문으로 캐시 엔트리를 무효화하는 함수 (검증 키가 키 링에서 제거된 토큰)
+    public void invalidate(String token) {
+        if(maxSize <= 0) return;
+        String key = hash(token);
+        VerifiedToken verifiedToken = cache.get(key);
+        if(verifiedToken != null) {
+            remove(key, verifiedToken);
+        }
+    }
+
+    // jti로 캐시 엔트리를 무효화하는 함수 (로그아웃으로 블랙리스트에 등록된 토큰)
+    public void invalidateTokenId(String tokenId) {
+        if(tokenId == null) return;
+        String key = keyByTokenId.remove(tokenId);
+        if(key != null && cache.remove(key) != null) {
+            evictionCount.increment();
+        }
+    }
+
+
+    // 캐시가 가득 찬 경우, 만료된 엔트리부터 제거하고 그래도 가득 차 있으면 임의의 엔트리를 제거한다.
+    private void evictIfFull() {
+        if(!purging.compareAndSet(false, true)) return; // 다른 스레드가 이미 정리 중이면 넘어간다
+        try {
+            long now = System.currentTimeMillis();
+            cache.forEach((key, verifiedToken) -> {
+                if(verifiedToken.getRemainMiliSecond(now) <= 0) {
+                    remove(key, verifiedToken);
+                }
+            });
+
+            // 만료된 엔트리를 지워도 여전히 가득 차 있다면, 최대 크기의 90%가 될 때까지 제거한다.
+            Iterator<Map.Entry<String, VerifiedToken>> iterator = cache.entrySet().iterator();
+            int target = (int) (maxSize * 0.9);
+            while(cache.size() > target && iterator.hasNext()) {
+                Map.Entry<String, VerifiedToken> entry = iterator.next();
+                remove(entry.getKey(), entry.getValue());
+            }
+        } finally {
+            purging.set(false);
+        }
+    }
+
+    private void remove(String key, VerifiedToken verifiedToken) {
+        if(cache.remove(key, verifiedToken)) {
+            evictionCount.increment();
+            if(verifiedToken.getTokenId() != null) {
+                keyByTokenId.remove(verifiedToken.getTokenId(), key);
+            }
+        }
+    }
+
+    // 원본 토큰 문자열을 SHA-256으로 해싱하여 캐시 key로 사용한다.
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 알고리즘을 사용할 수 없습니다.", e); // 모든 JVM은 SHA-256을 지원해야 하므로 발생하지 않는다
+        }
+    }
+
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+}
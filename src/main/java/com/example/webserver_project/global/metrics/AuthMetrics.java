@@ -0,0 +1,61 @@
+package com.example.webserver_project.global.metrics;
+
+// 인증 경로(JwtAuthFilter, 로그인)에서 사용하는 지표를 미리 등록해두는 클래스
+// ㄴ> auth.filter.phase{phase=parse|blacklist|user_load, outcome} : JwtAuthFilter 단계별 소요 시간
+// ㄴ> auth.filter.requests{result} : JwtAuthFilter 처리 결과별 요청 수
+// ㄴ> auth.login.authenticate{outcome} : 로그인 인증(사용자 조회 + BCrypt 비교) 소요 시간
+// ㄴ> auth.login.failures{reason} : 로그인 실패 사유별 횟수
+// ㄴ> auth.login.rate_limit.accepted / auth.login.rate_limit.rejected{scope=ip|email|cluster} : 로그인 시도 제한 통과/거절 횟수
+// ㄴ> auth.refresh.reuse_detected : 이미 회전된 refresh token이 다시 사용되어 패밀리를 폐기한 횟수
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Component
+public class AuthMetrics {
+    private final OutcomeTimer parseTimer; // 서명 검증 + 클레임 파싱 (JwtProvider.verify)
+    private final OutcomeTimer blacklistTimer; // 블랙리스트 확인 (블룸 필터 + Redis)
+    private final OutcomeTimer userLoadTimer; // principal 생성 (클레임 또는 UserDetailsCache)
+
+    private final Counter authenticatedCounter; // SecurityContext에 인증 정보를 넣은 요청
+    private final Counter anonymousCounter; // Bearer 토큰이 없는 요청
+    private final Counter blacklistedCounter; // 블랙리스트에 등록된 토큰으로 거절된 요청
+    private final Counter userNotFoundCounter; // 토큰은 유효하지만 사용자가 없는 요청 (탈퇴 등)
+
+    private final OutcomeTimer loginTimer;
+    private final Counter badCredentialsCounter; // 이메일/비밀번호 불일치
+    private final Counter hashBusyCounter; // 해싱 풀이 가득 차서 거절 (PASSWORD_HASH_BUSY)
+
+    private final Counter rateLimitAcceptedCounter; // 시도 제한을 통과한 로그인 요청
+    private final Counter rateLimitIpRejectedCounter; // 클라이언트 IP별 token bucket이 비어서 거절
+    private final Counter rateLimitEmailRejectedCounter; // 이메일별 token bucket이 비어서 거절
+    private final Counter rateLimitClusterRejectedCounter; // Redis sliding window(클러스터 전체) 한도를 넘어서 거절
+
+    private final Counter refreshReuseCounter; // refresh token 재사용 감지 (탈취 의심)
+
+    public AuthMetrics(MeterRegistry meterRegistry) {
+        String phaseDescription = "JwtAuthFilter 단계별 소요 시간";
+        this.parseTimer = OutcomeTimer.register(meterRegistry, "auth.filter.phase", phaseDescription, "phase", "parse");
+        this.blacklistTimer = OutcomeTimer.register(meterRegistry, "auth.filter.phase", phaseDescription, "phase", "blacklist");
+        this.userLoadTimer = OutcomeTimer.register(meterRegistry, "auth.filter.phase", phaseDescription, "phase", "user_load");
+
+        this.authenticatedCounter = Counter.builder("auth.filter.requests").tag("result", "authenticated").register(meterRegistry);
+        this.anonymousCounter = Counter.builder("auth.filter.requests").tag("result", "anonymous").register(meterRegistry);
+        this.blacklistedCounter = Counter.builder("auth.filter.requests").tag("result", "blacklisted").register(meterRegistry);
+        this.userNotFoundCounter = Counter.builder("auth.filter.requests").tag("result", "user_not_found").register(meterRegistry);
+
+        this.loginTimer = OutcomeTimer.register(meterRegistry, "auth.login.authenticate", "로그인 인증 소요 시간 (사용자 조회 + 비밀번호 비교)");
+        this.badCredentialsCounter = Counter.builder("auth.login.failures").tag("reason", "bad_credentials").register(meterRegistry);
+        this.hashBusyCounter = Counter.builder("auth.login.failures").tag("reason", "hash_busy").register(meterRegistry);
+
+        this.rateLimitAcceptedCounter = Counter.builder("auth.login.rate_limit.accepted").register(meterRegistry);
+        this.rateLimitIpRejectedCounter = Counter.builder("auth.login.rate_limit.rejected").tag("scope", "ip").register(meterRegistry);
+        this.rateLimitEmailRejectedCounter = Counter.builder("auth.login.rate_limit.rejected").tag("scope", "email").register(meterRegistry);
+        this.rateLimitClusterRejectedCounter = Counter.builder("auth.login.rate_limit.rejected").tag("scope", "cluster").register(meterRegistry);
+
+        this.refreshReuseCounter = Counter.builder("auth.refresh.reuse_detected").register(meterRegistry);
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.webserver_project.global.metrics;
+
+// 결과(outcome=success/failure)별로 미리 등록해둔 Timer 한 쌍
+// 요청마다 Timer.builder().register()로 Timer를 찾으면 태그 배열, Meter.Id 등이 매번 만들어진다.
+// 따라서, 생성 시점에 두 Timer를 등록해두고, 요청 경로에서는 System.nanoTime()으로 잰 시간을 record()만 한다. (Timer.Sample도 만들지 않음)
+    // ㄴ> 사용 방법
+    //      long start = System.nanoTime();
+    //      try { ...; timer.success(start); } catch (RuntimeException e) { timer.failure(start); throw e; }
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+
+public final class OutcomeTimer {
+    public static final String OUTCOME_TAG = "outcome";
+
+    private final Timer success;
+    private final Timer failure;
+
+    private OutcomeTimer(Timer success, Timer failure) {
+        this.success = success;
+        this.failure = failure;
+    }
+
+    // @param tags : outcome 외에 붙일 태그 (key, value 순서의 쌍)
+    public static OutcomeTimer register(MeterRegistry meterRegistry, String name, String description, String... tags) {
+        return new OutcomeTimer(
+                Timer.builder(name).description(description).tags(tags).tag(OUTCOME_TAG, "success").register(meterRegistry),
+                Timer.builder(name).description(description).tags(tags).tag(OUTCOME_TAG, "failure").register(meterRegistry)
+        );
+    }
+
+    // @param startNanos : 측정을 시작한 시점의 System.nanoTime()
+    public void success(long startNanos) {
+        success.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void failure(long startNanos) {
+        failure.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.webserver_project.global.metrics;
+
+// 응답 JSON 직렬화(GlobalWebResponse -> JSON) 시간을 기록하는 Jackson 메시지 컨버터
+// Spring Boot는 기본 MappingJackson2HttpMessageConverter와 같은 타입의 빈이 있으면 기본 컨버터 대신 해당 빈을 사용한다. (MetricsConfig)
+// ㄴ> http.response.serialization{outcome} : 직렬화 + 출력 스트림 쓰기 시간
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+public class TimedJackson2HttpMessageConverter extends MappingJackson2HttpMessageConverter {
+    private final OutcomeTimer serializationTimer;
+
+    public TimedJackson2HttpMessageConverter(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        super(objectMapper);
+        this.serializationTimer = OutcomeTimer.register(meterRegistry, "http.response.serialization", "응답 JSON 직렬화 소요 시간");
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        long start = System.nanoTime();
+        try {
+            super.writeInternal(object, type, outputMessage);
+            serializationTimer.success(start);
+        } catch (IOException | RuntimeException e) {
+            serializationTimer.failure(start); // 직렬화 실패 또는 클라이언트 연결 끊김
+            throw e;
+        }
+    }
+}
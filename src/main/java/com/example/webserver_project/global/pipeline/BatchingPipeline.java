@@ -0,0 +1,220 @@
+package com.example.webserver_project.global.pipeline;
+
+// 항목을 큐에 모았다가 전용 스레드 하나가 배치로 보내는 파이프라인의 공통 부분 (UserIndexingPipeline, UserTokenCleanupPipeline)
+// 하위 클래스는 배치를 실제로 보내는 send()와 중복 제거 기준인 keyOf()만 구현한다.
+    // ㄴ> 크기 기준 : 배치가 batch-size만큼 모이면 바로 보낸다
+    // ㄴ> 시간 기준 : 첫 항목이 들어온 뒤 flush-interval-ms가 지나면 배치가 덜 찼어도 보낸다 (0이면 이미 쌓여 있는 만큼만 바로 보낸다)
+    // ㄴ> 같은 배치 안에서 key가 같은 항목은 마지막 것만 보낸다 (순서는 처음 들어온 위치)
+// 역압(backpressure) : 큐의 크기가 정해져 있으므로, 보내는 쪽이 느리거나 장애라서 큐가 가득 차면 항목을 넣는 쪽(요청 스레드)이
+// offer-timeout-ms 동안 기다리고, 그래도 자리가 없으면 해당 항목을 버리고 지표를 남긴다.
+// 실패한 배치는 지수 백오프로 max-retries번까지 다시 보낸다. 재시도하는 동안에는 큐를 비우지 않으므로 그대로 역압이 걸린다.
+// 지표 (prefix는 하위 클래스가 정한다)
+    // ㄴ> prefix.{batch}{outcome} : 배치 한 번을 보내는 데 걸린 시간
+    // ㄴ> prefix.{processed} : 보낸 항목 수 (중복 제거 후)
+    // ㄴ> prefix.dropped{reason=queue_full|failedReason} : 버린 항목 수
+    // ㄴ> prefix.queue : 대기 중인 항목 수
+
+import com.example.webserver_project.global.metrics.OutcomeTimer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+public abstract class BatchingPipeline<T> implements SmartLifecycle {
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 10_000;
+    private static final long POLL_SLICE_NANOS = TimeUnit.MILLISECONDS.toNanos(100); // 종료 요청을 확인하는 간격
+
+    private final String name; // 로그에 남기는 파이프라인 이름
+    private final String threadName;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final long offerTimeoutMillis;
+    private final int maxRetries;
+    private final long retryBackoffMillis;
+    private final BlockingQueue<T> queue;
+
+    private final OutcomeTimer batchTimer;
+    private final Counter processedCounter;
+    private final Counter queueFullCounter;
+    private final Counter failedCounter;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    protected BatchingPipeline(String name, String threadName, MeterRegistry meterRegistry, Metrics metrics,
+                               boolean enabled, int batchSize, long flushIntervalMillis, int queueCapacity,
+                               long offerTimeoutMillis, int maxRetries, long retryBackoffMillis) {
+        this.name = name;
+        this.threadName = threadName;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.offerTimeoutMillis = offerTimeoutMillis;
+        this.maxRetries = maxRetries;
+        this.retryBackoffMillis = retryBackoffMillis;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+
+        String prefix = metrics.prefix();
+        this.batchTimer = OutcomeTimer.register(meterRegistry, prefix + "." + metrics.batch(), metrics.batchDescription());
+        this.processedCounter = Counter.builder(prefix + "." + metrics.processed()).register(meterRegistry);
+        this.queueFullCounter = Counter.builder(prefix + ".dropped").tag("reason", "queue_full").register(meterRegistry);
+        this.failedCounter = Counter.builder(prefix + ".dropped").tag("reason", metrics.failedReason()).register(meterRegistry);
+        Gauge.builder(prefix + ".queue", queue, BlockingQueue::size)
+                .description(metrics.queueDescription())
+                .register(meterRegistry);
+    }
+
+    // 같은 배치 안에서 중복을 판단하는 key
+    protected abstract Object keyOf(T item);
+
+    // 중복을 제거한 배치를 보내는 함수 (RuntimeException이 발생하면 재시도한다)
+    protected abstract void send(Collection<T> items);
+
+    /*
+    * 항목을 큐에 넣는 함수
+     큐가 가득 찼다면 offer-timeout-ms 동안 기다린다. (역압)
+     @return : 큐에 넣었다면 true, 파이프라인이 꺼져 있거나 기다려도 자리가 없어서 버렸다면 false
+     */
+    public boolean enqueue(T item) {
+        if(!enabled || !running) {
+            return false;
+        }
+        try {
+            if(queue.offer(item, offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        queueFullCounter.increment();
+        log.warn("{} 큐가 가득 차서 항목을 버립니다. key={}", name, keyOf(item));
+        return false;
+    }
+
+    private void runLoop() {
+        List<T> batch = new ArrayList<>(batchSize);
+        // 종료 요청 후에도 큐에 남은 항목은 모두 보낸 뒤에 끝낸다
+        while(running || !queue.isEmpty()) {
+            try {
+                T first = queue.poll(POLL_SLICE_NANOS, TimeUnit.NANOSECONDS);
+                if(first == null) {
+                    continue;
+                }
+                batch.add(first);
+                // 첫 항목부터 flush-interval 동안, 배치 크기까지 모은다
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while(batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remainNanos = deadline - System.nanoTime();
+                    if(batch.size() >= batchSize || remainNanos <= 0 || !running) {
+                        break;
+                    }
+                    T next = queue.poll(Math.min(remainNanos, POLL_SLICE_NANOS), TimeUnit.NANOSECONDS);
+                    if(next != null) {
+                        batch.add(next);
+                    }
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<T> batch) throws InterruptedException {
+        // key가 같은 항목은 마지막 것만 남긴다
+        Map<Object, T> latest = new LinkedHashMap<>();
+        for(T item : batch) {
+            latest.put(keyOf(item), item);
+        }
+        Collection<T> items = latest.values();
+
+        for(int attempt = 0; ; attempt++) {
+            long start = System.nanoTime();
+            try {
+                send(items);
+                batchTimer.success(start);
+                processedCounter.increment(items.size());
+                return;
+            } catch (RuntimeException e) {
+                batchTimer.failure(start);
+                if(attempt >= maxRetries) {
+                    failedCounter.increment(items.size());
+                    log.error("{} 실패 - {}건을 버립니다: {}", name, items.size(), e.getMessage());
+                    return;
+                }
+                log.warn("{} 실패 - 재시도합니다 ({}/{}): {}", name, attempt + 1, maxRetries, e.getMessage());
+                Thread.sleep(retryBackoffMillis << attempt);
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        if(!enabled || running) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::runLoop, threadName);
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        if(!running) {
+            return;
+        }
+        running = false; // 새 항목은 받지 않고, 남은 항목을 보낸 뒤 스레드가 끝난다
+        try {
+            worker.join(SHUTDOWN_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if(!queue.isEmpty()) {
+            log.warn("{} - 종료 시간 안에 보내지 못한 항목 {}건이 있습니다.", name, queue.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // 웹 서버(Tomcat)보다 먼저 시작하고 나중에 종료한다.
+    // ㄴ> graceful shutdown 중에 처리된 요청의 항목까지 큐에 넣고 보낸 뒤에 종료하기 위함
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    // 현재 큐에 쌓인 항목 수
+    public int pendingCount() {
+        return queue.size();
+    }
+
+    /*
+    * 지표 이름
+     @param prefix : 지표 이름 앞부분 (ex. search.user_index)
+     @param batch : 배치 소요 시간 Timer 이름 (prefix 뒤)
+     @param processed : 보낸 항목 수 Counter 이름 (prefix 뒤)
+     @param failedReason : 재시도 후에도 실패해서 버린 항목의 dropped reason 태그
+     */
+    protected record Metrics(String prefix, String batch, String batchDescription, String processed,
+                             String failedReason, String queueDescription) {}
+}
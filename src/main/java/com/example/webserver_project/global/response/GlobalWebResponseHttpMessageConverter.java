@@ -0,0 +1,128 @@
+package com.example.webserver_project.global.response;
+
+// GlobalWebResponse 전용 JSON 메시지 컨버터
+// 모든 컨트롤러 응답은 {"isSuccess":..,"code":..,"message":..,"result":..} 형태의 같은 봉투(envelope)를 사용한다.
+// 기본 Jackson 컨버터는 요청마다 GlobalWebResponse 자체를 리플렉션 기반 BeanSerializer로 직렬화하지만,
+// 해당 컨버터는 봉투 부분을 직접 쓰고 result만 Jackson에 맡긴다.
+    // ㄴ> 필드 이름("isSuccess", "code" 등)은 미리 UTF-8로 인코딩해둔 SerializedString으로 쓴다. (매번 따옴표 처리/인코딩하지 않음)
+    // ㄴ> code 값("200", "AUTH_401_001" 등)은 ErrorCode에서 오는 몇 개 안 되는 값이므로 인코딩 결과를 캐싱한다.
+    // ㄴ> result는 타입별로 미리 만들어둔 ObjectWriter(루트 serializer를 미리 찾아둠)로 같은 JsonGenerator에 이어서 쓴다.
+    //      ObjectMapper에 Blackbird 모듈이 등록되어 있으므로, getter 호출도 리플렉션 대신 LambdaMetafactory로 생성된 코드를 사용한다. (JsonConfig)
+// 출력 결과는 기존 Jackson 직렬화와 동일하다. (@JsonPropertyOrder 순서, result가 null이면 생략)
+
+import com.example.webserver_project.global.metrics.OutcomeTimer;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class GlobalWebResponseHttpMessageConverter extends AbstractHttpMessageConverter<GlobalWebResponse<?>> {
+    private static final SerializableString IS_SUCCESS = new SerializedString("isSuccess");
+    private static final SerializableString CODE = new SerializedString("code");
+    private static final SerializableString MESSAGE = new SerializedString("message");
+    private static final SerializableString RESULT = new SerializedString("result");
+    private static final int MAX_CACHED_CODES = 256; // 예외 메시지 등 임의의 값이 code로 들어와도 캐시가 무한히 커지지 않도록 제한
+
+    private final ObjectMapper objectMapper;
+    private final Map<Class<?>, ObjectWriter> resultWriters = new ConcurrentHashMap<>(); // result 타입 -> ObjectWriter
+    private final Map<String, SerializableString> encodedCodes = new ConcurrentHashMap<>(); // code 값 -> 인코딩된 문자열
+    private final OutcomeTimer serializationTimer; // http.response.serialization (TimedJackson2HttpMessageConverter와 같은 지표)
+
+    public GlobalWebResponseHttpMessageConverter(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        super(MediaType.APPLICATION_JSON, new MediaType("application", "*+json"));
+        this.objectMapper = objectMapper;
+        this.serializationTimer = OutcomeTimer.register(meterRegistry, "http.response.serialization", "응답 JSON 직렬화 소요 시간");
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return GlobalWebResponse.class.isAssignableFrom(clazz);
+    }
+
+    // 응답 전용 컨버터이므로 요청 본문(@RequestBody)으로는 사용하지 않는다.
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected GlobalWebResponse<?> readInternal(Class<? extends GlobalWebResponse<?>> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("GlobalWebResponse는 요청 본문으로 읽을 수 없습니다.", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(GlobalWebResponse<?> response, HttpOutputMessage outputMessage) throws IOException {
+        long start = System.nanoTime();
+        try {
+            write(response, outputMessage);
+            serializationTimer.success(start);
+        } catch (IOException | RuntimeException e) {
+            serializationTimer.failure(start); // 직렬화 실패 또는 클라이언트 연결 끊김
+            throw e;
+        }
+    }
+
+    private void write(GlobalWebResponse<?> response, HttpOutputMessage outputMessage) throws IOException {
+        try(JsonGenerator generator = objectMapper.getFactory().createGenerator(outputMessage.getBody(), JsonEncoding.UTF8)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET); // 응답 스트림은 컨테이너가 닫는다
+
+            generator.writeStartObject();
+
+            generator.writeFieldName(IS_SUCCESS);
+            if(response.getIsSuccess() == null) {
+                generator.writeNull();
+            } else {
+                generator.writeBoolean(response.getIsSuccess());
+            }
+
+            generator.writeFieldName(CODE);
+            if(response.getCode() == null) {
+                generator.writeNull();
+            } else {
+                generator.writeString(encodedCode(response.getCode()));
+            }
+
+            generator.writeFieldName(MESSAGE);
+            generator.writeString(response.getMessage()); // null이면 null로 쓴다
+
+            Object result = response.getResult();
+            if(result != null) { // @JsonInclude(NON_NULL)과 동일
+                generator.writeFieldName(RESULT);
+                resultWriter(result.getClass()).writeValue(generator, result);
+            }
+
+            generator.writeEndObject();
+        }
+    }
+
+    private SerializableString encodedCode(String code) {
+        SerializableString encoded = encodedCodes.get(code);
+        if(encoded == null) {
+            encoded = new SerializedString(code);
+            if(encodedCodes.size() < MAX_CACHED_CODES) {
+                encodedCodes.putIfAbsent(code, encoded);
+            }
+        }
+        return encoded;
+    }
+
+    // result 타입별 ObjectWriter (writerFor()가 루트 serializer를 미리 찾아둔다)
+    // FLUSH_AFTER_WRITE_VALUE를 끄지 않으면 result를 쓴 직후 응답 스트림이 flush되어 봉투가 끝나기 전에 응답이 커밋된다.
+    private ObjectWriter resultWriter(Class<?> resultType) {
+        return resultWriters.computeIfAbsent(resultType,
+                type -> objectMapper.writerFor(type).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE));
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.webserver_project.global.response;
+
+// 본문이 항상 같은 응답(401, 403, 500, "로그아웃 성공" 등)을 미리 직렬화해둔 객체
+// 요청마다 GlobalWebResponse를 만들고 ObjectMapper로 직렬화하는 대신, 서버 시작 시 한 번만 UTF-8 byte[]로 만들어두고
+// 응답 스트림에 그대로 쓴다. (봇 공격처럼 401/403 응답이 대부분인 상황에서 거절 비용을 줄이기 위함)
+    // ㄴ> write() : 필터/시큐리티 핸들러, 반환 타입을 GlobalWebResponse로 선언한 컨트롤러(AuthController)처럼 HttpServletResponse에 직접 쓰는 곳에서 사용
+    // ㄴ> toResponseEntity() : 예외 처리기에서 사용 (ByteArrayHttpMessageConverter가 byte[]를 그대로 쓴다)
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+
+public final class StaticJsonResponse {
+    private final HttpStatus status;
+    private final byte[] body; // 직렬화된 JSON (외부에 노출하지 않으므로 수정되지 않는다)
+    private final ResponseEntity<byte[]> responseEntity; // ResponseEntity의 헤더는 읽기 전용이므로 모든 요청에서 같은 객체를 재사용한다
+
+    StaticJsonResponse(HttpStatus status, byte[] body) {
+        this.status = status;
+        this.body = body;
+        this.responseEntity = ResponseEntity.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .contentLength(body.length)
+                .body(body);
+    }
+
+    // 상태 코드, Content-Type, 본문을 응답에 바로 쓰는 함수
+    public void write(HttpServletResponse response) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body); // 문자 스트림(Writer)을 거치지 않고 byte[]를 그대로 쓴다
+    }
+
+    public ResponseEntity<byte[]> toResponseEntity() {
+        return responseEntity;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    public int getContentLength() {
+        return body.length;
+    }
+}
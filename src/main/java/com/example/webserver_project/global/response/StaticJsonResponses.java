@@ -0,0 +1,39 @@
+package com.example.webserver_project.global.response;
+
+// 본문이 바뀌지 않는 응답 목록 - 서버 시작 시 Spring MVC와 같은 ObjectMapper로 한 번만 직렬화한다.
+// 응답 형식(GlobalWebResponse의 필드 순서, null 제외 등)은 기존과 동일하다.
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Component
+public class StaticJsonResponses {
+    private final StaticJsonResponse unauthorized; // 401 - UserAuthenticationEntryPoint
+    private final StaticJsonResponse forbidden; // 403 - UserAccessDeniedHandler
+    private final StaticJsonResponse internalServerError; // 500 - GlobalExceptionHandler
+    private final StaticJsonResponse tooManyRequests; // 429 - LoginRateLimitFilter
+    private final StaticJsonResponse payloadTooLarge; // 413 - LoginRateLimitFilter (로그인 본문 크기 초과)
+    private final StaticJsonResponse logoutSuccess; // 200 - AuthController.logout
+    private final StaticJsonResponse reissueSuccess; // 200 - AuthController.reissueAccessToken
+
+    public StaticJsonResponses(ObjectMapper objectMapper) throws JsonProcessingException {
+        this.unauthorized = create(objectMapper, HttpStatus.UNAUTHORIZED, GlobalWebResponse.error("401", "인증이 필요합니다."));
+        this.forbidden = create(objectMapper, HttpStatus.FORBIDDEN, GlobalWebResponse.error("403", "접근 권한이 없습니다."));
+        this.internalServerError = create(objectMapper, HttpStatus.INTERNAL_SERVER_ERROR,
+                GlobalWebResponse.error("500", "예상치 못한 서버 오류가 발생했습니다."));
+        this.tooManyRequests = create(objectMapper, HttpStatus.TOO_MANY_REQUESTS,
+                GlobalWebResponse.error("429", "요청이 너무 많습니다. 잠시 후 다시 시도해주세요."));
+        this.payloadTooLarge = create(objectMapper, HttpStatus.PAYLOAD_TOO_LARGE, GlobalWebResponse.error("413", "요청 본문이 너무 큽니다."));
+        this.logoutSuccess = create(objectMapper, HttpStatus.OK, GlobalWebResponse.success("로그아웃 성공"));
+        this.reissueSuccess = create(objectMapper, HttpStatus.OK, GlobalWebResponse.success("Access Token 재발급 성공"));
+    }
+
+    private static StaticJsonResponse create(ObjectMapper objectMapper, HttpStatus status, GlobalWebResponse<?> response)
+            throws JsonProcessingException {
+        return new StaticJsonResponse(status, objectMapper.writeValueAsBytes(response)); // writeValueAsBytes는 UTF-8로 인코딩한다
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.webserver_project.global.security;
+
+// 요청에서 access token(Authorization 헤더)과 refresh token(refreshToken 쿠키)을 꺼내는 클래스
+// JwtAuthFilter와 AuthService가 같은 파싱 로직을 각각 갖고 있지 않도록 한 곳에 모아둔다.
+    // ㄴ> access token : Authorization 헤더를 한 번만 읽고 결과를 request attribute에 저장한다.
+    //      같은 요청에서 JwtAuthFilter -> AuthService.logout 순서로 다시 호출되면 헤더를 다시 파싱하지 않는다.
+    // ㄴ> 인증 스키마는 대소문자를 구분하지 않는다. (RFC 7235 : "bearer", "BEARER"도 허용)
+    // ㄴ> refresh token : request.getCookies()는 Tomcat이 요청의 모든 쿠키를 Cookie 객체로 만들기 때문에,
+    //      원본 Cookie 헤더에서 refreshToken 값만 찾아서 잘라낸다. (토큰 문자열 외에는 객체를 만들지 않음)
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.util.Enumeration;
+
+@Component
+public class BearerTokenResolver {
+    public static final String REFRESH_TOKEN_COOKIE = "refreshToken";
+
+    private static final String BEARER_SCHEME = "Bearer";
+    private static final String ACCESS_TOKEN_ATTRIBUTE = BearerTokenResolver.class.getName() + ".ACCESS_TOKEN";
+    private static final String NO_TOKEN = ""; // 헤더가 없거나 Bearer가 아닌 요청도 다시 파싱하지 않도록 저장해두는 값
+
+    // Authorization 헤더에서 access token을 꺼내는 함수
+    // @return : Bearer 토큰이 없다면 null
+    public String resolveAccessToken(HttpServletRequest request) {
+        Object cached = request.getAttribute(ACCESS_TOKEN_ATTRIBUTE);
+        if(cached != null) {
+            return cached == NO_TOKEN ? null : (String) cached;
+        }
+
+        String token = parseBearer(request.getHeader(HttpHeaders.AUTHORIZATION));
+        request.setAttribute(ACCESS_TOKEN_ATTRIBUTE, token == null ? NO_TOKEN : token);
+        return token;
+    }
+
+    // Cookie 헤더에서 refreshToken 쿠키 값을 꺼내는 함수
+    // HTTP/2에서는 Cookie 헤더가 여러 개로 나뉘어 올 수 있으므로 모든 Cookie 헤더를 확인한다.
+    // @return : refreshToken 쿠키가 없다면 null
+    public String resolveRefreshToken(HttpServletRequest request) {
+        Enumeration<String> headers = request.getHeaders(HttpHeaders.COOKIE);
+        if(headers == null) return null;
+
+        while(headers.hasMoreElements()) {
+            String value = findCookieValue(headers.nextElement(), REFRESH_TOKEN_COOKIE);
+            if(value != null) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+
+    // "Bearer <token>" 형식의 헤더에서 token만 잘라내는 함수 (스키마 대소문자 무시, 스키마 뒤 공백 여러 개 허용)
+    static String parseBearer(String header) {
+        if(header == null || header.length() <= BEARER_SCHEME.length()
+                || !header.regionMatches(true, 0, BEARER_SCHEME, 0, BEARER_SCHEME.length())
+                || header.charAt(BEARER_SCHEME.length()) != ' ') {
+            return null;
+        }
+
+        int start = BEARER_SCHEME.length() + 1;
+        while(start < header.length() && header.charAt(start) == ' ') {
+            start++;
+        }
+        int end = header.length();
+        while(end > start && header.charAt(end - 1) == ' ') {
+            end--;
+        }
+        return start == end ? null : header.substring(start, end);
+    }
+
+    // "a=1; refreshToken=xxx; b=2" 형식의 Cookie 헤더에서 name 쿠키의 값을 찾는 함수
+    static String findCookieValue(String cookieHeader, String name) {
+        if(cookieHeader == null) return null;
+
+        int length = cookieHeader.length();
+        int position = 0;
+        while(position < length) {
+            // 쿠키 이름 앞의 공백을 건너뛴다
+            while(position < length && cookieHeader.charAt(position) == ' ') {
+                position++;
+            }
+            int end = cookieHeader.indexOf(';', position);
+            if(end < 0) {
+                end = length;
+            }
+
+            // 이름이 정확히 일치하고 바로 뒤에 '='가 오는 경우만 찾는 쿠키다 (ex. "xrefreshToken"은 제외)
+            int valueStart = position + name.length() + 1;
+            if(valueStart <= end
+                    && cookieHeader.startsWith(name, position)
+                    && cookieHeader.charAt(position + name.length()) == '=') {
+                int valueEnd = end;
+                while(valueEnd > valueStart && cookieHeader.charAt(valueEnd - 1) == ' ') {
+                    valueEnd--;
+                }
+                // 큰따옴표로 감싼 값("value")이라면 따옴표를 제거한다
+                if(valueEnd - valueStart >= 2 && cookieHeader.charAt(valueStart) == '"' && cookieHeader.charAt(valueEnd - 1) == '"') {
+                    valueStart++;
+                    valueEnd--;
+                }
+                return valueStart == valueEnd ? null : cookieHeader.substring(valueStart, valueEnd);
+            }
+            position = end + 1;
+        }
+        return null;
+    }
+}
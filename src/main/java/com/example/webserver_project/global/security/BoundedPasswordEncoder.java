@@ -0,0 +1,147 @@
+package com.example.webserver_project.global.security;
+
+// 비밀번호 해싱(BCrypt)을 요청 스레드가 아닌 전용 스레드 풀에서 실행시키는 PasswordEncoder
+// BCrypt는 일부러 느리게(CPU를 많이 쓰도록) 설계된 해시이므로, 로그인 요청이 몰리면 다른 API까지 CPU/스레드를 빼앗긴다.
+// 따라서, 크기가 정해진 전용 풀(AppConfig.passwordHashExecutor)에서만 해싱을 수행하고,
+// 풀의 대기 큐까지 가득 찬 경우에는 기다리지 않고 바로 503(PASSWORD_HASH_BUSY)으로 거절한다.
+    // ㄴ> AuthenticationManager(DaoAuthenticationProvider)의 matches()와 UserService.join의 encode() 모두 해당 클래스를 거친다.
+// 대기 시간 제한(wait-timeout-ms)은 큐에서 기다리는 동안에만 적용한다.
+    // ㄴ> BCrypt는 인터럽트를 확인하지 않으므로, 이미 시작된 해싱은 cancel(true)로도 멈추지 않는다.
+    // ㄴ> 실행 중인 해싱을 포기하고 503을 주면 아무도 쓰지 않을 결과를 계산하느라 풀이 계속 가득 차 있게 되므로, 시작된 해싱은 끝까지 기다린다.
+    // ㄴ> 큐에서 포기한 작업은 풀 스레드가 꺼냈을 때 해싱하지 않고 바로 끝난다. (CPU를 쓰지 않음)
+    // ㄴ> 요청 스레드가 인터럽트되는 경우처럼 실행 중인 해싱을 버릴 수밖에 없을 때는 auth.password.hash.abandoned 지표로 남긴다.
+
+import com.example.webserver_project.domain.Auth.exception.AuthErrorCode;
+import com.example.webserver_project.global.exception.CustomException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class BoundedPasswordEncoder implements PasswordEncoder {
+    // 해싱 작업 상태 (큐 대기 -> 실행 / 큐 대기 -> 포기)
+    private static final int QUEUED = 0;
+    private static final int RUNNING = 1;
+    private static final int ABANDONED = 2;
+
+    private final PasswordEncoder delegate; // 실제 해싱을 수행하는 PasswordEncoder (BCrypt)
+    private final ExecutorService executor; // 해싱 전용 스레드 풀
+    private final long waitTimeoutMillis; // 요청 스레드가 해싱 시작을 기다리는 최대 시간 (큐 대기)
+
+    // 요청마다 Timer/Counter를 찾지 않도록 미리 등록해둔다.
+    private final Timer encodeTimer; // encode() 실행 시간
+    private final Timer matchesTimer; // matches() 실행 시간
+    private final Timer queueWaitTimer; // 큐에서 대기한 시간
+    private final Counter rejectedCounter; // 큐가 가득 찼거나 큐에서 wait-timeout 동안 시작하지 못해서 거절된 횟수
+    private final Counter abandonedCounter; // 이미 시작된 해싱의 결과를 버린 횟수 (해싱은 끝까지 실행되어 CPU를 쓴다)
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, ExecutorService executor, long waitTimeoutMillis, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.executor = executor;
+        this.waitTimeoutMillis = waitTimeoutMillis;
+        this.encodeTimer = Timer.builder("auth.password.hash").tag("operation", "encode").register(meterRegistry);
+        this.matchesTimer = Timer.builder("auth.password.hash").tag("operation", "matches").register(meterRegistry);
+        this.queueWaitTimer = Timer.builder("auth.password.hash.queue.wait").register(meterRegistry);
+        this.rejectedCounter = Counter.builder("auth.password.hash.rejected").register(meterRegistry);
+        this.abandonedCounter = Counter.builder("auth.password.hash.abandoned").register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return execute(() -> delegate.encode(rawPassword), encodeTimer);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute(() -> delegate.matches(rawPassword, encodedPassword), matchesTimer);
+    }
+
+    // 실제 해싱을 수행하는 PasswordEncoder - 로그인 풀이 아닌 다른 전용 풀에서 직접 해싱할 때 사용한다. (UserImportService)
+    public PasswordEncoder getDelegate() {
+        return delegate;
+    }
+
+    // 해시 재인코딩 필요 여부는 문자열 비교만 하므로 요청 스레드에서 바로 수행한다.
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+
+    // 해싱 작업을 전용 풀에 제출하고 결과를 기다리는 함수
+    private <T> T execute(Callable<T> task, Timer timer) {
+        long submittedAt = System.nanoTime();
+        AtomicInteger state = new AtomicInteger(QUEUED);
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                if(!state.compareAndSet(QUEUED, RUNNING)) {
+                    return null; // 기다리던 요청이 이미 포기했으므로 해싱하지 않는다
+                }
+                queueWaitTimer.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                return timer.recordCallable(task);
+            });
+        } catch (RejectedExecutionException e) {
+            // 스레드와 대기 큐가 모두 가득 찬 경우 -> 기다리지 않고 바로 거절
+            rejectedCounter.increment();
+            throw new CustomException(AuthErrorCode.PASSWORD_HASH_BUSY);
+        }
+
+        try {
+            return future.get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // 아직 큐에 있다면 포기한다 (풀 스레드가 꺼내도 해싱하지 않음)
+            if(state.compareAndSet(QUEUED, ABANDONED)) {
+                future.cancel(false);
+                rejectedCounter.increment();
+                throw new CustomException(AuthErrorCode.PASSWORD_HASH_BUSY);
+            }
+            // 이미 해싱 중이라면 결과를 버려도 CPU는 그대로 쓰이므로 끝날 때까지 기다린다 (해싱 한 번의 시간 이내)
+            return awaitRunning(future);
+        } catch (InterruptedException e) {
+            abandon(state, future);
+            Thread.currentThread().interrupt();
+            throw new CustomException(AuthErrorCode.PASSWORD_HASH_BUSY);
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    private <T> T awaitRunning(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            abandonedCounter.increment();
+            Thread.currentThread().interrupt();
+            throw new CustomException(AuthErrorCode.PASSWORD_HASH_BUSY);
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    // 요청 스레드가 더 기다릴 수 없는 경우 : 큐에 있다면 취소하고, 이미 실행 중이라면 결과를 버린 것으로 기록한다
+    private void abandon(AtomicInteger state, Future<?> future) {
+        if(state.compareAndSet(QUEUED, ABANDONED)) {
+            future.cancel(false);
+        } else {
+            abandonedCounter.increment();
+        }
+    }
+
+    // 해싱 중 발생한 예외는 원래 예외 그대로 던진다 (ex. IllegalArgumentException)
+    private static RuntimeException unwrap(ExecutionException e) {
+        if(e.getCause() instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        return new IllegalStateException(e.getCause());
+    }
+}
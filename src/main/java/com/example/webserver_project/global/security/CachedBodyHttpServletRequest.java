@@ -0,0 +1,91 @@
+package com.example.webserver_project.global.security;
+
+// 요청 본문을 미리 읽어둔 byte[]로 다시 제공하는 요청 래퍼
+// LoginRateLimitFilter가 본문에서 이메일을 꺼낸 뒤에도, 컨트롤러(@RequestBody)가 같은 본문을 다시 읽을 수 있도록 한다.
+    // ㄴ> ContentCachingRequestWrapper는 본문이 한 번 소비된 뒤에야 내용을 보관하므로, 필터에서 먼저 읽어야 하는 경우에는 사용할 수 없다.
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+class CachedBodyHttpServletRequest extends HttpServletRequestWrapper {
+    private final byte[] body;
+
+    CachedBodyHttpServletRequest(HttpServletRequest request, byte[] body) {
+        super(request);
+        this.body = body;
+    }
+
+    byte[] getBody() {
+        return body;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() {
+        ByteArrayInputStream in = new ByteArrayInputStream(body);
+        return new ServletInputStream() {
+            @Override
+            public int read() {
+                return in.read();
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) {
+                return in.read(b, off, len);
+            }
+
+            @Override
+            public boolean isFinished() {
+                return in.available() == 0;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            // 본문은 이미 메모리에 다 들어와 있으므로, 비동기 읽기 리스너에게 바로 읽을 수 있다고 알려준다.
+            // ㄴ> isReady()가 항상 true이므로 리스너는 onDataAvailable() 안에서 끝까지 읽을 수 있다.
+            @Override
+            public void setReadListener(ReadListener readListener) {
+                Objects.requireNonNull(readListener, "readListener");
+                try {
+                    if(!isFinished()) {
+                        readListener.onDataAvailable();
+                    }
+                    if(isFinished()) {
+                        readListener.onAllDataRead();
+                    }
+                } catch (IOException e) {
+                    readListener.onError(e);
+                }
+            }
+        };
+    }
+
+    @Override
+    public BufferedReader getReader() {
+        String encoding = getCharacterEncoding();
+        Charset charset = encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding);
+        return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+    }
+
+    @Override
+    public int getContentLength() {
+        return body.length;
+    }
+
+    @Override
+    public long getContentLengthLong() {
+        return body.length;
+    }
+}
@@ -1,15 +1,13 @@
 package com.example.webserver_project.global.security;
 
+import com.example.webserver_project.global.jwt.VerifiedToken;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.List;
 
 // UserDetails : 인증된 사용자의 아이디, 비밀번호, 권한 등을 포함하는 인터페이스
 // 인증된 사용자의 정보를 SecurityContext에 보관할 때 사용된다.
@@ -21,16 +19,27 @@ import java.util.List;
 public class CustomUserDetails implements UserDetails {
     private final JwtUserInfoDto user; // JWT 인증 유저 정보를 담고 있는 DTO
 
-    // getAuthorities() : DB의 Role(USER, ADMIN)을 꺼내서 "ROLE_" 접두사를 붙이고 Spring Security 전용 권한 객체(SimpleGrantedAuthority)로 변환하는 함수
-    // 최종적으로 권한 목록을 반환한다.
+    // 서명 검증이 끝난 access token의 클레임으로 CustomUserDetails를 만드는 함수 (DB 조회 없음)
+    // 토큰에는 비밀번호가 없으므로 password는 null이다. (이미 인증된 요청이므로 비밀번호가 필요없음)
+    public static CustomUserDetails from(VerifiedToken verifiedToken) {
+        JwtUserInfoDto dto = JwtUserInfoDto.builder()
+                .userId(verifiedToken.getUserId())
+                .email(verifiedToken.getEmail())
+                .name(verifiedToken.getName())
+                .role(verifiedToken.getRole())
+                .build();
+        return CustomUserDetails.builder()
+                .user(dto)
+                .build();
+    }
+
+    // getAuthorities() : 사용자의 Role(USER, ADMIN)에 해당하는 Spring Security 전용 권한 객체(SimpleGrantedAuthority) 목록을 반환하는 함수
+    // Spring Security는 인가 과정에서 해당 함수를 여러 번 호출하므로, 매번 목록을 만들지 않고 RoleType에 미리 만들어둔 불변 목록을 반환한다.
+        // ㄴ> "ROLE_" 접두사가 붙은 권한 객체 (ex. ROLE_USER)
+        // ㄴ> 상위 권한이 하위 권한을 포함하는 계층은 PrecomputedRoleHierarchy가 처리한다. (ADMIN -> MANAGER -> USER)
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities(){
-        List<String> roles = new ArrayList<>(); // 권한 목록을 담을 배열
-        roles.add("ROLE_" + user.getRole().toString()); // 해당 사용자가 갖고 있는 권한에 "ROLE_" 접두사 붙여서 넣기
-
-        return roles.stream()
-                .map(SimpleGrantedAuthority::new) // String을 SimpleGrantedAuthority 객체(Spring Security 전용 권한 객체)로 매핑한다.
-                .toList();
+        return user.getRole().getAuthorities();
     }
 
 
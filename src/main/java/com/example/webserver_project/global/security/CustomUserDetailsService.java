@@ -3,20 +3,25 @@ package com.example.webserver_project.global.security;
 
 import com.example.webserver_project.domain.user.Entity.User;
 import com.example.webserver_project.domain.user.Repository.UserRepository;
+import com.example.webserver_project.global.datasource.DataSourceRouting;
+import com.example.webserver_project.global.datasource.ReadYourWritesTracker;
 import lombok.Builder;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
+import java.util.function.Supplier;
 
 @RequiredArgsConstructor
 @Service
 @Builder
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
     private final UserRepository userRepository;
+    private final ReadYourWritesTracker readYourWritesTracker;
 
     // username 파라미터를 "email"로 사용한다 (로그인할 때는 이메일로 로그인한다.)
     // AuthenticationProvider가 해당 메서드를 호출해 DB 사용자를 로딩함 => UserDetails 반환
@@ -25,9 +30,43 @@ public class CustomUserDetailsService implements UserDetailsService {
         // 현재 로직에서는 username을 email로 가정
         String email = username;
 
-        // DB에서 email로 사용자 정보 가져옴
-        User user = userRepository.findByEmail(email);
+        // DB에서 email로 사용자 정보 가져옴 (replica에서 읽되, 방금 가입/탈퇴한 사용자라면 primary에서 읽는다)
+        User user = read(readYourWritesTracker.isRecentlyWritten(email), () -> userRepository.findByEmail(email));
+        if(user == null) {
+            throw new UsernameNotFoundException("존재하지 않는 사용자입니다.");
+        }
+        return toUserDetails(user);
+    }
+
+    // 로그인 성공 시, 저장된 해시가 현재 해시 정책(PasswordHashPolicy)과 다르면 DaoAuthenticationProvider가 호출하는 함수
+    // 방금 입력된 비밀번호를 현재 정책으로 다시 해싱한 값(newPassword)으로 DB의 비밀번호를 교체한다.
+    // ㄴ> 비밀번호 일괄 초기화 없이, 사용자가 로그인할 때마다 점진적으로 새 정책의 해시로 바뀐다.
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = DataSourceRouting.onPrimary(() -> userRepository.findByEmail(userDetails.getUsername())); // 수정할 엔티티는 primary에서 읽는다
+        if(user == null) {
+            return userDetails;
+        }
+        user.updatePassword(newPassword);
+        userRepository.save(user); // 변경 사항 저장 (UserDetailsCacheInvalidator가 캐시도 비워준다)
+        return toUserDetails(user);
+    }
+
+    // userId(access token의 sub)로 사용자를 조회해서 UserDetails를 반환하는 함수
+    // JwtAuthFilter의 DB 모드(auth.principal-source=DB)와 토큰 재발급에서 사용한다.
+    // 사용자가 없다면(탈퇴 등) null을 반환한다.
+    public CustomUserDetails loadUserById(Long userId) {
+        return read(readYourWritesTracker.isRecentlyWritten(userId), () -> userRepository.findById(userId))
+                .map(this::toUserDetails)
+                .orElse(null);
+    }
+
+    // 인증 경로의 사용자 조회는 replica로 보낸다. (replica를 설정하지 않았다면 그대로 하나의 DB를 사용)
+    private static <T> T read(boolean recentlyWritten, Supplier<T> query) {
+        return recentlyWritten ? DataSourceRouting.onPrimary(query) : DataSourceRouting.onReplica(query);
+    }
 
+    private CustomUserDetails toUserDetails(User user) {
         // 이제 해당 사용자 정보를 CustomUserDetails 객체로 return해줄 것이다.
         // 이때, CustomUserDetails를 생성할 때 사용되는 DTO인 JwtUserInfoDto를 생성한다.
         JwtUserInfoDto dto = JwtUserInfoDto.builder()
@@ -1,6 +1,9 @@
 package com.example.webserver_project.global.security;
 
 import com.example.webserver_project.global.jwt.JwtProvider;
+import com.example.webserver_project.global.jwt.VerifiedToken;
+import com.example.webserver_project.global.metrics.AuthMetrics;
+import com.example.webserver_project.global.response.StaticJsonResponses;
 import com.example.webserver_project.infra.redis.RedisUtil;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -8,6 +11,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -21,10 +25,18 @@ import java.io.IOException;
 @RequiredArgsConstructor
 @Component
 public class JwtAuthFilter extends OncePerRequestFilter {
-    // 사용자 username(email)로 UserDetails 객체를 가져오기 위해 사용하는 UserDetailsService
-    private final CustomUserDetailsService customUserDetailsService;
+    // userId로 UserDetails 객체를 가져오기 위해 사용하는 캐시 (DB 모드)
+    private final UserDetailsCache userDetailsCache;
     private final JwtProvider jwtProvider; // jwt 인증 등의 작업을 하기 위한 jwtUtil 객체
     private final RedisUtil redisUtil;
+    private final BearerTokenResolver bearerTokenResolver; // Authorization 헤더에서 access token을 꺼내는 객체
+    private final AuthMetrics authMetrics; // 단계별(parse, blacklist, user_load) 소요 시간 지표
+    private final StaticJsonResponses staticJsonResponses; // 블랙리스트 토큰 거절 시 사용할 401 응답
+
+    // principal을 어디서 만들지 지정 (CLAIMS : 토큰 클레임, DB : 요청마다 DB 조회)
+    // CLAIMS 모드에서 탈퇴한 사용자의 토큰은 아래 사용자 단위 블랙리스트 확인으로만 거절된다. (PrincipalSource 참고)
+    @Value("${auth.principal-source:CLAIMS}")
+    private PrincipalSource principalSource;
 
     // JWT 검증 필터 수행
     // JwtAuthFilter 자체적으로 사용자를 검증한다
@@ -32,58 +44,91 @@ public class JwtAuthFilter extends OncePerRequestFilter {
     protected void doFilterInternal(final HttpServletRequest request,
                                     final HttpServletResponse response,
                                     final FilterChain filterChain) throws ServletException, IOException{
-        // 1. HTTP 요청 헤더에서 Authorization 헤더 값을 추출한다
-        // Authorization에는 인증된 사용자의 정보가 담겨있다.
-            // tokenType : 토큰 타입 지정 - 클라이언트가 인증 헤더를 보낼 때 어떤 scheme를 쓸지 알려주는 값
-                // ㄴ> 보통 "Bearer" 사용
-            // accessToken : Header.Payload.Signature 구조의 JWT 토큰
-            // expiresIn : 토큰 만료 시간까지 남은 시간
-            // user : 사용자 정보
-        String authorizationHeader = request.getHeader("Authorization");
-
-        // 2. JWT 존재 여부 확인 :
-        // Authorization 헤더가 존재하고 "Bearer"로 시작하는지 확인
-        if(authorizationHeader != null && authorizationHeader.startsWith("Bearer ")){
-            String token = authorizationHeader.substring(7);
-                // ㄴ> 클라이언트가 요청할 때, Authorization 헤더는 아래처럼 온다
-                //      "Authorization: Bearer eyJhbGci..."
-                // "Bearer " 부분은 인증 스키마이기 때문에, 해당 부분을 자르고 순수한 JWT 문자열을 구하기 위해 substring을 하는 것
+        // 1. HTTP 요청 헤더(Authorization)에서 access token을 추출한다
+        // Authorization 헤더는 "Authorization: Bearer eyJhbGci..." 형식으로 온다.
+        // "Bearer " 부분은 인증 스키마이기 때문에, BearerTokenResolver가 해당 부분을 자르고 순수한 JWT 문자열만 반환한다.
+            // ㄴ> 추출 결과는 request attribute에 저장되므로, 같은 요청에서 AuthService.logout이 다시 호출해도 헤더를 다시 파싱하지 않는다.
+        String token = bearerTokenResolver.resolveAccessToken(request);
 
+        // 2. JWT 존재 여부 확인 : Bearer 토큰이 없다면 인증 정보 없이 다음 필터로 넘긴다
+        if(token != null){
             // 3. JWT 유효성 검증
-            if(jwtProvider.validateToken(token)){  // access token에서 Jws<Claims> 객체로부터 Claims를 가져옴으로써 유효성을 검증하는 함수
-                // 4. JWT 토큰의 유효성이 검증되었다면, 해당 JWT access 토큰의 jti(jwt id)가 Redis의 블랙리스트에 있는지 확인한다.
-                // jwtProvider를 이용하여 해당 토큰의 jti를 얻어온 뒤, 해당 jti로 redis에 있는 블랙리스트로 등록되어있는지 여부를 확인한다.
-                String jtiKey = RedisUtil.BLACKLIST_TOKEN_PREFIX + jwtProvider.getTokenId(token);
-                if(redisUtil.isBlacklisted(jtiKey)){
-                response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Access Token is blacklisted");
-                        // 해당 토큰이 블랙리스트인 경우, response로 Error를 전송한다.
-                    return;
-                }
-
-                // access token이 정상적인 토큰이라면, 해당 토큰의 Claims 객체에서 사용자 아이디를 가져온다
-                Long userId = jwtProvider.getUserId(token);
+            // 서명 검증과 클레임 파싱은 verify()에서 한 번만 수행하고, 이후 단계에서는 결과(VerifiedToken)를 재사용한다.
+            long phaseStart = System.nanoTime();
+            VerifiedToken verifiedToken;
+            try {
+                verifiedToken = jwtProvider.verify(token); // 유효하지 않은 토큰이라면 JwtException이 발생한다.
+                authMetrics.getParseTimer().success(phaseStart);
+            } catch (RuntimeException e) {
+                authMetrics.getParseTimer().failure(phaseStart);
+                throw e;
+            }
 
-                // 사용자와 토큰이 일치할 시, email로 userDetails 객체 생성
-                UserDetails userDetails = customUserDetailsService.loadUserByUsername(String.valueOf(userId));
+            // 4. JWT 토큰의 유효성이 검증되었다면, 해당 JWT access 토큰의 jti(jwt id)가 Redis의 블랙리스트에 있는지 확인한다.
+            // 검증된 토큰의 jti로 redis에 있는 블랙리스트로 등록되어있는지 여부를 확인한다.
+            // 탈퇴한 사용자의 토큰은 jti 대신 사용자 단위 블랙리스트(BLACKLIST_USER_PREFIX + userId)로 막는다. (UserTokenCleanupPipeline)
+                // ㄴ> 두 key 모두 블룸 필터를 먼저 확인하므로, 대부분의 요청은 Redis를 조회하지 않는다.
+            String jtiKey = RedisUtil.BLACKLIST_TOKEN_PREFIX + verifiedToken.getTokenId();
+            String userKey = RedisUtil.BLACKLIST_USER_PREFIX + verifiedToken.getUserId();
+            phaseStart = System.nanoTime();
+            boolean blacklisted;
+            try {
+                blacklisted = redisUtil.isBlacklisted(jtiKey) || redisUtil.isBlacklisted(userKey);
+                authMetrics.getBlacklistTimer().success(phaseStart);
+            } catch (RuntimeException e) {
+                authMetrics.getBlacklistTimer().failure(phaseStart);
+                throw e;
+            }
+            if(blacklisted){
+                authMetrics.getBlacklistedCounter().increment();
+                jwtProvider.invalidate(verifiedToken.getTokenId()); // 다른 서버에서 로그아웃된 토큰일 수 있으므로, 이 서버의 검증 캐시에서도 제거한다
+                staticJsonResponses.getUnauthorized().write(response);
+                    // 해당 토큰이 블랙리스트인 경우, 미리 직렬화해둔 401 응답을 바로 쓴다. (sendError()처럼 /error로 다시 디스패치하지 않음)
+                return;
+            }
 
-                // 성공적으로 userDetails를 만들었다면, 접근 권한 인증용 Token을 생성한다.
-                // UsernamePasswordAuthenticationToken은 Authentication 구현체이다.
-                // 생성된 Authentication 객체를 SecurityContextManger를 사용하여 SecurityContext에 인증 정보를 저장하는 것이다.
-                if(userDetails != null){
-                    // UserDetails, Password, Role을 이용하여 "접근 권한 인증 Token (Authentication 객체)" 생성
-                    UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                        // ㄴ> 인자 1 : Object principal => 로그인한 사용자 객체(보통 UserDetails 타입)
-                                                     // => SecurityContextHolder.getContext().getAuthentication().getPrincipal() 로 꺼낼 수 있음
-                        // ㄴ> 인자 2 : credentials => 사용자가 제출한 자격 증명 (보통 password)
-                                                // => 로그인 시도 단계에서는 실제 비밀번호가 들어간다. 하지만, 현재 JWT는 이미 인증된 상태라서 비번을 들 필요가 없으므로 null처리
-                        // ㄴ> 인자 3 : authorities => 사용자가 가진 권한(role) 목록
-                                                // => userDetails.getAuthorities()로 권한 목록 가져옴
+            // access token이 정상적인 토큰이라면, 검증된 토큰에서 사용자 아이디를 가져온다
+            Long userId = verifiedToken.getUserId();
 
-                    // 현재 Request의 Security Context에 접근 권한 설정함
-                    SecurityContextHolder.getContext()
-                            .setAuthentication(authenticationToken);
+            // 5. principal(UserDetails) 생성
+            // CLAIMS 모드 : 검증된 토큰의 클레임(role, email, name)으로 바로 만든다 -> 요청마다 DB를 조회하지 않는다
+            // DB 모드 : userId로 사용자 정보 캐시(UserDetailsCache)를 조회하고, 없으면 DB에서 읽어온다 (프로필 클레임이 없는 이전 토큰도 DB 모드로 처리)
+            phaseStart = System.nanoTime();
+            UserDetails userDetails;
+            try {
+                if(principalSource == PrincipalSource.CLAIMS && verifiedToken.hasProfileClaims()){
+                    userDetails = CustomUserDetails.from(verifiedToken);
+                } else {
+                    userDetails = userDetailsCache.get(userId);
                 }
+                authMetrics.getUserLoadTimer().success(phaseStart);
+            } catch (RuntimeException e) {
+                authMetrics.getUserLoadTimer().failure(phaseStart);
+                throw e;
+            }
+
+            // 성공적으로 userDetails를 만들었다면, 접근 권한 인증용 Token을 생성한다.
+            // UsernamePasswordAuthenticationToken은 Authentication 구현체이다.
+            // 생성된 Authentication 객체를 SecurityContextManger를 사용하여 SecurityContext에 인증 정보를 저장하는 것이다.
+            if(userDetails != null){
+                // UserDetails, Password, Role을 이용하여 "접근 권한 인증 Token (Authentication 객체)" 생성
+                UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                    // ㄴ> 인자 1 : Object principal => 로그인한 사용자 객체(보통 UserDetails 타입)
+                                                 // => SecurityContextHolder.getContext().getAuthentication().getPrincipal() 로 꺼낼 수 있음
+                    // ㄴ> 인자 2 : credentials => 사용자가 제출한 자격 증명 (보통 password)
+                                            // => 로그인 시도 단계에서는 실제 비밀번호가 들어간다. 하지만, 현재 JWT는 이미 인증된 상태라서 비번을 들 필요가 없으므로 null처리
+                    // ㄴ> 인자 3 : authorities => 사용자가 가진 권한(role) 목록
+                                            // => userDetails.getAuthorities()로 권한 목록 가져옴
+
+                // 현재 Request의 Security Context에 접근 권한 설정함
+                SecurityContextHolder.getContext()
+                        .setAuthentication(authenticationToken);
+                authMetrics.getAuthenticatedCounter().increment();
+            } else {
+                authMetrics.getUserNotFoundCounter().increment();
             }
+        } else {
+            authMetrics.getAnonymousCounter().increment();
         }
 
         // filterChain의 doFilter() 함수로 다음 필터로 request와 response를 넘긴다
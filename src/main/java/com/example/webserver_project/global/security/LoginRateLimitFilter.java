@@ -0,0 +1,188 @@
+package com.example.webserver_project.global.security;
+
+// 로그인(POST /auth/login) 시도 횟수를 클라이언트 IP별, 이메일별로 제한하는 필터
+// 로그인은 사용자 조회(DB)와 BCrypt 비교(수백 ms의 CPU)를 수행하므로, 무차별 대입/크리덴셜 스터핑 요청을 그대로 받으면
+// 해싱 풀이 가득 차서 정상 사용자의 로그인까지 거절된다. 따라서 JwtAuthFilter보다 앞에서, 암호/DB 작업 전에 거절한다.
+    // ㄴ> 1) IP 제한 : 본문을 읽기 전에 확인한다 (한 IP에서 여러 계정을 대입하는 경우)
+    // ㄴ> 2) 이메일 제한 : 본문에서 email만 꺼내서 확인한다 (여러 IP에서 한 계정을 대입하는 경우)
+    // ㄴ> 3) (선택) Redis sliding window : 서버 로컬 버킷은 서버 수만큼 한도가 늘어나므로, 클러스터 전체 기준의 한도를 추가로 확인한다.
+// 클라이언트 IP는 request.getRemoteAddr()를 사용한다. 프록시 뒤에서는 server.forward-headers-strategy로 실제 IP가 들어오도록 설정해야 한다.
+    // ㄴ> X-Forwarded-For를 직접 읽으면 클라이언트가 헤더를 바꿔가며 제한을 우회할 수 있다.
+
+import com.example.webserver_project.global.metrics.AuthMetrics;
+import com.example.webserver_project.global.response.StaticJsonResponses;
+import com.example.webserver_project.infra.redis.RedisUtil;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+public class LoginRateLimitFilter extends OncePerRequestFilter {
+    public static final String LOGIN_PATH = "/auth/login";
+    private static final String EMAIL_FIELD = "email"; // LoginRequestDto.email
+
+    private final boolean enabled;
+    private final TokenBucketRateLimiter ipLimiter;
+    private final TokenBucketRateLimiter emailLimiter;
+    private final int maxBodyBytes; // 로그인 본문 최대 크기 (이메일을 꺼내기 위해 본문 전체를 메모리에 올리므로 제한한다)
+
+    private final RedisUtil redisUtil;
+    private final boolean clusterEnabled;
+    private final long clusterWindowMillis;
+    private final long clusterIpLimit;
+    private final long clusterEmailLimit;
+
+    private final JsonFactory jsonFactory;
+    private final AuthMetrics authMetrics;
+    private final StaticJsonResponses staticJsonResponses;
+
+    public LoginRateLimitFilter(
+            RedisUtil redisUtil,
+            ObjectMapper objectMapper,
+            AuthMetrics authMetrics,
+            StaticJsonResponses staticJsonResponses,
+            @Value("${auth.rate-limit.enabled:true}") boolean enabled,
+            @Value("${auth.rate-limit.ip.capacity:20}") int ipCapacity,
+            @Value("${auth.rate-limit.ip.refill-per-minute:20}") int ipRefillPerMinute,
+            @Value("${auth.rate-limit.email.capacity:5}") int emailCapacity,
+            @Value("${auth.rate-limit.email.refill-per-minute:5}") int emailRefillPerMinute,
+            @Value("${auth.rate-limit.max-tracked-keys:100000}") long maxTrackedKeys,
+            @Value("${auth.rate-limit.max-body-bytes:4096}") int maxBodyBytes,
+            @Value("${auth.rate-limit.cluster.enabled:false}") boolean clusterEnabled,
+            @Value("${auth.rate-limit.cluster.window-ms:60000}") long clusterWindowMillis,
+            @Value("${auth.rate-limit.cluster.ip-limit:100}") long clusterIpLimit,
+            @Value("${auth.rate-limit.cluster.email-limit:10}") long clusterEmailLimit
+    ) {
+        this.enabled = enabled;
+        this.ipLimiter = new TokenBucketRateLimiter(ipCapacity, ipRefillPerMinute, maxTrackedKeys);
+        this.emailLimiter = new TokenBucketRateLimiter(emailCapacity, emailRefillPerMinute, maxTrackedKeys);
+        this.maxBodyBytes = maxBodyBytes;
+        this.redisUtil = redisUtil;
+        this.clusterEnabled = clusterEnabled;
+        this.clusterWindowMillis = clusterWindowMillis;
+        this.clusterIpLimit = clusterIpLimit;
+        this.clusterEmailLimit = clusterEmailLimit;
+        this.jsonFactory = objectMapper.getFactory();
+        this.authMetrics = authMetrics;
+        this.staticJsonResponses = staticJsonResponses;
+    }
+
+    // 로그인 요청이 아니라면 필터를 건너뛴다
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled
+                || !"POST".equals(request.getMethod())
+                || !LOGIN_PATH.equals(request.getServletPath());
+    }
+
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request,
+                                    final HttpServletResponse response,
+                                    final FilterChain filterChain) throws ServletException, IOException {
+        // 1. 클라이언트 IP 제한 - 본문을 읽기 전에 확인한다
+        String clientIp = request.getRemoteAddr();
+        long waitNanos = ipLimiter.tryAcquire(clientIp);
+        if(waitNanos > 0) {
+            authMetrics.getRateLimitIpRejectedCounter().increment();
+            reject(response, waitNanos);
+            return;
+        }
+
+        // 2. 본문을 읽어서 email을 꺼낸다 (컨트롤러가 다시 읽을 수 있도록 래퍼에 담아서 넘긴다)
+        byte[] body = request.getInputStream().readNBytes(maxBodyBytes + 1);
+        if(body.length > maxBodyBytes) {
+            staticJsonResponses.getPayloadTooLarge().write(response);
+            return;
+        }
+        String email = extractEmail(body);
+
+        // 3. 이메일 제한 - email이 없거나 JSON이 아니라면 컨트롤러의 @Valid에서 거절되므로 여기서는 확인하지 않는다
+        if(email != null) {
+            waitNanos = emailLimiter.tryAcquire(email);
+            if(waitNanos > 0) {
+                authMetrics.getRateLimitEmailRejectedCounter().increment();
+                reject(response, waitNanos);
+                return;
+            }
+        }
+
+        // 4. 클러스터 전체 한도 (Redis sliding window)
+        if(clusterEnabled && !acquireCluster(clientIp, email)) {
+            authMetrics.getRateLimitClusterRejectedCounter().increment();
+            reject(response, TimeUnit.MILLISECONDS.toNanos(clusterWindowMillis));
+            return;
+        }
+
+        authMetrics.getRateLimitAcceptedCounter().increment();
+        filterChain.doFilter(new CachedBodyHttpServletRequest(request, body), response);
+    }
+
+    // IP, 이메일 sliding window를 한 번의 Redis 왕복으로 확인한다
+    // Redis 장애 시에는 로그인 자체를 막지 않도록 허용한다. (서버 로컬 token bucket은 이미 통과한 상태)
+    private boolean acquireCluster(String clientIp, String email) {
+        String attemptId = Long.toHexString(ThreadLocalRandom.current().nextLong()); // 같은 ms에 들어온 시도도 ZSET에 따로 기록되도록 한다
+        try {
+            int exceeded = email == null
+                    ? redisUtil.acquireSlidingWindow(List.of(RedisUtil.LOGIN_LIMIT_PREFIX + "ip:" + clientIp),
+                            clusterWindowMillis, attemptId, clusterIpLimit)
+                    : redisUtil.acquireSlidingWindow(List.of(RedisUtil.LOGIN_LIMIT_PREFIX + "ip:" + clientIp, RedisUtil.LOGIN_LIMIT_PREFIX + "email:" + email),
+                            clusterWindowMillis, attemptId, clusterIpLimit, clusterEmailLimit);
+            return exceeded == 0;
+        } catch (RuntimeException e) {
+            log.warn("로그인 시도 제한(Redis) 확인 실패 - 로컬 제한만 적용합니다: {}", e.getMessage());
+            return true;
+        }
+    }
+
+    // 429 응답 + Retry-After(초) 헤더
+    private void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        staticJsonResponses.getTooManyRequests().write(response);
+    }
+
+    /*
+    * 로그인 본문(JSON)의 최상위 email 필드 값을 꺼내는 함수 (소문자로 정규화)
+     DTO로 역직렬화하지 않고 스트리밍 파서로 필드 하나만 읽는다.
+     같은 필드가 여러 번 오면 Jackson 역직렬화와 동일하게 마지막 값을 사용한다. (첫 값만 보면 {"email":"x","email":"victim"}으로 우회 가능)
+     @return : email 값 (JSON이 아니거나 email이 문자열이 아니면 null)
+     */
+    String extractEmail(byte[] body) {
+        try(JsonParser parser = jsonFactory.createParser(body)) {
+            if(parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            String email = null;
+            while(parser.nextToken() == JsonToken.FIELD_NAME) {
+                boolean isEmail = EMAIL_FIELD.equals(parser.currentName());
+                JsonToken value = parser.nextToken();
+                if(isEmail && value == JsonToken.VALUE_STRING) {
+                    email = parser.getText();
+                } else {
+                    if(isEmail) email = null;
+                    parser.skipChildren(); // 객체/배열 값은 통째로 건너뛴다
+                }
+            }
+            return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+        } catch (IOException e) {
+            return null; // 잘못된 JSON은 컨트롤러에서 400으로 처리된다
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.webserver_project.global.security;
+
+// 비밀번호 해시 정책 - 어떤 알고리즘과 강도(work factor)로 비밀번호를 해싱할지 결정하는 클래스
+// 1. 서버 시작 시, 현재 하드웨어에서 BCrypt 해시 한 번이 목표 시간(auth.password-hash.target-ms)에 가깝도록 strength를 보정(calibration)한다.
+//    ㄴ> auth.password-hash.bcrypt-strength를 지정하면 보정하지 않고 해당 값을 그대로 사용한다.
+// 2. DelegatingPasswordEncoder를 사용해서 해시 앞에 "{bcrypt}" 처럼 알고리즘 id를 붙인다. -> 나중에 알고리즘을 바꿔도 기존 해시를 그대로 검증할 수 있음
+//    ㄴ> id가 없는 기존 해시("$2a$10$...")도 BCrypt로 검증한다.
+// 3. 저장된 해시가 현재 정책(알고리즘 id, strength)과 다르면 upgradeEncoding()이 true를 반환하고,
+//    로그인 성공 시 DaoAuthenticationProvider가 CustomUserDetailsService.updatePassword()를 호출해서 새 해시로 교체한다. (rehash-on-login)
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Map;
+
+@Slf4j
+public final class PasswordHashPolicy {
+    public static final String BCRYPT_ID = "bcrypt"; // 해시 앞에 붙는 알고리즘 id
+
+    private static final int BASE_STRENGTH = 10; // 측정 기준 strength (BCryptPasswordEncoder 기본값)
+    private static final String SAMPLE_PASSWORD = "calibration-sample-password";
+
+    private PasswordHashPolicy() {
+    }
+
+    // 현재 정책으로 비밀번호를 해싱하는 PasswordEncoder를 만드는 함수
+    // @param configuredStrength : 0 이하라면 targetMillis에 맞춰 strength를 보정한다.
+    public static PasswordEncoder createEncoder(int configuredStrength, long targetMillis, int minStrength, int maxStrength) {
+        int strength = configuredStrength > 0 ? configuredStrength : calibrateBcryptStrength(targetMillis, minStrength, maxStrength);
+
+        Map<String, PasswordEncoder> encoders = Map.of(BCRYPT_ID, new BCryptPasswordEncoder(strength));
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(BCRYPT_ID, encoders);
+        encoder.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder()); // id가 없는 기존 해시는 BCrypt로 검증 (strength는 해시에 들어있음)
+        return encoder;
+    }
+
+    // BCrypt 해시 한 번의 시간이 targetMillis를 넘지 않는 가장 큰 strength를 구하는 함수
+    // BCrypt는 strength가 1 오를 때마다 계산량이 2배가 되므로, 기준 strength에서 한 번만 측정해서 계산한다.
+    static int calibrateBcryptStrength(long targetMillis, int minStrength, int maxStrength) {
+        BCryptPasswordEncoder base = new BCryptPasswordEncoder(BASE_STRENGTH);
+        base.encode(SAMPLE_PASSWORD); // JIT 워밍업
+
+        // 측정값이 튀지 않도록 3번 중 가장 빠른 값을 사용한다.
+        long best = Long.MAX_VALUE;
+        for(int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            base.encode(SAMPLE_PASSWORD);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        double baseMillis = Math.max(best / 1_000_000.0, 0.001);
+
+        int strength = BASE_STRENGTH + (int) Math.floor(Math.log(targetMillis / baseMillis) / Math.log(2));
+        strength = Math.max(minStrength, Math.min(maxStrength, strength));
+        log.info("BCrypt strength 보정 완료 - strength {} 기준 {}ms, 목표 {}ms -> strength {} (예상 {}ms)",
+                BASE_STRENGTH, String.format("%.1f", baseMillis), targetMillis, strength,
+                String.format("%.1f", baseMillis * Math.pow(2, strength - BASE_STRENGTH)));
+        return strength;
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.webserver_project.global.security;
+
+// RoleType에 미리 펼쳐둔 권한 계층(ADMIN -> MANAGER -> USER)을 그대로 사용하는 RoleHierarchy
+// @PreAuthorize("hasRole('USER')"), @Secured 등의 인가 검사 시 Spring Security가 사용자의 권한을 계층에 따라 확장할 때 호출된다.
+// RoleHierarchyImpl.fromHierarchy("ROLE_ADMIN > ROLE_MANAGER ...")처럼 계층 문자열을 해석하지 않고,
+// 권한이 하나인 일반적인 경우에는 RoleType에 만들어둔 불변 목록을 그대로 반환한다. (새 컬렉션을 만들지 않음)
+
+import com.example.webserver_project.global.jwt.RoleType;
+import org.springframework.security.access.hierarchicalroles.RoleHierarchy;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+public class PrecomputedRoleHierarchy implements RoleHierarchy {
+
+    @Override
+    public Collection<? extends GrantedAuthority> getReachableGrantedAuthorities(Collection<? extends GrantedAuthority> authorities) {
+        if(authorities == null || authorities.isEmpty()) {
+            return List.of();
+        }
+
+        // 권한이 하나라면 (CustomUserDetails는 항상 하나) 미리 만들어둔 목록을 반환한다
+        if(authorities.size() == 1) {
+            GrantedAuthority authority = authorities.iterator().next();
+            RoleType role = RoleType.fromAuthority(authority.getAuthority());
+            return role == null ? authorities : role.getReachableAuthorities();
+        }
+
+        Set<GrantedAuthority> reachable = new LinkedHashSet<>();
+        for(GrantedAuthority authority : authorities) {
+            RoleType role = RoleType.fromAuthority(authority.getAuthority());
+            if(role == null) {
+                reachable.add(authority); // RoleType이 아닌 권한은 그대로 둔다
+            } else {
+                reachable.addAll(role.getReachableAuthorities());
+            }
+        }
+        return reachable;
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.webserver_project.global.security;
+
+// JwtAuthFilter가 인증된 요청의 principal(CustomUserDetails)을 어디서 만들지 결정하는 값
+// auth.principal-source 설정으로 지정한다. (부하 테스트에서 두 방식을 비교하기 위함)
+// 탈퇴한 사용자의 access token을 거절하는 방식의 차이
+    // ㄴ> DB : 탈퇴한 사용자는 조회에 실패하므로 access token이 바로 거절된다. (요청마다 캐시/DB 조회)
+    // ㄴ> CLAIMS : DB를 보지 않으므로, 탈퇴한 사용자의 access token은 사용자 단위 블랙리스트(RedisUtil.BLACKLIST_USER_PREFIX)로만 거절된다.
+    //     블랙리스트는 UserService의 탈퇴/일괄 삭제가 커밋된 직후 등록된다. (UserTokenCleanupPipeline)
+    //     UserService를 거치지 않고 DB에서 직접 지운 사용자, 권한(role)/이름 변경은 access token이 만료될 때까지 반영되지 않는다.
+public enum PrincipalSource {
+    DB,     // userId로 사용자 정보를 조회해서 만든다 (UserDetailsCache -> 없으면 UserRepository)
+    CLAIMS  // 서명 검증이 끝난 access token의 클레임(role, email, name)으로 만든다 (DB 조회 없음)
+}
@@ -0,0 +1,75 @@
+package com.example.webserver_project.global.security;
+
+// key(클라이언트 IP, 이메일 등)별 token bucket으로 요청 빈도를 제한하는 서버 로컬 rate limiter
+// 버킷 상태를 "토큰 개수 + 마지막 충전 시각" 두 값 대신 "다음 토큰이 채워지는 이론상 시각(TAT)" 하나로 표현한다. (GCRA)
+    // ㄴ> 요청이 들어오면 TAT를 interval만큼 뒤로 민다. TAT가 현재 시각보다 capacity * interval 이상 앞서 있다면 버킷이 빈 것이다.
+    // ㄴ> 상태가 long 하나이므로 락 없이 AtomicLong CAS만으로 갱신할 수 있다.
+// key별 상태는 Caffeine 캐시에 보관하며, 일정 시간 요청이 없던 key는 버킷이 이미 가득 찼을 것이므로 그대로 제거한다.
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+public class TokenBucketRateLimiter {
+    private static final long EMPTY = Long.MIN_VALUE; // 한 번도 요청이 없던 버킷 (가득 찬 상태)
+
+    private final long intervalNanos; // 토큰 하나가 다시 채워지는 간격
+    private final long burstNanos; // capacity * interval : 현재 시각보다 TAT가 이만큼 앞서면 더 이상 허용하지 않는다
+    private final Cache<String, AtomicLong> buckets; // key -> TAT(nanoTime 기준)
+    private final LongSupplier clock;
+
+    /*
+     @param capacity : 버킷 크기 (연속으로 허용하는 최대 요청 수)
+     @param refillPerMinute : 분당 다시 채워지는 토큰 수
+     @param maxKeys : 상태를 보관할 최대 key 수 (넘으면 오래 사용되지 않은 key부터 제거)
+     */
+    public TokenBucketRateLimiter(int capacity, int refillPerMinute, long maxKeys) {
+        this(capacity, refillPerMinute, maxKeys, System::nanoTime);
+    }
+
+    TokenBucketRateLimiter(int capacity, int refillPerMinute, long maxKeys, LongSupplier clock) {
+        if(capacity <= 0 || refillPerMinute <= 0) {
+            throw new IllegalArgumentException("capacity와 refillPerMinute는 0보다 커야 합니다.");
+        }
+        this.intervalNanos = TimeUnit.MINUTES.toNanos(1) / refillPerMinute;
+        this.burstNanos = intervalNanos * capacity;
+        this.clock = clock;
+        // 버킷이 완전히 다시 차는 시간(burstNanos) 동안 요청이 없었다면 새 버킷과 같으므로 제거해도 결과가 달라지지 않는다.
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(Duration.ofNanos(burstNanos))
+                .build();
+    }
+
+
+    /*
+    * key의 버킷에서 토큰 하나를 꺼내는 함수
+     @return : 0이면 허용, 0보다 크면 거절이며 다음 토큰이 채워질 때까지 기다려야 하는 시간(나노초)
+     */
+    public long tryAcquire(String key) {
+        AtomicLong bucket = buckets.get(key, k -> new AtomicLong(EMPTY));
+        long now = clock.getAsLong();
+        while(true) {
+            long tat = bucket.get();
+            long base = (tat == EMPTY || tat - now < 0) ? now : tat; // nanoTime은 음수일 수 있으므로 뺄셈으로 비교한다
+            long newTat = base + intervalNanos;
+            long ahead = newTat - now;
+            if(ahead > burstNanos) {
+                return ahead - burstNanos; // 버킷이 비어있다 -> TAT는 그대로 둔다 (거절된 요청은 토큰을 소비하지 않음)
+            }
+            if(bucket.compareAndSet(tat, newTat)) {
+                return 0;
+            }
+            // 다른 스레드가 먼저 갱신했다면 새 TAT로 다시 계산한다
+        }
+    }
+
+    // 현재 상태를 보관 중인 key 수 (대략적인 값)
+    public long trackedKeys() {
+        return buckets.estimatedSize();
+    }
+}
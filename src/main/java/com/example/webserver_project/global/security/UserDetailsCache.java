@@ -0,0 +1,53 @@
+package com.example.webserver_project.global.security;
+
+// userId -> CustomUserDetails 로컬 캐시
+// DB 모드(auth.principal-source=DB)에서 요청마다 UserRepository를 조회하지 않도록, CustomUserDetailsService 앞에 둔다.
+    // ㄴ> maximumSize : 최대 엔트리 수
+    // ㄴ> expireAfterWrite(ttl) : 저장 후 ttl이 지나면 만료 (탈퇴/권한 변경이 늦게라도 반드시 반영되도록 하는 상한)
+    // ㄴ> refreshAfterWrite(refresh-after) : refresh-after가 지난 엔트리는 조회 시 백그라운드에서 미리 다시 읽어온다 (refresh-ahead)
+// 사용자 정보가 바뀌거나 삭제되면 UserDetailsCacheInvalidator가 해당 userId의 엔트리를 제거한다.
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+public class UserDetailsCache {
+    private final LoadingCache<Long, CustomUserDetails> cache;
+
+    public UserDetailsCache(
+            final CustomUserDetailsService customUserDetailsService,
+            final MeterRegistry meterRegistry,
+            @Value("${auth.user-cache.max-size:10000}") final long maxSize,
+            @Value("${auth.user-cache.ttl:10m}") final Duration ttl,
+            @Value("${auth.user-cache.refresh-after:1m}") final Duration refreshAfter
+    ) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .refreshAfterWrite(refreshAfter)
+                .recordStats() // 적중/실패/제거 통계 기록 (actuator metrics로 노출됨)
+                .build(customUserDetailsService::loadUserById);
+                    // ㄴ> 캐시에 없으면 DB에서 읽어온다. 사용자가 없으면 null이 반환되며, null은 캐시에 저장되지 않는다.
+
+        // cache.gets, cache.puts, cache.evictions 등의 지표를 "userDetails" 이름으로 등록한다.
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "userDetails");
+    }
+
+    // userId로 CustomUserDetails를 가져오는 함수 (사용자가 없다면 null)
+    public CustomUserDetails get(Long userId) {
+        return cache.get(userId);
+    }
+
+    // 해당 userId의 캐시 엔트리를 제거하는 함수 (사용자 정보 변경/삭제 시 호출)
+    public void invalidate(Long userId) {
+        if(userId != null) {
+            cache.invalidate(userId);
+        }
+    }
+}
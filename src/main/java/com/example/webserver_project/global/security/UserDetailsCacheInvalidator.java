@@ -0,0 +1,41 @@
+package com.example.webserver_project.global.security;
+
+// User 엔티티가 수정(updatePassword, updateName 등)되거나 삭제될 때 UserDetailsCache를 비워주는 JPA 엔티티 리스너
+// User 엔티티에 @EntityListeners로 등록되며, Spring Boot가 Hibernate에 Spring 빈으로 주입해준다.
+
+import com.example.webserver_project.domain.user.Entity.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Component
+@RequiredArgsConstructor
+public class UserDetailsCacheInvalidator {
+    // 엔티티 리스너는 EntityManagerFactory 생성 시점에 만들어지므로, 캐시(-> UserRepository -> EntityManagerFactory)는 사용할 때 꺼내온다 (순환 참조 방지)
+    private final ObjectProvider<UserDetailsCache> userDetailsCacheProvider;
+
+    @PostUpdate
+    @PostRemove
+    public void onUserChanged(User user) {
+        invalidate(user.getId());
+    }
+
+    // 해당 userId의 캐시를 바로 비우고, 트랜잭션 안이라면 커밋 이후에도 한 번 더 비운다.
+    // ㄴ> 커밋 전에 다른 요청이 아직 커밋되지 않은(이전) 사용자 정보를 다시 캐시에 올리는 경우를 막기 위함
+    public void invalidate(Long userId) {
+        UserDetailsCache userDetailsCache = userDetailsCacheProvider.getObject();
+        userDetailsCache.invalidate(userId);
+        if(TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    userDetailsCache.invalidate(userId);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.webserver_project.infra.elasticsearch;
+
+// Elasticsearch 기반 사용자 검색 색인
+// 색인 생성과 검색은 Spring Data Elasticsearch(ElasticsearchOperations)를 사용하고,
+// bulk는 색인과 삭제를 한 요청에 섞어야 하므로 Java API Client(ElasticsearchClient)의 bulk API를 직접 사용한다.
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.query_dsl.TextQueryType;
+import co.elastic.clients.elasticsearch.core.BulkRequest;
+import co.elastic.clients.elasticsearch.core.BulkResponse;
+import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
+import com.example.webserver_project.domain.user.Document.UserDocument;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.IndexOperations;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+@Component
+@RequiredArgsConstructor
+public class ElasticsearchUserSearchIndex implements UserSearchIndex {
+    private final ElasticsearchOperations elasticsearchOperations;
+    private final ElasticsearchClient elasticsearchClient;
+
+    @Override
+    public boolean ensureIndex() {
+        IndexOperations indexOperations = elasticsearchOperations.indexOps(UserDocument.class);
+        if(indexOperations.exists()) {
+            return false;
+        }
+        return indexOperations.createWithMapping(); // @Document, @Field 설정으로 색인과 매핑을 만든다
+    }
+
+    @Override
+    public void bulk(List<UserDocument> upserts, Collection<Long> deletedUserIds) {
+        if(upserts.isEmpty() && deletedUserIds.isEmpty()) {
+            return;
+        }
+        String indexName = elasticsearchOperations.getIndexCoordinatesFor(UserDocument.class).getIndexName();
+        BulkRequest.Builder request = new BulkRequest.Builder().index(indexName);
+        for(UserDocument document : upserts) {
+            request.operations(op -> op.index(index -> index.id(document.getId()).document(document)));
+        }
+        for(Long userId : deletedUserIds) {
+            request.operations(op -> op.delete(delete -> delete.id(String.valueOf(userId))));
+        }
+
+        BulkResponse response;
+        try {
+            response = elasticsearchClient.bulk(request.build());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        // bulk는 일부 문서가 실패해도 200으로 응답하므로, 항목별 결과를 확인한다
+        // ㄴ> 없는 문서의 삭제는 error 없이 result=not_found로 온다
+        if(response.errors()) {
+            List<BulkResponseItem> failed = response.items().stream().filter(item -> item.error() != null).toList();
+            throw new IllegalStateException("사용자 색인 bulk 실패 " + failed.size() + "건 (첫 실패 id=" + failed.get(0).id()
+                    + ", 사유=" + failed.get(0).error().reason() + ")");
+        }
+    }
+
+    @Override
+    public List<UserDocument> searchByPrefix(String prefix, int size) {
+        String emailPrefix = prefix.toLowerCase(Locale.ROOT);
+        NativeQuery query = NativeQuery.builder()
+                .withQuery(q -> q.bool(bool -> bool
+                        // 이름 : search_as_you_type 하위 필드에 대한 bool_prefix (마지막 단어만 접두어로 검색)
+                        .should(s -> s.multiMatch(m -> m
+                                .query(prefix)
+                                .type(TextQueryType.BoolPrefix)
+                                .fields("name", "name._2gram", "name._3gram")))
+                        // 이메일 : keyword 필드 prefix
+                        .should(s -> s.prefix(p -> p.field("email").value(emailPrefix)))
+                        .minimumShouldMatch("1")))
+                .withMaxResults(size)
+                .build();
+        return elasticsearchOperations.search(query, UserDocument.class).getSearchHits().stream()
+                .map(SearchHit::getContent)
+                .toList();
+    }
+}
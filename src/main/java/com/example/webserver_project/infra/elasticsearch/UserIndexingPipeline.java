@@ -0,0 +1,104 @@
+package com.example.webserver_project.infra.elasticsearch;
+
+// 커밋된 사용자 변경(UserChangedEvent)을 모아서 검색 색인에 bulk로 반영하는 파이프라인
+// 사용자마다 색인 요청을 한 번씩 보내면 요청 수만큼 Elasticsearch 왕복과 refresh 부담이 생기므로, 전용 스레드 하나가 변경을 모아서 보낸다.
+    // ㄴ> 크기 기준 : 배치가 batch-size만큼 모이면 바로 보낸다
+    // ㄴ> 시간 기준 : 첫 변경이 들어온 뒤 flush-interval-ms가 지나면 배치가 덜 찼어도 보낸다 (검색 결과에 반영되기까지의 최대 지연)
+    // ㄴ> 같은 배치 안에서 같은 사용자의 변경은 마지막 것만 보낸다 (가입 직후 탈퇴 -> 삭제 한 건)
+// 역압(backpressure) : Elasticsearch가 느리거나 장애라서 큐가 가득 차면 offer-timeout-ms 동안 기다린 뒤 변경을 버리고 지표(search.user_index.dropped)를 남긴다.
+    // ㄴ> 검색 색인은 MySQL의 사본이므로 회원가입/탈퇴 자체를 실패시키지 않는다.
+// 큐, 역압, 재시도, 시작/종료는 BatchingPipeline이 처리하고, 여기서는 bulk 요청만 만든다.
+// 색인을 새로 만들었다면 UserSearchIndexCreatedEvent를 발행한다. (이벤트로 들어오지 않은 기존 사용자는 UserReindexService가 채운다)
+
+import com.example.webserver_project.domain.user.Document.UserDocument;
+import com.example.webserver_project.domain.user.Event.UserChangedEvent;
+import com.example.webserver_project.global.pipeline.BatchingPipeline;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+@Component
+public class UserIndexingPipeline extends BatchingPipeline<UserChangedEvent> {
+    // search.user_index.bulk{outcome} / operations / dropped{reason=queue_full|bulk_failed} / queue
+    private static final Metrics METRICS = new Metrics("search.user_index", "bulk", "사용자 검색 색인 bulk 요청 소요 시간",
+            "operations", "bulk_failed", "검색 색인 대기 중인 사용자 변경 수");
+
+    private final UserSearchIndex userSearchIndex;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private volatile boolean indexReady; // ensureIndex() 성공 여부 (색인 없이 bulk를 보내면 동적 매핑으로 색인이 만들어지므로 먼저 확인한다)
+
+    public UserIndexingPipeline(
+            UserSearchIndex userSearchIndex,
+            ApplicationEventPublisher eventPublisher,
+            MeterRegistry meterRegistry,
+            @Value("${search.user-index.enabled:true}") boolean enabled,
+            @Value("${search.user-index.batch-size:500}") int batchSize,
+            @Value("${search.user-index.flush-interval-ms:1000}") long flushIntervalMillis,
+            @Value("${search.user-index.queue-capacity:10000}") int queueCapacity,
+            @Value("${search.user-index.offer-timeout-ms:50}") long offerTimeoutMillis,
+            @Value("${search.user-index.max-retries:3}") int maxRetries,
+            @Value("${search.user-index.retry-backoff-ms:200}") long retryBackoffMillis
+    ) {
+        super("사용자 검색 색인", "user-indexing-pipeline", meterRegistry, METRICS,
+                enabled, batchSize, flushIntervalMillis, queueCapacity, offerTimeoutMillis, maxRetries, retryBackoffMillis);
+        this.userSearchIndex = userSearchIndex;
+        this.eventPublisher = eventPublisher;
+    }
+
+    // 트랜잭션이 커밋된 뒤에만 큐에 넣는다 (트랜잭션 밖에서 발행된 이벤트는 바로 넣는다)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        enqueue(event);
+    }
+
+    // 같은 사용자의 변경은 마지막 것만 보낸다
+    @Override
+    protected Object keyOf(UserChangedEvent event) {
+        return event.userId();
+    }
+
+    @Override
+    protected void send(Collection<UserChangedEvent> events) {
+        List<UserDocument> upserts = new ArrayList<>(events.size());
+        List<Long> deletedUserIds = new ArrayList<>();
+        for(UserChangedEvent event : events) {
+            if(event.isDeleted()) {
+                deletedUserIds.add(event.userId());
+            } else {
+                upserts.add(UserDocument.from(event));
+            }
+        }
+
+        prepareIndex();
+        userSearchIndex.bulk(upserts, deletedUserIds);
+    }
+
+    /*
+    * 큐를 거치지 않고 호출한 스레드에서 바로 bulk로 보내는 함수 (UserReindexService - 기존 사용자 색인)
+     재시도하지 않고 예외를 그대로 던진다.
+     */
+    public void sendNow(Collection<UserChangedEvent> events) {
+        send(events);
+    }
+
+    // 색인이 없다면 만든다. 새로 만들었다면 기존 사용자를 채우도록 UserSearchIndexCreatedEvent를 발행한다.
+    // ㄴ> 파이프라인 스레드와 UserReindexService가 동시에 호출할 수 있으므로 한 번만 확인한다
+    public synchronized void prepareIndex() {
+        if(indexReady) {
+            return;
+        }
+        boolean created = userSearchIndex.ensureIndex();
+        indexReady = true;
+        if(created) {
+            eventPublisher.publishEvent(new UserSearchIndexCreatedEvent());
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.webserver_project.infra.elasticsearch;
+
+// 사용자 검색 색인 저장소 - UserIndexingPipeline과 UserSearchService는 해당 인터페이스만 사용한다.
+// 운영에서는 ElasticsearchUserSearchIndex, 테스트에서는 인메모리 구현을 사용한다.
+
+import com.example.webserver_project.domain.user.Document.UserDocument;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface UserSearchIndex {
+
+    // 색인이 없다면 매핑(UserDocument)과 함께 만든다
+    // @return : 이번 호출로 색인을 새로 만들었다면 true (기존 사용자를 채워 넣어야 함 - UserReindexService)
+    boolean ensureIndex();
+
+    /*
+    * 문서 색인/삭제를 한 번의 bulk 요청으로 반영하는 함수
+     한 건이라도 실패하면 예외를 던진다. (색인/삭제는 몇 번을 다시 보내도 결과가 같으므로 호출하는 쪽에서 통째로 재시도한다)
+     @param upserts : 색인(덮어쓰기)할 문서
+     @param deletedUserIds : 삭제할 사용자 id (없는 문서의 삭제는 실패로 보지 않는다)
+     */
+    void bulk(List<UserDocument> upserts, Collection<Long> deletedUserIds);
+
+    // 이름 또는 이메일이 prefix로 시작하는 사용자를 최대 size명 찾는다
+    List<UserDocument> searchByPrefix(String prefix, int size);
+}
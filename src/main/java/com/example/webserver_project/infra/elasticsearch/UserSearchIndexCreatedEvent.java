@@ -0,0 +1,6 @@
+package com.example.webserver_project.infra.elasticsearch;
+
+// 사용자 검색 색인을 새로 만들었다는 이벤트 - UserIndexingPipeline이 발행하고, UserReindexService가 기존 사용자를 색인한다.
+
+public record UserSearchIndexCreatedEvent() {
+}
@@ -0,0 +1,161 @@
+package com.example.webserver_project.infra.redis;
+
+// 블랙리스트에 등록된 access token key(BLACKLIST_TOKEN_PREFIX + jti)를 담아두는 서버 로컬 블룸 필터
+// 거의 모든 토큰은 블랙리스트에 없기 때문에, 요청마다 Redis에 EXISTS를 보내는 대신 해당 필터를 먼저 확인한다.
+    // ㄴ> mightContain()이 false : 블랙리스트에 절대 없음 -> Redis 조회 생략
+    // ㄴ> mightContain()이 true : 블랙리스트에 있을 수도 있음(오탐 가능) -> Redis로 한 번 더 확인
+// 블룸 필터는 원소를 지울 수 없으므로, 만료된 블랙리스트가 쌓이지 않도록 BlacklistFilterSynchronizer가 주기적으로 Redis keyspace로부터 다시 만든다.
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+public class BlacklistBloomFilter {
+    private final int numBits; // 비트 배열 크기
+    private final int numHashes; // 해시 함수 개수
+
+    private volatile Bits current; // 현재 조회에 사용하는 비트 배열
+    private volatile Bits next; // 재구성(rebuild) 중에만 존재하는 새 비트 배열 (재구성 중에 들어온 key도 함께 넣어준다)
+    private volatile boolean ready = false; // Redis로부터 처음 한 번 구성되기 전까지는 모든 조회를 Redis로 보낸다
+
+    // Redis 조회 생략 비율 확인용 카운터
+    private final LongAdder lookupCount = new LongAdder();
+    private final LongAdder skippedCount = new LongAdder();
+
+    public BlacklistBloomFilter(
+            @Value("${redis.blacklist-filter.expected-insertions:100000}") final int expectedInsertions,
+            @Value("${redis.blacklist-filter.false-positive-rate:0.01}") final double falsePositiveRate
+    ) {
+        // 블룸 필터 크기 공식 : m = -n * ln(p) / (ln2)^2, k = m/n * ln2
+        double ln2 = Math.log(2);
+        this.numBits = (int) Math.max(64, Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (ln2 * ln2)));
+        this.numHashes = (int) Math.max(1, Math.round((double) numBits / expectedInsertions * ln2));
+        this.current = new Bits(numBits);
+    }
+
+
+    // 블랙리스트에 등록된 key를 필터에 추가하는 함수
+    // 재구성 중인 배열(next)에 먼저 넣고, 그 다음에 current를 읽어서 넣는다.
+        // ㄴ> completeRebuild()는 current를 교체한 뒤에 next를 비우므로, next가 비어 있는 것을 봤다면 이후에 읽는 current는 이미 새 배열이다.
+        // ㄴ> current에 먼저 넣으면, 그 사이에 교체가 일어났을 때 key가 버려진 이전 배열에만 들어가서 블랙리스트 토큰이 Redis 확인 없이 통과한다.
+    public void put(String key) {
+        long hash = hash64(key);
+        Bits rebuilding = next;
+        if(rebuilding != null) {
+            rebuilding.set(hash, numHashes);
+        }
+        current.set(hash, numHashes);
+    }
+
+    // 해당 key가 블랙리스트에 있을 가능성이 있는지 확인하는 함수
+    // false라면 Redis를 조회하지 않아도 된다.
+    public boolean mightContain(String key) {
+        lookupCount.increment();
+        if(!ready) {
+            return true; // 아직 Redis로부터 구성되지 않았다면, 안전하게 Redis로 확인하도록 한다.
+        }
+        boolean result = current.get(hash64(key), numHashes);
+        if(!result) {
+            skippedCount.increment();
+        }
+        return result;
+    }
+
+
+    // 재구성 시작 : 이후 put()되는 key는 새 비트 배열에도 들어간다.
+    void beginRebuild() {
+        next = new Bits(numBits);
+    }
+
+    // 재구성 중인 비트 배열에 key를 넣는 함수 (Redis SCAN 결과)
+    void putRebuilding(String key) {
+        Bits rebuilding = next;
+        if(rebuilding != null) {
+            rebuilding.set(hash64(key), numHashes);
+        }
+    }
+
+    // 재구성 완료 : 새 비트 배열로 교체한다. (current 교체 -> next 제거 순서를 지켜야 한다 - put() 참고)
+    void completeRebuild() {
+        Bits rebuilt = next;
+        if(rebuilt != null) {
+            current = rebuilt;
+            next = null;
+            ready = true;
+        }
+    }
+
+    // 재구성 실패 (Redis 연결 오류 등) : 기존 비트 배열을 그대로 사용한다.
+    void abortRebuild() {
+        next = null;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public long getLookupCount() {
+        return lookupCount.sum();
+    }
+
+    // Redis 조회를 생략한 횟수
+    public long getSkippedCount() {
+        return skippedCount.sum();
+    }
+
+
+    // 64bit FNV-1a 해시. 상위/하위 32bit를 두 개의 해시로 사용해서 k개의 위치를 만든다 (double hashing)
+    private static long hash64(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for(int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        // FNV는 하위 비트 분산이 약하므로 murmur3 finalizer로 한 번 섞어준다.
+        hash ^= (hash >>> 33);
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= (hash >>> 33);
+        return hash;
+    }
+
+    // lock-free 비트 배열
+    private static final class Bits {
+        private final AtomicLongArray words;
+        private final int numBits;
+
+        Bits(int numBits) {
+            this.numBits = numBits;
+            this.words = new AtomicLongArray((numBits + 63) >>> 6);
+        }
+
+        void set(long hash, int numHashes) {
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for(int i = 1; i <= numHashes; i++) {
+                int index = ((h1 + i * h2) & Integer.MAX_VALUE) % numBits;
+                long mask = 1L << index;
+                int word = index >>> 6;
+                long old;
+                do {
+                    old = words.get(word);
+                    if((old & mask) != 0) break;
+                } while(!words.compareAndSet(word, old, old | mask));
+            }
+        }
+
+        boolean get(long hash, int numHashes) {
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for(int i = 1; i <= numHashes; i++) {
+                int index = ((h1 + i * h2) & Integer.MAX_VALUE) % numBits;
+                if((words.get(index >>> 6) & (1L << index)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
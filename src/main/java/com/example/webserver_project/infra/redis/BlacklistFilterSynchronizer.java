@@ -0,0 +1,53 @@
+package com.example.webserver_project.infra.redis;
+
+// BlacklistBloomFilter를 Redis의 블랙리스트 keyspace와 맞춰주는 클래스
+// 1. 서버 시작 시 : BLACKLIST_TOKEN_PREFIX로 시작하는 key를 SCAN해서 필터를 처음 구성한다.
+// 2. 실행 중 : 다른 서버의 블랙리스트 등록은 pub/sub(BLACKLIST_CHANNEL)으로 받아서 필터에 추가한다. (RedisConfig의 리스너)
+// 3. 주기적으로 : 블룸 필터는 원소를 지울 수 없으므로, 만료된 key가 빠지도록 필터를 다시 구성한다.
+                // pub/sub 메시지를 놓친 경우(연결 끊김 등)도 이때 복구된다.
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BlacklistFilterSynchronizer implements MessageListener {
+    private final RedisUtil redisUtil;
+    private final BlacklistBloomFilter blacklistBloomFilter;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @Scheduled(
+            initialDelayString = "${redis.blacklist-filter.rebuild-interval-ms:600000}",
+            fixedDelayString = "${redis.blacklist-filter.rebuild-interval-ms:600000}"
+    )
+    public void rebuild() {
+        blacklistBloomFilter.beginRebuild();
+        try {
+            redisUtil.scanKeys(RedisUtil.BLACKLIST_TOKEN_PREFIX + "*", blacklistBloomFilter::putRebuilding);
+            blacklistBloomFilter.completeRebuild();
+        } catch (RuntimeException e) {
+            // Redis에 연결할 수 없다면 기존 필터를 그대로 사용한다. (아직 구성 전이라면 모든 조회가 Redis로 간다)
+            blacklistBloomFilter.abortRebuild();
+            log.warn("블랙리스트 블룸 필터 재구성 실패", e);
+        }
+    }
+
+    // 다른 서버에서 블랙리스트에 등록한 key를 받아서 필터에 추가한다.
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        blacklistBloomFilter.put(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+}
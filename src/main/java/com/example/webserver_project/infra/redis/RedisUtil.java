@@ -1,50 +1,234 @@
 package com.example.webserver_project.infra.redis;
 
-import lombok.RequiredArgsConstructor;
+import com.example.webserver_project.global.metrics.OutcomeTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.types.Expiration;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 
 @Service
-@RequiredArgsConstructor
 
 // JWT에서 Redis 방식으로 RefreshToken을 저장해주는 작업을 담당하는 클래스
 public class RedisUtil {
-    public static final String REFRESH_TOKEN_PREFIX = "refresh token: ";
+    public static final String REFRESH_TOKEN_PREFIX = "refresh token: "; // 패밀리 도입 전의 refresh token (사용자당 하나, JWT 원문 저장)
+    public static final String REFRESH_FAMILY_PREFIX = "refresh family: "; // 사용자별 refresh token 패밀리 hash (field : 패밀리 id)
+    // rotateRefreshFamily 결과
+    public static final int REFRESH_ROTATED = 1;
+    public static final int REFRESH_REJECTED = 0;
+    public static final int REFRESH_REUSE_DETECTED = -1;
     public static final String BLACKLIST_TOKEN_PREFIX = "blacklist: ";
+    public static final String BLACKLIST_USER_PREFIX = BLACKLIST_TOKEN_PREFIX + "user: "; // 탈퇴한 사용자의 모든 access token (key : + userId)
+    public static final String BLACKLIST_CHANNEL = "blacklist-channel"; // 블랙리스트 등록을 다른 서버에 알리는 pub/sub 채널
+    public static final String LOGIN_LIMIT_PREFIX = "login limit: "; // 로그인 시도 sliding window (ZSET)
 
     private final StringRedisTemplate redis;
     // ㄴ> StringRedisTemplate : Spring Data Redis에서 제공하는 Redis 접근 도구 클래스
+    private final BlacklistBloomFilter blacklistBloomFilter; // 블랙리스트 조회 전에 먼저 확인하는 로컬 블룸 필터
+
+    // redis.command{operation, outcome} : 함수별 Redis 명령 소요 시간 (요청 경로에서 Timer를 찾지 않도록 미리 등록해둔다)
+    // 블룸 필터로 Redis 조회를 생략한 isBlacklisted 호출은 기록하지 않는다. (redis.blacklist.filter.* 지표로 확인)
+    private final OutcomeTimer getTimer;
+    private final OutcomeTimer existsTimer;
+    private final OutcomeTimer setTimer;
+    private final OutcomeTimer deleteTimer;
+    private final OutcomeTimer issueRefreshFamilyTimer;
+    private final OutcomeTimer rotateRefreshTokenTimer;
+    private final OutcomeTimer consumeLegacyRefreshTokenTimer;
+    private final OutcomeTimer blacklistAndRevokeTimer;
+    private final OutcomeTimer setBlacklistTimer;
+    private final OutcomeTimer blacklistUsersTimer;
+    private final OutcomeTimer unlinkRefreshTokensTimer;
+    private final OutcomeTimer isBlacklistedTimer;
+    private final OutcomeTimer scanTimer;
+    private final OutcomeTimer slidingWindowTimer;
+
+    public RedisUtil(StringRedisTemplate redis, BlacklistBloomFilter blacklistBloomFilter, MeterRegistry meterRegistry) {
+        this.redis = redis;
+        this.blacklistBloomFilter = blacklistBloomFilter;
+        this.getTimer = commandTimer(meterRegistry, "get");
+        this.existsTimer = commandTimer(meterRegistry, "exists");
+        this.setTimer = commandTimer(meterRegistry, "set");
+        this.deleteTimer = commandTimer(meterRegistry, "delete");
+        this.issueRefreshFamilyTimer = commandTimer(meterRegistry, "issue_refresh_family");
+        this.rotateRefreshTokenTimer = commandTimer(meterRegistry, "rotate_refresh_token");
+        this.consumeLegacyRefreshTokenTimer = commandTimer(meterRegistry, "consume_legacy_refresh_token");
+        this.blacklistAndRevokeTimer = commandTimer(meterRegistry, "blacklist_and_revoke");
+        this.setBlacklistTimer = commandTimer(meterRegistry, "set_blacklist");
+        this.blacklistUsersTimer = commandTimer(meterRegistry, "blacklist_users");
+        this.unlinkRefreshTokensTimer = commandTimer(meterRegistry, "unlink_refresh_tokens");
+        this.isBlacklistedTimer = commandTimer(meterRegistry, "is_blacklisted");
+        this.scanTimer = commandTimer(meterRegistry, "scan");
+        this.slidingWindowTimer = commandTimer(meterRegistry, "sliding_window");
+    }
+
+    private static OutcomeTimer commandTimer(MeterRegistry meterRegistry, String operation) {
+        return OutcomeTimer.register(meterRegistry, "redis.command", "RedisUtil 함수별 Redis 명령 소요 시간", "operation", operation);
+    }
+
+    // Lua 스크립트는 Redis 서버 안에서 원자적으로 실행된다. (스크립트 실행 중에는 다른 명령이 끼어들지 않음)
+    // DefaultRedisScript는 SHA1을 계산해두고 EVALSHA로 실행하므로, 스크립트 본문을 매번 전송하지 않는다.
+    // ㄴ> 하나의 스크립트가 여러 key를 다루므로, Redis Cluster에서는 key들이 같은 slot에 있어야 한다.
+
+    // refresh token 패밀리 : 사용자마다 hash 하나 (REFRESH_FAMILY_PREFIX + userId), 로그인(기기)마다 field 하나
+    // ㄴ> field : 패밀리 id (로그인할 때 만들어지고, refresh token의 fid 클레임에 들어간다)
+    // ㄴ> value : "세대:토큰 해시:만료 시각(ms):마지막 회전 시각(ms)" (JWT 원문 대신 해시만 저장하므로 field 하나가 60byte 정도이다)
+    // 회전할 때마다 세대가 1씩 올라가므로, 이전 세대의 토큰이 다시 들어오면 탈취된 토큰의 재사용으로 보고 패밀리 전체를 폐기한다.
+
+    // KEYS[1] : 패밀리 hash / ARGV[1] : 패밀리 id / ARGV[2] : 토큰 해시 / ARGV[3] : 만료 시각(ms) / ARGV[4] : 현재 시각(ms) / ARGV[5] : 최대 패밀리 수
+    // 만료된 패밀리를 정리하고, 최대 개수를 넘으면 가장 먼저 만료되는 패밀리를 지운 뒤 1세대로 등록한다.
+    private static final RedisScript<Long> ISSUE_REFRESH_FAMILY_SCRIPT = new DefaultRedisScript<>(
+            "local now = tonumber(ARGV[4]) " +
+            "local maxExp = tonumber(ARGV[3]) " +
+            "local count = 0 " +
+            "local oldestField, oldestExp " +
+            "local fields = redis.call('HGETALL', KEYS[1]) " +
+            "for i = 1, #fields, 2 do " +
+            "  local exp = tonumber(string.match(fields[i + 1], '^%d+:[^:]+:(%d+)')) " +
+            "  if exp == nil or exp <= now then " +
+            "    redis.call('HDEL', KEYS[1], fields[i]) " +
+            "  else " +
+            "    count = count + 1 " +
+            "    if oldestExp == nil or exp < oldestExp then oldestExp = exp; oldestField = fields[i] end " +
+            "    if exp > maxExp then maxExp = exp end " +
+            "  end " +
+            "end " +
+            "if count >= tonumber(ARGV[5]) and oldestField then redis.call('HDEL', KEYS[1], oldestField) end " +
+            "redis.call('HSET', KEYS[1], ARGV[1], '1:' .. ARGV[2] .. ':' .. ARGV[3] .. ':0') " +
+            "redis.call('PEXPIREAT', KEYS[1], maxExp) " +
+            "return 1",
+            Long.class);
+
+    // KEYS[1] : 패밀리 hash / ARGV[1] : 패밀리 id / ARGV[2] : 토큰의 세대 / ARGV[3] : 토큰 해시 / ARGV[4] : 새 토큰 해시
+    // ARGV[5] : 현재 시각(ms) / ARGV[6] : 동시 재발급 허용 시간(ms)
+    // return 1 : 회전 성공 / 0 : 거절 (패밀리 없음, 또는 방금 다른 요청이 같은 토큰으로 회전함) / -1 : 재사용 감지 -> 패밀리 폐기
+    private static final RedisScript<Long> ROTATE_REFRESH_FAMILY_SCRIPT = new DefaultRedisScript<>(
+            "local v = redis.call('HGET', KEYS[1], ARGV[1]) " +
+            "if not v then return 0 end " +
+            "local gen, hash, exp, rotatedAt = string.match(v, '^(%d+):([^:]+):(%d+):(%d+)$') " +
+            "gen = tonumber(gen) " +
+            "local expected = tonumber(ARGV[2]) " +
+            "if gen == expected and hash == ARGV[3] then " +
+            "  redis.call('HSET', KEYS[1], ARGV[1], (gen + 1) .. ':' .. ARGV[4] .. ':' .. exp .. ':' .. ARGV[5]) " +
+            "  return 1 " +
+            "end " +
+            "if gen == expected + 1 and tonumber(ARGV[5]) - tonumber(rotatedAt) < tonumber(ARGV[6]) then return 0 end " +
+            "redis.call('HDEL', KEYS[1], ARGV[1]) " +
+            "return -1",
+            Long.class);
+
+    // KEYS[1] : 패밀리 도입 전의 refresh token key / ARGV[1] : 기대하는 토큰
+    // 저장된 토큰과 같을 때만 지운다. (이후 새 패밀리로 옮겨간다)
+    private static final RedisScript<Long> CONSUME_LEGACY_REFRESH_TOKEN_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then " +
+            "  redis.call('DEL', KEYS[1]) " +
+            "  return 1 " +
+            "end " +
+            "return 0",
+            Long.class);
+
+    // KEYS[1] : 블랙리스트 key / KEYS[2] : refresh token key (패밀리 hash 또는 이전 방식의 key) / ARGV[1] : 블랙리스트 TTL(ms) / ARGV[2] : 블랙리스트 채널
+    // ARGV[3] : 패밀리 id (빈 문자열이면 KEYS[2] 전체를 지운다)
+    private static final RedisScript<Long> BLACKLIST_AND_REVOKE_SCRIPT = new DefaultRedisScript<>(
+            "if tonumber(ARGV[1]) > 0 then " +
+            "  redis.call('SET', KEYS[1], '1', 'PX', ARGV[1]) " +
+            "  redis.call('PUBLISH', ARGV[2], KEYS[1]) " +
+            "end " +
+            "if ARGV[3] == '' then redis.call('DEL', KEYS[2]) else redis.call('HDEL', KEYS[2], ARGV[3]) end " +
+            "return 1",
+            Long.class);
+
+    // KEYS[1..n] : sliding window key들 / ARGV[1] : window 크기(ms) / ARGV[2] : 이번 시도의 고유 id / ARGV[2+i] : KEYS[i]의 허용 횟수
+    // 모든 key가 허용 횟수 미만일 때만 이번 시도를 기록한다. (하나라도 초과하면 아무것도 기록하지 않고 초과한 key의 번호를 반환)
+    // ㄴ> 서버마다 시계가 다를 수 있으므로 현재 시각은 Redis의 TIME을 사용한다.
+    private static final RedisScript<Long> SLIDING_WINDOW_SCRIPT = new DefaultRedisScript<>(
+            "local t = redis.call('TIME') " +
+            "local now = tonumber(t[1]) * 1000 + math.floor(tonumber(t[2]) / 1000) " +
+            "local window = tonumber(ARGV[1]) " +
+            "for i, key in ipairs(KEYS) do " +
+            "  redis.call('ZREMRANGEBYSCORE', key, '-inf', now - window) " +
+            "  if redis.call('ZCARD', key) >= tonumber(ARGV[i + 2]) then return i end " +
+            "end " +
+            "for i, key in ipairs(KEYS) do " +
+            "  redis.call('ZADD', key, now, ARGV[2]) " +
+            "  redis.call('PEXPIRE', key, window) " +
+            "end " +
+            "return 0",
+            Long.class);
 
 
 
 
     // key를 이용하여 value 데이터를 가져오는 함수
     public String getData(String key) {
-        ValueOperations<String, String> ops = redis.opsForValue();
-        return ops.get(key);
+        long start = System.nanoTime();
+        try {
+            ValueOperations<String, String> ops = redis.opsForValue();
+            String value = ops.get(key);
+            getTimer.success(start);
+            return value;
+        } catch (RuntimeException e) {
+            getTimer.failure(start);
+            throw e;
+        }
     }
 
     // 데이터 존재 여부 확인 함수
     public boolean existData(String key){
-        return Boolean.TRUE.equals(redis.hasKey(key));
+        long start = System.nanoTime();
+        try {
+            boolean exists = Boolean.TRUE.equals(redis.hasKey(key));
+            existsTimer.success(start);
+            return exists;
+        } catch (RuntimeException e) {
+            existsTimer.failure(start);
+            throw e;
+        }
     }
 
 
 
     // 데이터 생성 함수
     public void setData(String key, String value){
-        ValueOperations<String, String> ops = redis.opsForValue();
-        ops.set(key,value);
+        long start = System.nanoTime();
+        try {
+            ValueOperations<String, String> ops = redis.opsForValue();
+            ops.set(key,value);
+            setTimer.success(start);
+        } catch (RuntimeException e) {
+            setTimer.failure(start);
+            throw e;
+        }
     }
 
     // 데이터 생성 및 파기 시간 지정 함수
     public void setData(String key, String value, long ttlSecond){
+        long start = System.nanoTime();
+        try {
+            setDataWithTtl(key, value, ttlSecond);
+            setTimer.success(start);
+        } catch (RuntimeException e) {
+            setTimer.failure(start);
+            throw e;
+        }
+    }
+
+    private void setDataWithTtl(String key, String value, long ttlSecond){
         ValueOperations<String, String> ops = redis.opsForValue();
         // ValueOperations : Redis의 String 타입(value)을 다루는 API
         // redis.opsForValue() : Redis의 String 타입 조작 함수. value값으로 String값을 조작하도록 하는 ValueOperations를 반환함
@@ -62,7 +246,14 @@ public class RedisUtil {
 
     // 데이터 제거 함수 (로그아웃에 사용 가능)
     public void deleteData(String key){
-        redis.delete(key); // redis.delete(key) : 키를 삭제하는 함수
+        long start = System.nanoTime();
+        try {
+            redis.delete(key); // redis.delete(key) : 키를 삭제하는 함수
+            deleteTimer.success(start);
+        } catch (RuntimeException e) {
+            deleteTimer.failure(start);
+            throw e;
+        }
     }
 
 
@@ -74,12 +265,88 @@ public class RedisUtil {
      즉, find()가 return한 Optional.empty()가 리턴되면 만료됐거나 이미 로그아웃해서 삭제된 상태임
      */
     public Optional<String> refreshTokenValid(String key){
-        String v = redis.opsForValue().get(key);
+        String v = getData(key);
         return Optional.ofNullable(v); // 인자로 준 v(데이터)가 null인지 아닌지 확인하는 함수
     }
 
 
 
+    /*
+    * refresh token 패밀리 등록 함수 (로그인) - 새 패밀리를 1세대로 등록한다.
+     만료된 패밀리는 이때 함께 정리되며, 사용자의 패밀리(로그인한 기기) 수가 maxFamilies 이상이면 가장 먼저 만료되는 패밀리를 지운다.
+     @param familyKey : REFRESH_FAMILY_PREFIX + userId
+     @param tokenHash : refresh token의 해시 (JWT 원문은 저장하지 않는다)
+     @param expiresAtMillis : refresh token 만료 시각 (패밀리는 회전해도 해당 시각에 만료된다)
+     */
+    public void issueRefreshFamily(String familyKey, String familyId, String tokenHash, long expiresAtMillis, int maxFamilies){
+        long start = System.nanoTime();
+        try {
+            redis.execute(ISSUE_REFRESH_FAMILY_SCRIPT, List.of(familyKey), familyId, tokenHash,
+                    String.valueOf(expiresAtMillis), String.valueOf(System.currentTimeMillis()), String.valueOf(maxFamilies));
+            issueRefreshFamilyTimer.success(start);
+        } catch (RuntimeException e) {
+            issueRefreshFamilyTimer.failure(start);
+            throw e;
+        }
+    }
+
+    /*
+    * refresh token 회전 함수 - 저장된 세대와 해시가 토큰과 같을 때만 다음 세대로 올린다. (HGET 1번 - JWT 원문 비교 없음)
+     비교와 교체를 Lua 스크립트 하나로 Redis 안에서 원자적으로 수행하므로 왕복(RTT)이 1번이다.
+     이미 회전된 이전 세대의 토큰이 들어오면 재사용(탈취)으로 보고 패밀리를 폐기한다.
+     단, 여러 탭에서 같은 토큰으로 동시에 재발급하는 경우를 위해 회전 직후 graceMillis 동안 들어온 직전 세대 토큰은 폐기 없이 거절만 한다.
+     @return : ROTATED(1) / REJECTED(0) / REUSE_DETECTED(-1)
+     */
+    public int rotateRefreshFamily(String familyKey, String familyId, long generation, String tokenHash, String newTokenHash, long graceMillis){
+        long start = System.nanoTime();
+        try {
+            Long result = redis.execute(ROTATE_REFRESH_FAMILY_SCRIPT, List.of(familyKey), familyId, String.valueOf(generation),
+                    tokenHash, newTokenHash, String.valueOf(System.currentTimeMillis()), String.valueOf(graceMillis));
+            rotateRefreshTokenTimer.success(start); // 거절/재사용 감지도 명령 자체는 성공이다
+            return result == null ? REFRESH_REJECTED : result.intValue();
+        } catch (RuntimeException e) {
+            rotateRefreshTokenTimer.failure(start);
+            throw e;
+        }
+    }
+
+    // 패밀리 도입 전에 발급된 refresh token을 확인하고 지우는 함수 (저장된 토큰과 같을 때만 true)
+    public boolean consumeLegacyRefreshToken(String key, String expectedToken){
+        long start = System.nanoTime();
+        try {
+            Long result = redis.execute(CONSUME_LEGACY_REFRESH_TOKEN_SCRIPT, List.of(key), expectedToken);
+            consumeLegacyRefreshTokenTimer.success(start);
+            return Long.valueOf(1L).equals(result);
+        } catch (RuntimeException e) {
+            consumeLegacyRefreshTokenTimer.failure(start);
+            throw e;
+        }
+    }
+
+    /*
+    * 로그아웃 함수 - access token 블랙리스트 등록 + refresh token 삭제 + 블랙리스트 채널 알림을 한 번의 왕복으로 수행한다.
+     @param blacklistKey : BLACKLIST_TOKEN_PREFIX + jti
+     @param ttlMillis : access token의 남은 만료 시간 (0 이하라면 이미 만료된 토큰이므로 블랙리스트에 등록하지 않는다)
+     @param refreshKey : REFRESH_FAMILY_PREFIX + userId (familyId가 null이면 REFRESH_TOKEN_PREFIX + userId)
+     @param familyId : 종료할 로그인 세션의 패밀리 id (null이면 refreshKey 전체를 지운다)
+     */
+    public void blacklistAndRevoke(String blacklistKey, long ttlMillis, String refreshKey, String familyId){
+        long start = System.nanoTime();
+        try {
+            redis.execute(BLACKLIST_AND_REVOKE_SCRIPT, List.of(blacklistKey, refreshKey),
+                    String.valueOf(ttlMillis), BLACKLIST_CHANNEL, familyId == null ? "" : familyId);
+            blacklistAndRevokeTimer.success(start);
+        } catch (RuntimeException e) {
+            blacklistAndRevokeTimer.failure(start);
+            throw e;
+        }
+        if(ttlMillis > 0){
+            blacklistBloomFilter.put(blacklistKey); // 이 서버의 블룸 필터에는 바로 추가한다
+        }
+    }
+
+
+
     /*
     Access 블랙리스트 처리 함수 - 인자로 들어온 JWT ID를 블랙리스트에 등록시켜주는 함수
     로그아웃된 user의 jti(jwt id)를 블랙리스트에 등록시켜서 토큰 중복을 방지하며, 재사용 공격 방어에 도움을 준다.
@@ -88,13 +355,133 @@ public class RedisUtil {
     => ttl 관리가 쉬움
     */
     public void setBlacklist(String key, long ttlMillis){
-        redis.opsForValue().set(key, "1", ttlMillis, TimeUnit.MILLISECONDS);
+        long start = System.nanoTime();
+        try {
+            redis.opsForValue().set(key, "1", ttlMillis, TimeUnit.MILLISECONDS);
+            setBlacklistTimer.success(start);
+        } catch (RuntimeException e) {
+            setBlacklistTimer.failure(start);
+            throw e;
+        }
         // ㄴ> "bl: " 접두사를 붙여서 블랙리스트 데이터임을 명시한다.
         // value값으로 "1"을 넣어서 해당 key가 블랙리스트에 등록되어있음을 표시한다(boolean)
+
+        // 이 서버의 블룸 필터에 바로 추가하고, 다른 서버들의 블룸 필터에도 추가되도록 채널에 알린다.
+        blacklistBloomFilter.put(key);
+        redis.convertAndSend(BLACKLIST_CHANNEL, key);
+    }
+
+    /*
+    * 탈퇴한 사용자들의 access token을 막는 함수 - 명령을 pipeline으로 묶어서 보내므로 사용자 수와 관계없이 왕복이 1번이다.
+     jti를 알 수 없으므로 사용자 단위 블랙리스트(BLACKLIST_USER_PREFIX + userId)를 access token 만료 시간 동안 등록하고,
+     블랙리스트 채널로 다른 서버의 블룸 필터에도 알린다.
+     key마다 명령을 따로 보내므로 Redis Cluster에서도 key들의 slot과 관계없이 사용할 수 있다.
+     @param ttlMillis : 블랙리스트 유지 시간 (탈퇴 전에 발급된 access token이 모두 만료될 때까지)
+     */
+    public void blacklistUsers(Collection<Long> userIds, long ttlMillis){
+        if(userIds.isEmpty()){
+            return;
+        }
+        byte[] channel = BLACKLIST_CHANNEL.getBytes(StandardCharsets.UTF_8);
+        byte[] value = "1".getBytes(StandardCharsets.UTF_8);
+        long start = System.nanoTime();
+        try {
+            redis.executePipelined((RedisCallback<Object>) connection -> {
+                for(Long userId : userIds){
+                    byte[] blacklistKey = (BLACKLIST_USER_PREFIX + userId).getBytes(StandardCharsets.UTF_8);
+                    connection.stringCommands().set(blacklistKey, value,
+                            Expiration.milliseconds(ttlMillis), RedisStringCommands.SetOption.upsert());
+                    connection.publish(channel, blacklistKey);
+                }
+                return null; // pipeline의 결과는 executePipelined()가 모아서 반환한다
+            });
+            blacklistUsersTimer.success(start);
+        } catch (RuntimeException e) {
+            blacklistUsersTimer.failure(start);
+            throw e;
+        }
+        for(Long userId : userIds){
+            blacklistBloomFilter.put(BLACKLIST_USER_PREFIX + userId); // 이 서버의 블룸 필터에는 바로 추가한다
+        }
+    }
+
+    /*
+    * 탈퇴한 사용자들의 refresh token을 지우는 함수 - pipeline으로 묶어서 왕복 1번
+     패밀리 hash와 패밀리 도입 전의 key를 UNLINK로 지운다. (큰 hash의 메모리 해제는 Redis의 백그라운드 스레드가 수행)
+     ㄴ> 지우지 못해도 DB에 사용자가 없으므로 재발급(AuthService.reissueAccessToken)에는 쓸 수 없고, 만료 시간이 지나면 사라진다.
+     */
+    public void unlinkRefreshTokens(Collection<Long> userIds){
+        if(userIds.isEmpty()){
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            redis.executePipelined((RedisCallback<Object>) connection -> {
+                for(Long userId : userIds){
+                    connection.keyCommands().unlink((REFRESH_FAMILY_PREFIX + userId).getBytes(StandardCharsets.UTF_8));
+                    connection.keyCommands().unlink((REFRESH_TOKEN_PREFIX + userId).getBytes(StandardCharsets.UTF_8));
+                }
+                return null;
+            });
+            unlinkRefreshTokensTimer.success(start);
+        } catch (RuntimeException e) {
+            unlinkRefreshTokensTimer.failure(start);
+            throw e;
+        }
     }
 
     // 인자로 들어온 (JWT key) 값이 블랙리스트에 등록되어있는지 확인한다
+    // 블룸 필터에서 "없음"이 확실한 경우에는 Redis를 조회하지 않는다.
     public boolean isBlacklisted(String key){
-        return redis.hasKey((key));
+        if(!blacklistBloomFilter.mightContain(key)){
+            return false;
+        }
+        long start = System.nanoTime();
+        try {
+            boolean blacklisted = Boolean.TRUE.equals(redis.hasKey(key));
+            isBlacklistedTimer.success(start);
+            return blacklisted;
+        } catch (RuntimeException e) {
+            isBlacklistedTimer.failure(start);
+            throw e;
+        }
+    }
+
+    // pattern과 일치하는 key들을 SCAN으로 순회하는 함수 (KEYS와 달리 Redis를 오래 블로킹하지 않는다)
+    // 블룸 필터를 재구성할 때 블랙리스트 keyspace를 읽어오기 위해 사용한다.
+    public void scanKeys(String pattern, Consumer<String> consumer){
+        ScanOptions options = ScanOptions.scanOptions().match(pattern).count(1000).build();
+        long start = System.nanoTime();
+        try(Cursor<String> cursor = redis.scan(options)){
+            cursor.forEachRemaining(consumer);
+            scanTimer.success(start);
+        } catch (RuntimeException e) {
+            scanTimer.failure(start);
+            throw e;
+        }
+    }
+
+    /*
+    * sliding window 카운터 함수 - 여러 key(IP, 이메일 등)의 최근 windowMillis 동안의 시도 횟수를 한 번의 왕복으로 확인하고 기록한다.
+     서버 로컬 token bucket과 달리 모든 서버가 같은 카운터를 공유하므로, 클러스터 전체 기준의 제한에 사용한다.
+     @param limits : keys와 같은 순서의 key별 허용 횟수
+     @return : 0이면 허용(시도가 기록됨), 0보다 크면 허용 횟수를 넘은 key의 번호(1부터 시작)
+     */
+    public int acquireSlidingWindow(List<String> keys, long windowMillis, String attemptId, long... limits){
+        Object[] args = new Object[limits.length + 2];
+        args[0] = String.valueOf(windowMillis);
+        args[1] = attemptId;
+        for(int i = 0; i < limits.length; i++){
+            args[i + 2] = String.valueOf(limits[i]);
+        }
+        long start = System.nanoTime();
+        try {
+            Long result = redis.execute(SLIDING_WINDOW_SCRIPT, keys, args);
+            slidingWindowTimer.success(start);
+            return result == null ? 0 : result.intValue();
+        } catch (RuntimeException e) {
+            slidingWindowTimer.failure(start);
+            throw e;
+        }
     }
 }
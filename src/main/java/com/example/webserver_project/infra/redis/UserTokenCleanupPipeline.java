@@ -0,0 +1,125 @@
+package com.example.webserver_project.infra.redis;
+
+// 탈퇴한 사용자의 토큰을 폐기하는 파이프라인
+// 1) access token : 커밋 직후(after-commit) 사용자 단위 블랙리스트(BLACKLIST_USER_PREFIX + userId)를 바로 등록한다. (SET 한 번 - RedisUtil.blacklistUsers)
+    // ㄴ> access token은 클레임만으로 인증되므로(auth.principal-source=CLAIMS) 요청마다 DB를 조회하지 않는다. 따라서, 블랙리스트가 유일한 폐기 수단이며 버려서는 안 된다.
+    // ㄴ> Redis 장애로 등록하지 못했다면 pending 목록에 남겨두고, 성공할 때까지 blacklist-retry-ms 주기로 횟수 제한 없이 다시 등록한다.
+    //     (다시 등록할 때는 탈퇴 시각 기준으로 남은 access token 수명만큼만 유지한다)
+// 2) refresh token : 패밀리/이전 방식 key UNLINK는 전용 스레드 하나가 모아서 처리한다. (RedisUtil.unlinkRefreshTokens)
+    // ㄴ> 큐에 쌓인 사용자를 batch-size명까지 꺼내서 pipeline 한 번으로 보낸다. (관리자 일괄 삭제 시 사용자마다 왕복하지 않음)
+    // ㄴ> 탈퇴는 기다릴 이유가 없으므로 flush 간격 없이, 이미 쌓여 있는 만큼만 바로 꺼내서 보낸다.
+    // ㄴ> 큐가 가득 차거나 재시도 후에도 실패하면 버린다. DB에 사용자가 없으므로 재발급에 쓸 수 없고, 만료 시간이 지나면 사라진다.
+// 큐, 역압, 재시도, 시작/종료는 BatchingPipeline이 처리한다.
+// 지표
+    // ㄴ> auth.user_cleanup.batch{outcome} : refresh token UNLINK pipeline 한 번의 소요 시간
+    // ㄴ> auth.user_cleanup.users : refresh token을 지운 사용자 수
+    // ㄴ> auth.user_cleanup.dropped{reason=queue_full|redis_failed} : refresh token을 지우지 못한 사용자 수
+    // ㄴ> auth.user_cleanup.queue : UNLINK 대기 중인 사용자 수
+    // ㄴ> auth.user_cleanup.blacklist_pending : Redis 장애로 아직 블랙리스트에 등록하지 못한 사용자 수
+
+import com.example.webserver_project.domain.user.Event.UserChangedEvent;
+import com.example.webserver_project.global.pipeline.BatchingPipeline;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Component
+public class UserTokenCleanupPipeline extends BatchingPipeline<Long> {
+    private static final Metrics METRICS = new Metrics("auth.user_cleanup", "batch", "탈퇴한 사용자 refresh token 삭제 pipeline 소요 시간",
+            "users", "redis_failed", "refresh token 삭제 대기 중인 탈퇴 사용자 수");
+
+    private final RedisUtil redisUtil;
+    private final long accessTokenTtlMillis; // 사용자 단위 블랙리스트 TTL (탈퇴 직전에 발급된 access token이 만료될 때까지)
+    private final Map<Long, Long> pendingBlacklist = new ConcurrentHashMap<>(); // 블랙리스트 등록에 실패한 userId -> 블랙리스트 만료 시각(ms)
+
+    public UserTokenCleanupPipeline(
+            RedisUtil redisUtil,
+            MeterRegistry meterRegistry,
+            @Value("${auth.user-cleanup.enabled:true}") boolean enabled,
+            @Value("${auth.user-cleanup.batch-size:500}") int batchSize,
+            @Value("${auth.user-cleanup.queue-capacity:10000}") int queueCapacity,
+            @Value("${auth.user-cleanup.offer-timeout-ms:50}") long offerTimeoutMillis,
+            @Value("${auth.user-cleanup.max-retries:3}") int maxRetries,
+            @Value("${auth.user-cleanup.retry-backoff-ms:200}") long retryBackoffMillis,
+            @Value("${jwt.access-token-expiration-time}") long accessTokenTtlMillis
+    ) {
+        super("탈퇴 사용자 refresh token 삭제", "user-token-cleanup-pipeline", meterRegistry, METRICS,
+                enabled, batchSize, 0, queueCapacity, offerTimeoutMillis, maxRetries, retryBackoffMillis);
+        this.redisUtil = redisUtil;
+        this.accessTokenTtlMillis = accessTokenTtlMillis;
+        Gauge.builder("auth.user_cleanup.blacklist_pending", pendingBlacklist, Map::size)
+                .description("Redis 장애로 아직 블랙리스트에 등록하지 못한 탈퇴 사용자 수")
+                .register(meterRegistry);
+    }
+
+    // 삭제가 커밋된 뒤에만 처리한다 (롤백된 탈퇴의 토큰을 폐기하지 않도록)
+    // access token 블랙리스트는 여기서 바로 등록하고, refresh token 삭제만 큐에 넣는다.
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if(!event.isDeleted()) {
+            return;
+        }
+        blacklist(event.userId(), System.currentTimeMillis() + accessTokenTtlMillis);
+        enqueue(event.userId());
+    }
+
+    // Redis 장애로 등록하지 못한 블랙리스트를 다시 등록한다. (성공하거나 탈퇴 전에 발급된 access token이 모두 만료될 때까지)
+    @Scheduled(fixedDelayString = "${auth.user-cleanup.blacklist-retry-ms:1000}")
+    public void retryPendingBlacklist() {
+        for(Map.Entry<Long, Long> entry : pendingBlacklist.entrySet()) {
+            if(pendingBlacklist.remove(entry.getKey(), entry.getValue())) {
+                blacklist(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    private void blacklist(Long userId, long expiresAtMillis) {
+        long ttlMillis = expiresAtMillis - System.currentTimeMillis();
+        if(ttlMillis <= 0) {
+            return; // 탈퇴 전에 발급된 access token이 이미 모두 만료되었다
+        }
+        try {
+            redisUtil.blacklistUsers(List.of(userId), ttlMillis);
+        } catch (RuntimeException e) {
+            pendingBlacklist.merge(userId, expiresAtMillis, Math::max);
+            log.error("탈퇴 사용자 블랙리스트 등록 실패 - 다시 시도합니다. userId={}: {}", userId, e.getMessage());
+        }
+    }
+
+    // 같은 사용자는 한 번만 보낸다
+    @Override
+    protected Object keyOf(Long userId) {
+        return userId;
+    }
+
+    @Override
+    protected void send(Collection<Long> userIds) {
+        redisUtil.unlinkRefreshTokens(userIds);
+    }
+
+    // 남은 refresh token 삭제를 보낸 뒤, 등록하지 못한 블랙리스트도 마지막으로 한 번 더 등록한다.
+    @Override
+    public void stop() {
+        super.stop();
+        retryPendingBlacklist();
+        if(!pendingBlacklist.isEmpty()) {
+            log.error("종료 전에 블랙리스트에 등록하지 못한 탈퇴 사용자 {}명이 있습니다. userIds={}", pendingBlacklist.size(), pendingBlacklist.keySet());
+        }
+    }
+
+    // 아직 블랙리스트에 등록하지 못한 사용자 수
+    public int pendingBlacklistCount() {
+        return pendingBlacklist.size();
+    }
+}
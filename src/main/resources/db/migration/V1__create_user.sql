@@ -0,0 +1,10 @@
+-- 기존 스키마 (Hibernate ddl-auto로 만들어지던 User 테이블)
+-- 이미 운영 중인 DB는 spring.flyway.baseline-on-migrate로 해당 버전을 적용된 것으로 보고 V2부터 실행한다.
+CREATE TABLE IF NOT EXISTS User (
+    id       BIGINT       NOT NULL,
+    name     VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    email    VARCHAR(50),
+    ROLE     VARCHAR(20)  NOT NULL,
+    PRIMARY KEY (id)
+);
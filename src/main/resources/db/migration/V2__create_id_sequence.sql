@@ -0,0 +1,7 @@
+-- User.id 할당 테이블 (@TableGenerator pooled + UserIdAllocator)
+-- 'user' 행은 서버 시작 시 UserIdAllocator가 max(User.id) 이후 값으로 만든다.
+CREATE TABLE IF NOT EXISTS id_sequence (
+    sequence_name VARCHAR(255) NOT NULL,
+    next_val      BIGINT,
+    PRIMARY KEY (sequence_name)
+);
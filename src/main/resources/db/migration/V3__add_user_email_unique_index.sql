@@ -0,0 +1,4 @@
+-- 이메일 중복 가입 방지 - 회원가입은 existsByEmail 조회 없이 INSERT 한 번으로 처리하고, 중복은 해당 인덱스 위반으로 판단한다.
+-- 이미 같은 이메일로 가입된 계정이 여러 개 있다면 인덱스 생성이 실패하므로, 적용 전에 아래 쿼리로 확인하고 정리해야 한다.
+--   SELECT email, COUNT(*) FROM User GROUP BY email HAVING COUNT(*) > 1;
+CREATE UNIQUE INDEX uk_user_email ON User (email);
@@ -0,0 +1,8 @@
+-- replica 복제 지연 측정용 heartbeat (ReplicaLagMonitor)
+-- primary에서 주기적으로 beat_at(epoch ms)을 갱신하고, replica에서 같은 행을 읽어서 지연을 계산한다.
+CREATE TABLE IF NOT EXISTS replication_heartbeat (
+    id      INT    NOT NULL,
+    beat_at BIGINT NOT NULL,
+    PRIMARY KEY (id)
+);
+INSERT INTO replication_heartbeat (id, beat_at) VALUES (1, 0);
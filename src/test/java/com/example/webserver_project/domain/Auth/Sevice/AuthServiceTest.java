@@ -0,0 +1,165 @@
+package com.example.webserver_project.domain.Auth.Sevice;
+
+import com.example.webserver_project.domain.Auth.Dto.request.LoginRequestDto;
+import com.example.webserver_project.domain.Auth.exception.AuthErrorCode;
+import com.example.webserver_project.global.exception.CustomException;
+import com.example.webserver_project.global.jwt.JwtAlgorithm;
+import com.example.webserver_project.global.jwt.JwtKeyRing;
+import com.example.webserver_project.global.jwt.JwtProvider;
+import com.example.webserver_project.global.jwt.RoleType;
+import com.example.webserver_project.global.jwt.VerifiedTokenCache;
+import com.example.webserver_project.global.metrics.AuthMetrics;
+import com.example.webserver_project.global.security.BearerTokenResolver;
+import com.example.webserver_project.global.security.CustomUserDetails;
+import com.example.webserver_project.global.security.CustomUserDetailsService;
+import com.example.webserver_project.global.security.JwtUserInfoDto;
+import com.example.webserver_project.infra.redis.BlacklistBloomFilter;
+import com.example.webserver_project.infra.redis.RedisUtil;
+import com.example.webserver_project.loadtest.InMemoryRedisUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// refresh token 패밀리(회전, 동시 재발급 허용 시간, 재사용 감지, 최대 세션 수, 패밀리 도입 전 토큰 이전)를 확인한다.
+// Redis 대신 InMemoryRedisUtil을 사용하므로, 해당 구현은 RedisUtil의 Lua 스크립트와 같은 결과를 내야 한다.
+class AuthServiceTest {
+    private static final long USER_ID = 1L;
+    private static final long REFRESH_EXP = 14 * 24 * 60 * 60 * 1000L;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final InMemoryRedisUtil redisUtil = new InMemoryRedisUtil(new BlacklistBloomFilter(10_000, 0.01));
+    private final AuthenticationManager authenticationManager = mock(AuthenticationManager.class);
+    private final CustomUserDetailsService customUserDetailsService = mock(CustomUserDetailsService.class);
+    private final CustomUserDetails principal = new CustomUserDetails(JwtUserInfoDto.builder()
+            .userId(USER_ID)
+            .email("test@example.com")
+            .name("test")
+            .role(RoleType.USER)
+            .build());
+
+    private JwtProvider jwtProvider;
+    private AuthService authService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String secret = Base64.getEncoder().encodeToString("test-secret-key-for-hs256-0123456789abcdef".getBytes());
+        JwtKeyRing keyRing = new JwtKeyRing(secret, JwtAlgorithm.HS256, "", 0, REFRESH_EXP, new ObjectMapper());
+        jwtProvider = new JwtProvider(keyRing, 30 * 60 * 1000L, REFRESH_EXP, new VerifiedTokenCache(0), meterRegistry);
+        authService = new AuthService(redisUtil, jwtProvider, authenticationManager, customUserDetailsService,
+                new BearerTokenResolver(), new AuthMetrics(meterRegistry));
+        ReflectionTestUtils.setField(authService, "maxSessions", 10);
+        ReflectionTestUtils.setField(authService, "reuseGraceMillis", 2000L);
+
+        when(authenticationManager.authenticate(any()))
+                .thenReturn(new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+        when(customUserDetailsService.loadUserById(USER_ID)).thenReturn(principal);
+    }
+
+    @Test
+    void 현재_세대의_refresh_token은_다음_세대로_회전한다() {
+        String first = login();
+
+        String second = reissue(first);
+        String third = reissue(second);
+
+        assertThat(second).isNotEqualTo(first);
+        assertThat(jwtProvider.verify(second).getFamilyId()).isEqualTo(jwtProvider.verify(first).getFamilyId());
+        assertThat(jwtProvider.verify(third).getGeneration()).isEqualTo(3);
+    }
+
+    @Test
+    void 회전_직후_허용_시간_안에_들어온_직전_세대_토큰은_거절만_하고_패밀리는_유지한다() {
+        String first = login();
+        String second = reissue(first);
+
+        assertReissueFails(first, AuthErrorCode.INVALID_REFRESH_TOKEN); // 여러 탭에서 같은 토큰으로 동시에 재발급한 경우
+
+        assertThat(reissue(second)).isNotNull();
+        assertThat(reuseDetected()).isZero();
+    }
+
+    @Test
+    void 허용_시간이_지난_이전_세대_토큰은_재사용으로_보고_패밀리를_폐기한다() {
+        ReflectionTestUtils.setField(authService, "reuseGraceMillis", 0L);
+        String first = login();
+        String second = reissue(first);
+
+        assertReissueFails(first, AuthErrorCode.REFRESH_TOKEN_REUSED);
+
+        assertThat(reuseDetected()).isEqualTo(1);
+        assertReissueFails(second, AuthErrorCode.INVALID_REFRESH_TOKEN); // 정상 사용자의 최신 토큰도 더 이상 사용할 수 없다
+    }
+
+    @Test
+    void 최대_세션_수를_넘으면_가장_먼저_만료되는_세션을_로그아웃한다() {
+        ReflectionTestUtils.setField(authService, "maxSessions", 1);
+        String firstDevice = login();
+        String secondDevice = login();
+
+        assertReissueFails(firstDevice, AuthErrorCode.INVALID_REFRESH_TOKEN);
+        assertThat(reissue(secondDevice)).isNotNull();
+        assertThat(reuseDetected()).isZero();
+    }
+
+    @Test
+    void 패밀리_도입_전에_발급된_refresh_token은_한_번만_새_패밀리로_옮겨간다() {
+        String legacy = jwtProvider.createRefreshToken(USER_ID, RoleType.USER, null, 1); // fid 클레임이 없는 토큰
+        redisUtil.setData(RedisUtil.REFRESH_TOKEN_PREFIX + USER_ID, legacy);
+
+        String migrated = reissue(legacy);
+
+        assertThat(jwtProvider.verify(migrated).getFamilyId()).isNotNull();
+        assertThat(jwtProvider.verify(migrated).getExpirationMiliSecond())
+                .isLessThanOrEqualTo(jwtProvider.verify(legacy).getExpirationMiliSecond()); // 이전 토큰의 만료 시각을 넘기지 않는다
+        assertThat(redisUtil.getData(RedisUtil.REFRESH_TOKEN_PREFIX + USER_ID)).isNull();
+        assertReissueFails(legacy, AuthErrorCode.INVALID_REFRESH_TOKEN);
+        assertThat(reissue(migrated)).isNotNull();
+    }
+
+    private String login() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        authService.login(new LoginRequestDto("test@example.com", "password"), response);
+        return refreshTokenOf(response);
+    }
+
+    private String reissue(String refreshToken) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        authService.reissueAccessToken(requestWith(refreshToken), response);
+        return refreshTokenOf(response);
+    }
+
+    private void assertReissueFails(String refreshToken, AuthErrorCode errorCode) {
+        assertThatThrownBy(() -> authService.reissueAccessToken(requestWith(refreshToken), new MockHttpServletResponse()))
+                .isInstanceOf(CustomException.class)
+                .extracting(e -> ((CustomException) e).getErrorCode())
+                .isEqualTo(errorCode);
+    }
+
+    private static MockHttpServletRequest requestWith(String refreshToken) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Cookie", BearerTokenResolver.REFRESH_TOKEN_COOKIE + "=" + refreshToken);
+        return request;
+    }
+
+    private static String refreshTokenOf(MockHttpServletResponse response) {
+        return response.getCookie(BearerTokenResolver.REFRESH_TOKEN_COOKIE).getValue();
+    }
+
+    private double reuseDetected() {
+        return meterRegistry.counter("auth.refresh.reuse_detected").count();
+    }
+}
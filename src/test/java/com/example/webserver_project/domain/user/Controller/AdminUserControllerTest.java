@@ -0,0 +1,69 @@
+package com.example.webserver_project.domain.user.Controller;
+
+import com.example.webserver_project.global.jwt.JwtProvider;
+import com.example.webserver_project.global.jwt.RoleType;
+import com.example.webserver_project.global.security.JwtUserInfoDto;
+import com.example.webserver_project.loadtest.LoadTestConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// 관리자 API의 인가 실패가 500이 아니라 401/403으로 응답하는지 확인한다.
+// 외부 MySQL/Redis 없이 부하 테스트와 같은 설정(H2 + InMemoryRedisUtil)으로 애플리케이션을 띄운다.
+@ActiveProfiles("loadtest")
+@Import(LoadTestConfig.class)
+@SpringBootTest
+@AutoConfigureMockMvc
+class AdminUserControllerTest {
+
+    @MockitoBean
+    private RedisMessageListenerContainer redisMessageListenerContainer; // Redis 서버가 없으므로 pub/sub 구독을 띄우지 않는다
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtProvider jwtProvider;
+
+    @Test
+    void 일반_사용자는_관리자_API에_403을_받는다() throws Exception {
+        String token = accessToken(RoleType.USER);
+
+        mockMvc.perform(get("/admin/users/search").param("q", "kim")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.code").value("403"));
+        mockMvc.perform(post("/admin/users/delete")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"userIds\":[1]}"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void 인증하지_않은_요청은_관리자_API에_401을_받는다() throws Exception {
+        mockMvc.perform(get("/admin/users/search").param("q", "kim"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private String accessToken(RoleType role) {
+        return jwtProvider.createAccessToken(JwtUserInfoDto.builder()
+                .userId(1L)
+                .email("user@example.com")
+                .name("user")
+                .role(role)
+                .build());
+    }
+}
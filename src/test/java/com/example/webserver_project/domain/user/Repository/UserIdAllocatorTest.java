@@ -0,0 +1,56 @@
+package com.example.webserver_project.domain.user.Repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserIdAllocatorTest {
+    private JdbcTemplate jdbcTemplate;
+    private UserIdAllocator allocator;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:id-allocator-" + System.nanoTime() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE User (id BIGINT PRIMARY KEY AUTO_INCREMENT, name VARCHAR(255))");
+        jdbcTemplate.execute("CREATE TABLE id_sequence (sequence_name VARCHAR(255) PRIMARY KEY, next_val BIGINT)");
+        allocator = new UserIdAllocator(jdbcTemplate, new DataSourceTransactionManager(dataSource));
+    }
+
+    @Test
+    void 기존_AUTO_INCREMENT_id_이후부터_할당한다() {
+        jdbcTemplate.update("INSERT INTO User (name) VALUES ('a'), ('b'), ('c')");
+        allocator.afterSingletonsInstantiated();
+
+        assertThat(allocator.allocate(1)).isEqualTo(4);
+    }
+
+    @Test
+    void 여러_블록에_걸친_요청도_겹치지_않게_연속된_id를_준다() {
+        allocator.afterSingletonsInstantiated();
+
+        long first = allocator.allocate(120); // 블록 3개 (50 * 3)
+        long second = allocator.allocate(10);
+
+        assertThat(first).isEqualTo(1);
+        assertThat(second).isGreaterThanOrEqualTo(first + 120);
+        // Hibernate pooled optimizer가 다음에 읽을 값 V의 블록 (V - 50, V]도 이미 준 id 이후여야 한다
+        Long next = jdbcTemplate.queryForObject("SELECT next_val FROM id_sequence", Long.class);
+        assertThat(next - 50 + 1).isGreaterThanOrEqualTo(second + 10);
+    }
+
+    @Test
+    void Hibernate가_넣은_초기값_1도_같은_규칙으로_사용한다() {
+        jdbcTemplate.update("INSERT INTO id_sequence VALUES ('user', 1)");
+        allocator.afterSingletonsInstantiated(); // 사용자가 없으므로 값을 바꾸지 않는다
+
+        assertThat(allocator.allocate(60)).isEqualTo(1);
+        Long next = jdbcTemplate.queryForObject("SELECT next_val FROM id_sequence", Long.class);
+        assertThat(next - 50 + 1).isGreaterThan(60);
+    }
+}
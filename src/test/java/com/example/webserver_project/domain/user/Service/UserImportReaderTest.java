@@ -0,0 +1,64 @@
+package com.example.webserver_project.domain.user.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UserImportReaderTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private UserImportReader reader(String body, UserImportReader.Format format) throws IOException {
+        return new UserImportReader(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), format, objectMapper);
+    }
+
+    @Test
+    void NDJSON은_한_줄씩_읽고_형식_오류는_해당_줄만_실패한다() throws IOException {
+        UserImportReader reader = reader("""
+                {"name":"김철수","email":"kim@example.com","password":"pw1"}
+
+                {"name":"이영희",
+                {"name":"박민수","email":"park@example.com","password":"pw3"}
+                """, UserImportReader.Format.NDJSON);
+
+        assertThat(reader.next().request().getEmail()).isEqualTo("kim@example.com");
+        UserImportReader.Line broken = reader.next();
+        assertThat(broken.lineNumber()).isEqualTo(3); // 빈 줄은 건너뛰지만 줄 번호에는 포함된다
+        assertThat(broken.error()).isNotNull();
+        assertThat(reader.next().request().getName()).isEqualTo("박민수");
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void CSV는_헤더로_열_위치를_정하고_따옴표를_처리한다() throws IOException {
+        UserImportReader reader = reader("""
+                \uFEFFemail,password,name,memo
+                kim@example.com,"p,w""1",김철수,무시됨
+                lee@example.com,pw2
+                """, UserImportReader.Format.CSV);
+
+        UserImportReader.Line first = reader.next();
+        assertThat(first.request().getName()).isEqualTo("김철수");
+        assertThat(first.request().getPassword()).isEqualTo("p,w\"1");
+        assertThat(reader.next().error()).isEqualTo("CSV 열 개수 부족");
+    }
+
+    @Test
+    void CSV_헤더에_필수_열이_없으면_거절한다() {
+        assertThatThrownBy(() -> reader("name,email\n", UserImportReader.Format.CSV))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void Content_Type으로_형식을_정한다() {
+        assertThat(UserImportReader.Format.fromContentType("text/csv; charset=UTF-8")).isEqualTo(UserImportReader.Format.CSV);
+        assertThat(UserImportReader.Format.fromContentType("application/x-ndjson")).isEqualTo(UserImportReader.Format.NDJSON);
+        assertThatThrownBy(() -> UserImportReader.Format.fromContentType("application/json"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
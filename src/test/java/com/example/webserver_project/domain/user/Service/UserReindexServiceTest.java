@@ -0,0 +1,59 @@
+package com.example.webserver_project.domain.user.Service;
+
+import com.example.webserver_project.domain.user.Entity.User;
+import com.example.webserver_project.domain.user.Repository.UserRepository;
+import com.example.webserver_project.global.jwt.RoleType;
+import com.example.webserver_project.infra.elasticsearch.InMemoryUserSearchIndex;
+import com.example.webserver_project.infra.elasticsearch.UserIndexingPipeline;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// 색인 도입 전에 가입한 사용자(UserChangedEvent가 없었던 사용자)를 테이블에서 읽어서 색인하는지 확인한다.
+class UserReindexServiceTest {
+    private final InMemoryUserSearchIndex index = new InMemoryUserSearchIndex();
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final UserIndexingPipeline pipeline = new UserIndexingPipeline(index, event -> {}, new SimpleMeterRegistry(),
+            true, 100, 20, 100, 10, 2, 1);
+
+    @Test
+    void 기존_사용자를_id_순서대로_페이지마다_bulk로_색인한다() {
+        when(userRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(2))).thenReturn(users(1, 2));
+        when(userRepository.findByIdGreaterThanOrderByIdAsc(2L, Limit.of(2))).thenReturn(users(3, 3));
+        when(userRepository.findByIdGreaterThanOrderByIdAsc(3L, Limit.of(2))).thenReturn(List.of());
+        UserReindexService reindexService = new UserReindexService(userRepository, pipeline, true, 2);
+
+        long indexed = reindexService.reindex();
+
+        assertThat(indexed).isEqualTo(3);
+        assertThat(index.getBulkSizes()).containsExactly(2, 1);
+        assertThat(index.get(3).getEmail()).isEqualTo("user3@example.com");
+        assertThat(index.searchByPrefix("user", 10)).hasSize(3);
+    }
+
+    @Test
+    void 색인이_꺼져_있으면_시작하지_않는다() {
+        UserReindexService reindexService = new UserReindexService(userRepository, pipeline, false, 2);
+
+        assertThat(reindexService.start()).isFalse();
+    }
+
+    private static List<User> users(long fromId, long toId) {
+        return LongStream.rangeClosed(fromId, toId)
+                .mapToObj(id -> User.builder()
+                        .id(id)
+                        .name("user" + id)
+                        .password("password")
+                        .email("user" + id + "@example.com")
+                        .role(RoleType.USER)
+                        .build())
+                .toList();
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.webserver_project.global.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// primary와 replica를 서로 다른 H2 인스턴스 두 개로 띄우고, 각 DB에 다른 값을 넣어서 어느 쪽에서 읽었는지 확인한다.
+// 실제 복제는 없으므로 heartbeat는 테스트에서 replica에 직접 써서 복제 지연을 흉내 낸다.
+class ReplicationRoutingDataSourceTest {
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+    private ReplicaLagMonitor monitor;
+    private JdbcTemplate routed;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+    private DataSource dataSource;
+    private EntityManagerFactory entityManagerFactory; // JPA 경로 테스트에서만 만든다
+
+    @BeforeEach
+    void setUp() {
+        DataSource primaryDataSource = h2("primary");
+        DataSource replicaDataSource = h2("replica");
+        primary = new JdbcTemplate(primaryDataSource);
+        replica = new JdbcTemplate(replicaDataSource);
+        for(JdbcTemplate db : new JdbcTemplate[]{primary, replica}) {
+            db.execute("CREATE TABLE replication_heartbeat (id INT PRIMARY KEY, beat_at BIGINT NOT NULL)");
+            db.update("INSERT INTO replication_heartbeat VALUES (1, 0)");
+            db.execute("CREATE TABLE marker (name VARCHAR(20))");
+        }
+        primary.update("INSERT INTO marker VALUES ('primary')");
+        replica.update("INSERT INTO marker VALUES ('replica')");
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        monitor = new ReplicaLagMonitor(primaryDataSource, replicaDataSource, 1000, meterRegistry);
+        dataSource = new LazyConnectionDataSourceProxy(
+                new ReplicationRoutingDataSource(primaryDataSource, replicaDataSource, monitor, meterRegistry));
+        routed = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if(entityManagerFactory != null) {
+            entityManagerFactory.close();
+        }
+    }
+
+    private static DataSource h2(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + name + "-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1", "sa", "");
+    }
+
+    // replica에 heartbeat가 복제된 상태를 흉내 낸다 (replica에 보이는 마지막 heartbeat가 lagMillis 전)
+    private void replicate(long lagMillis) {
+        replica.update("UPDATE replication_heartbeat SET beat_at = ? WHERE id = 1", System.currentTimeMillis() - lagMillis);
+        monitor.check();
+    }
+
+    private String whereAmI() {
+        return routed.queryForObject("SELECT name FROM marker", String.class);
+    }
+
+    @Test
+    void 읽기_전용_트랜잭션은_replica_나머지는_primary로_보낸다() {
+        replicate(0);
+
+        assertThat(readOnly.execute(status -> whereAmI())).isEqualTo("replica");
+        assertThat(readWrite.execute(status -> whereAmI())).isEqualTo("primary");
+        assertThat(whereAmI()).isEqualTo("primary"); // 트랜잭션 밖
+    }
+
+    // 서비스의 @Transactional(readOnly = true)는 JpaTransactionManager를 거친다.
+    // Hibernate는 트랜잭션을 시작하면서 연결을 받아 setReadOnly(true)를 호출하므로, 해당 경로에서도 replica로 가는지 확인한다.
+    @Test
+    void JPA_읽기_전용_트랜잭션도_replica로_보낸다() {
+        replicate(0);
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(dataSource);
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.setPackagesToScan(getClass().getPackageName()); // 엔티티 없이 native query만 사용한다
+        factory.afterPropertiesSet();
+        entityManagerFactory = factory.getObject();
+        JpaTransactionManager transactionManager = new JpaTransactionManager(entityManagerFactory);
+        TransactionTemplate jpaReadWrite = new TransactionTemplate(transactionManager);
+        TransactionTemplate jpaReadOnly = new TransactionTemplate(transactionManager);
+        jpaReadOnly.setReadOnly(true);
+
+        assertThat(jpaReadOnly.execute(status -> whereAmIByJpa())).isEqualTo("replica");
+        assertThat(jpaReadWrite.execute(status -> whereAmIByJpa())).isEqualTo("primary");
+        assertThat(jpaReadOnly.execute(status -> whereAmI())).isEqualTo("replica"); // 같은 트랜잭션의 JDBC 조회도 같은 연결을 사용한다
+    }
+
+    private String whereAmIByJpa() {
+        return (String) EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory)
+                .createNativeQuery("SELECT name FROM marker")
+                .getSingleResult();
+    }
+
+    @Test
+    void 복제_지연이_허용_범위를_넘으면_primary에서_읽는다() {
+        replicate(5000);
+        assertThat(monitor.isReplicaUsable()).isFalse();
+        assertThat(readOnly.execute(status -> whereAmI())).isEqualTo("primary");
+
+        replicate(0); // 복제가 따라잡으면 다시 replica를 사용한다
+        assertThat(readOnly.execute(status -> whereAmI())).isEqualTo("replica");
+    }
+
+    @Test
+    void 아직_측정하지_못했거나_replica에_연결할_수_없으면_primary에서_읽는다() {
+        assertThat(readOnly.execute(status -> whereAmI())).isEqualTo("primary"); // 첫 측정 전
+
+        replicate(0);
+        replica.execute("DROP TABLE replication_heartbeat");
+        monitor.check();
+        assertThat(monitor.isReplicaUsable()).isFalse();
+        assertThat(readOnly.execute(status -> whereAmI())).isEqualTo("primary");
+    }
+
+    @Test
+    void 직접_지정한_대상이_트랜잭션_규칙보다_우선한다() {
+        replicate(0);
+
+        assertThat(DataSourceRouting.onReplica(this::whereAmI)).isEqualTo("replica");
+        assertThat(readOnly.execute(status -> DataSourceRouting.onPrimary(this::whereAmI))).isEqualTo("primary"); // read-your-writes
+        assertThat(whereAmI()).isEqualTo("primary"); // 지정은 블록이 끝나면 해제된다
+    }
+
+    @Test
+    void heartbeat는_primary에_기록된다() {
+        monitor.check();
+
+        assertThat(primary.queryForObject("SELECT beat_at FROM replication_heartbeat WHERE id = 1", Long.class)).isPositive();
+    }
+}
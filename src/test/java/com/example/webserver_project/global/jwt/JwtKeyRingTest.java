@@ -0,0 +1,181 @@
+package com.example.webserver_project.global.jwt;
+
+import com.example.webserver_project.global.security.JwtUserInfoDto;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtKeyRingTest {
+    private static final byte[] SECRET = "test-secret-key-for-hs256-0123456789abcdef".getBytes();
+    private static final long REFRESH_EXP = 14 * 24 * 60 * 60 * 1000L;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final JwtUserInfoDto user = JwtUserInfoDto.builder()
+            .userId(1L)
+            .email("test@example.com")
+            .name("test")
+            .role(RoleType.USER)
+            .build();
+
+    @Test
+    void ES256으로_서명한_토큰은_kid로_공개키를_찾아_검증한다() throws Exception {
+        JwtKeyRing keyRing = keyRing(JwtAlgorithm.ES256);
+        JwtProvider jwtProvider = provider(keyRing);
+
+        String token = jwtProvider.createAccessToken(user);
+
+        assertThat(kidOf(token)).isEqualTo(keyRing.getSigningKey().getKid());
+        assertThat(jwtProvider.verify(token).getUserId()).isEqualTo(1L);
+    }
+
+    @Test
+    void 키를_교체해도_이전_키로_서명한_토큰을_검증한다() throws Exception {
+        JwtKeyRing keyRing = keyRing(JwtAlgorithm.EdDSA);
+        JwtProvider jwtProvider = provider(keyRing);
+        String before = jwtProvider.createAccessToken(user);
+
+        keyRing.rotate();
+        String after = jwtProvider.createAccessToken(user);
+
+        assertThat(kidOf(after)).isNotEqualTo(kidOf(before));
+        assertThat(jwtProvider.verify(before).getUserId()).isEqualTo(1L);
+        assertThat(jwtProvider.verify(after).getUserId()).isEqualTo(1L);
+    }
+
+    @Test
+    void JWKS에는_서명_키와_다음_키의_공개키만_들어간다() throws Exception {
+        JwtKeyRing keyRing = keyRing(JwtAlgorithm.ES256);
+
+        JsonNode keys = objectMapper.readTree(keyRing.getJwksJson()).get("keys");
+
+        assertThat(keys.size()).isEqualTo(2); // 서명 키 + 미리 공개한 다음 키 (HMAC 키는 공개하지 않는다)
+        for(JsonNode key : keys) {
+            assertThat(key.get("kty").asText()).isEqualTo("EC");
+            assertThat(key.has("d")).isFalse();
+        }
+        assertThat(keys.get(0).get("kid").asText()).isEqualTo(keyRing.getSigningKey().getKid());
+    }
+
+    @Test
+    void kid가_없는_이전_HS256_토큰도_검증한다() throws Exception {
+        JwtProvider jwtProvider = provider(keyRing(JwtAlgorithm.ES256));
+        String legacy = Jwts.builder()
+                .subject("1")
+                .id("legacy-jti")
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(SECRET), Jwts.SIG.HS256)
+                .compact();
+
+        assertThat(jwtProvider.verify(legacy).getTokenId()).isEqualTo("legacy-jti");
+    }
+
+    @Test
+    void 비대칭_서명에서는_HS256_토큰을_refresh_token_수명이_지나면_거절한다() throws Exception {
+        JwtKeyRing keyRing = keyRing(JwtAlgorithm.ES256);
+        JwtProvider jwtProvider = provider(keyRing);
+        String legacy = Jwts.builder()
+                .subject("1")
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(SECRET), Jwts.SIG.HS256)
+                .compact();
+        String hmacSigned = provider(keyRing(JwtAlgorithm.HS256)).createAccessToken(user); // kid가 있는 HS256 토큰
+        assertThat(jwtProvider.verify(legacy).getUserId()).isEqualTo(1L);
+        assertThat(jwtProvider.verify(hmacSigned).getUserId()).isEqualTo(1L);
+
+        keyRing.retireExpired(System.currentTimeMillis() + REFRESH_EXP + 60_000);
+
+        assertThatThrownBy(() -> jwtProvider.verify(legacy)).isInstanceOf(JwtException.class);
+        assertThatThrownBy(() -> jwtProvider.verify(hmacSigned)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void 검증_캐시에_남아_있어도_제거된_키로_서명한_토큰은_거절한다() throws Exception {
+        JwtKeyRing keyRing = keyRing(JwtAlgorithm.ES256);
+        JwtProvider jwtProvider = new JwtProvider(keyRing, 30 * 60 * 1000L, REFRESH_EXP, new VerifiedTokenCache(100), new SimpleMeterRegistry());
+        String token = jwtProvider.createAccessToken(user);
+        assertThat(jwtProvider.verify(token).getKeyId()).isEqualTo(kidOf(token)); // 캐시에 들어간다
+
+        keyRing.rotate();
+        keyRing.retireExpired(System.currentTimeMillis() + REFRESH_EXP + 60_000);
+
+        assertThatThrownBy(() -> jwtProvider.verify(token)).isInstanceOf(JwtException.class);
+        assertThatThrownBy(() -> jwtProvider.verify(token)).isInstanceOf(JwtException.class); // 캐시에서도 지워져 다시 검증해도 거절된다
+    }
+
+    @Test
+    void HS256_서명에서는_jwt_secret_키를_제거하지_않는다() throws Exception {
+        JwtKeyRing keyRing = keyRing(JwtAlgorithm.HS256);
+        JwtProvider jwtProvider = provider(keyRing);
+        String token = jwtProvider.createAccessToken(user);
+
+        keyRing.retireExpired(System.currentTimeMillis() + REFRESH_EXP + 60_000);
+
+        assertThat(jwtProvider.verify(token).getUserId()).isEqualTo(1L);
+    }
+
+    @Test
+    void 모르는_kid의_토큰은_거절한다() throws Exception {
+        JwtProvider jwtProvider = provider(keyRing(JwtAlgorithm.ES256));
+        String forged = Jwts.builder()
+                .header().keyId("unknown").and()
+                .subject("1")
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Jwts.SIG.ES256.keyPair().build().getPrivate(), Jwts.SIG.ES256)
+                .compact();
+
+        assertThatThrownBy(() -> jwtProvider.verify(forged)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void secret을_교체해도_이전_secret으로_서명한_토큰을_보관_기간_동안_검증한다() throws Exception {
+        byte[] newSecret = "rotated-secret-key-for-hs256-0123456789abcd".getBytes();
+        String oldToken = provider(keyRing(JwtAlgorithm.HS256)).createAccessToken(user);
+
+        String retireAt = Instant.now().plusSeconds(60).toString();
+        JwtKeyRing rotated = new JwtKeyRing(Base64.getEncoder().encodeToString(newSecret), "",
+                Base64.getEncoder().encodeToString(SECRET) + "@" + retireAt, JwtAlgorithm.HS256, "", 0, REFRESH_EXP, objectMapper);
+        JwtProvider jwtProvider = provider(rotated);
+
+        assertThat(jwtProvider.verify(oldToken).getUserId()).isEqualTo(1L);
+        assertThat(kidOf(jwtProvider.createAccessToken(user))).isNotEqualTo(kidOf(oldToken));
+
+        rotated.retireExpired(Instant.now().plusSeconds(120).toEpochMilli());
+
+        assertThatThrownBy(() -> jwtProvider.verify(oldToken)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void 다음_secret으로_서명한_토큰은_올리기_전에도_검증한다() throws Exception {
+        byte[] nextSecret = "next-secret-key-for-hs256-0123456789abcdefgh".getBytes();
+        JwtKeyRing current = new JwtKeyRing(Base64.getEncoder().encodeToString(SECRET),
+                Base64.getEncoder().encodeToString(nextSecret), "", JwtAlgorithm.HS256, "", 0, REFRESH_EXP, objectMapper);
+        String tokenFromUpgradedServer = provider(new JwtKeyRing(Base64.getEncoder().encodeToString(nextSecret),
+                JwtAlgorithm.HS256, "", 0, REFRESH_EXP, objectMapper)).createAccessToken(user);
+
+        assertThat(provider(current).verify(tokenFromUpgradedServer).getUserId()).isEqualTo(1L);
+    }
+
+    private JwtKeyRing keyRing(JwtAlgorithm algorithm) throws Exception {
+        return new JwtKeyRing(Base64.getEncoder().encodeToString(SECRET), algorithm, "", 0, REFRESH_EXP, objectMapper);
+    }
+
+    private JwtProvider provider(JwtKeyRing keyRing) {
+        return new JwtProvider(keyRing, 30 * 60 * 1000L, REFRESH_EXP, new VerifiedTokenCache(0), new SimpleMeterRegistry());
+    }
+
+    private String kidOf(String token) throws Exception {
+        String header = new String(Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.'))));
+        return objectMapper.readTree(header).get("kid").asText();
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.webserver_project.global.pipeline;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 파이프라인 테스트에서 전용 스레드의 처리가 끝나기를 기다리는 도우미 (UserIndexingPipelineTest, UserTokenCleanupPipelineTest)
+public final class PipelineAwait {
+    private static final long TIMEOUT_SECONDS = 5;
+
+    private PipelineAwait() {
+    }
+
+    public static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        while(!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as(TIMEOUT_SECONDS + "초 안에 조건을 만족해야 한다").isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+}
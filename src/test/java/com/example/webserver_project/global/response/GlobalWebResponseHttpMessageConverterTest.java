@@ -0,0 +1,39 @@
+package com.example.webserver_project.global.response;
+
+import com.example.webserver_project.domain.Auth.Dto.response.LoginResponseDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// GlobalWebResponse 전용 컨버터의 출력이 기존 Jackson 직렬화 결과와 같은지 확인하는 테스트
+class GlobalWebResponseHttpMessageConverterTest {
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final GlobalWebResponseHttpMessageConverter converter =
+            new GlobalWebResponseHttpMessageConverter(objectMapper, new SimpleMeterRegistry());
+
+    @Test
+    void 기존_Jackson_직렬화와_같은_JSON을_쓴다() throws Exception {
+        List<GlobalWebResponse<?>> responses = List.of(
+                GlobalWebResponse.success("로그인 성공", LoginResponseDto.builder().id(1L).name("이름").email("a@b.com").build()),
+                GlobalWebResponse.success("로그아웃 성공"),
+                GlobalWebResponse.success(List.of(Map.of("key", "\"따옴표\"\n"))),
+                GlobalWebResponse.error("AUTH_401_001", "로그인 처리 중 오류가 발생했습니다."),
+                new GlobalWebResponse<>(null, null, null)
+        );
+
+        for(GlobalWebResponse<?> response : responses) {
+            MockHttpOutputMessage message = new MockHttpOutputMessage();
+            converter.write(response, MediaType.APPLICATION_JSON, message);
+
+            assertThat(message.getBodyAsBytes()).isEqualTo(objectMapper.writeValueAsBytes(response));
+        }
+    }
+}
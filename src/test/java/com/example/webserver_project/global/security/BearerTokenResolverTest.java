@@ -0,0 +1,55 @@
+package com.example.webserver_project.global.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BearerTokenResolverTest {
+    private final BearerTokenResolver resolver = new BearerTokenResolver();
+
+    @Test
+    void 인증_스키마는_대소문자를_구분하지_않는다() {
+        assertThat(BearerTokenResolver.parseBearer("Bearer abc")).isEqualTo("abc");
+        assertThat(BearerTokenResolver.parseBearer("bearer abc")).isEqualTo("abc");
+        assertThat(BearerTokenResolver.parseBearer("BEARER   abc ")).isEqualTo("abc");
+    }
+
+    @Test
+    void Bearer_토큰이_아니면_null을_반환한다() {
+        assertThat(BearerTokenResolver.parseBearer(null)).isNull();
+        assertThat(BearerTokenResolver.parseBearer("Bearer")).isNull();
+        assertThat(BearerTokenResolver.parseBearer("Bearer   ")).isNull();
+        assertThat(BearerTokenResolver.parseBearer("Bearerabc")).isNull();
+        assertThat(BearerTokenResolver.parseBearer("Basic dXNlcjpwYXNz")).isNull();
+    }
+
+    @Test
+    void 한_요청에서는_헤더를_한_번만_파싱한다() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer abc");
+
+        String first = resolver.resolveAccessToken(request);
+        request.removeHeader("Authorization");
+
+        assertThat(resolver.resolveAccessToken(request)).isSameAs(first);
+    }
+
+    @Test
+    void Cookie_헤더에서_refreshToken만_꺼낸다() {
+        assertThat(BearerTokenResolver.findCookieValue("a=1; refreshToken=abc; b=2", "refreshToken")).isEqualTo("abc");
+        assertThat(BearerTokenResolver.findCookieValue("refreshToken=\"abc\"", "refreshToken")).isEqualTo("abc");
+        assertThat(BearerTokenResolver.findCookieValue("xrefreshToken=abc;refreshToken=def", "refreshToken")).isEqualTo("def");
+        assertThat(BearerTokenResolver.findCookieValue("refreshTokens=abc", "refreshToken")).isNull();
+        assertThat(BearerTokenResolver.findCookieValue("refreshToken=", "refreshToken")).isNull();
+    }
+
+    @Test
+    void 여러_Cookie_헤더를_모두_확인한다() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Cookie", "a=1");
+        request.addHeader("Cookie", "refreshToken=abc");
+
+        assertThat(resolver.resolveRefreshToken(request)).isEqualTo("abc");
+    }
+}
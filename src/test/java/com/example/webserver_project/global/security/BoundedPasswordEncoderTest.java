@@ -0,0 +1,92 @@
+package com.example.webserver_project.global.security;
+
+import com.example.webserver_project.global.exception.CustomException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedPasswordEncoderTest {
+    private static final long WAIT_TIMEOUT_MILLIS = 50;
+
+    private final ExecutorService hashPool = Executors.newSingleThreadExecutor();
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger hashed = new AtomicInteger();
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    // 첫 해싱만 release될 때까지 멈춰 있는 PasswordEncoder (인터럽트를 무시하는 BCrypt처럼 동작)
+    private final PasswordEncoder slowEncoder = new PasswordEncoder() {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            if(hashed.incrementAndGet() == 1) {
+                started.countDown();
+                awaitIgnoringInterrupt(release);
+            }
+            return "hash:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    };
+
+    private final BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(slowEncoder, hashPool, WAIT_TIMEOUT_MILLIS, meterRegistry);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        hashPool.shutdownNow();
+        callers.shutdownNow();
+    }
+
+    private static void awaitIgnoringInterrupt(CountDownLatch latch) {
+        while(true) {
+            try {
+                latch.await();
+                return;
+            } catch (InterruptedException ignored) {
+                // BCrypt는 인터럽트를 확인하지 않는다
+            }
+        }
+    }
+
+    @Test
+    void 이미_시작된_해싱은_대기_시간을_넘어도_끝까지_기다린다() throws Exception {
+        Future<String> running = callers.submit(() -> encoder.encode("a"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        Thread.sleep(WAIT_TIMEOUT_MILLIS * 3); // 대기 시간을 넘긴 뒤에 해싱이 끝난다
+        release.countDown();
+
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("hash:a");
+        assertThat(meterRegistry.counter("auth.password.hash.rejected").count()).isZero();
+    }
+
+    @Test
+    void 큐에서_시작하지_못한_해싱은_거절하고_나중에도_실행하지_않는다() throws Exception {
+        Future<String> running = callers.submit(() -> encoder.encode("a"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> encoder.encode("b")).isInstanceOf(CustomException.class); // 풀 스레드가 하나뿐이므로 큐에서 기다리다 거절된다
+
+        release.countDown();
+        running.get(5, TimeUnit.SECONDS);
+        assertThat(encoder.encode("c")).isEqualTo("hash:c");
+        assertThat(hashed.get()).isEqualTo(2); // "b"는 해싱되지 않았다
+        assertThat(meterRegistry.counter("auth.password.hash.rejected").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("auth.password.hash.abandoned").count()).isZero();
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.webserver_project.global.security;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CachedBodyHttpServletRequestTest {
+    private final byte[] body = "{\"email\":\"kim@example.com\"}".getBytes(StandardCharsets.UTF_8);
+    private final CachedBodyHttpServletRequest request = new CachedBodyHttpServletRequest(new MockHttpServletRequest(), body);
+
+    @Test
+    void 비동기_읽기_리스너에_미리_읽어둔_본문을_바로_넘겨준다() {
+        ServletInputStream in = request.getInputStream();
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        List<String> calls = new ArrayList<>();
+
+        in.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                calls.add("onDataAvailable");
+                byte[] buffer = new byte[8];
+                while(in.isReady() && !in.isFinished()) {
+                    read.write(buffer, 0, in.read(buffer));
+                }
+            }
+
+            @Override
+            public void onAllDataRead() {
+                calls.add("onAllDataRead");
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                calls.add("onError");
+            }
+        });
+
+        assertThat(calls).containsExactly("onDataAvailable", "onAllDataRead");
+        assertThat(read.toByteArray()).isEqualTo(body);
+    }
+
+    @Test
+    void 리스너가_읽다가_실패하면_onError로_알린다() {
+        ServletInputStream in = request.getInputStream();
+        List<Throwable> errors = new ArrayList<>();
+
+        in.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                throw new IOException("읽기 실패");
+            }
+
+            @Override
+            public void onAllDataRead() {
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                errors.add(t);
+            }
+        });
+
+        assertThat(errors).singleElement().extracting(Throwable::getMessage).isEqualTo("읽기 실패");
+    }
+}
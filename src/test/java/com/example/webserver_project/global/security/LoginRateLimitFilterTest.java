@@ -0,0 +1,97 @@
+package com.example.webserver_project.global.security;
+
+import com.example.webserver_project.global.metrics.AuthMetrics;
+import com.example.webserver_project.global.response.StaticJsonResponses;
+import com.example.webserver_project.infra.redis.RedisUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class LoginRateLimitFilterTest {
+    private final AtomicInteger chainCalls = new AtomicInteger();
+    private final AtomicReference<String> forwardedBody = new AtomicReference<>();
+    private final FilterChain chain = (request, response) -> {
+        chainCalls.incrementAndGet();
+        forwardedBody.set(new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+    };
+
+    private LoginRateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        // IP : 버킷 3, 이메일 : 버킷 2
+        filter = new LoginRateLimitFilter(mock(RedisUtil.class), objectMapper, new AuthMetrics(new SimpleMeterRegistry()),
+                new StaticJsonResponses(objectMapper), true, 3, 1, 2, 1, 1000, 4096, false, 60000, 100, 10);
+    }
+
+    @Test
+    void 같은_이메일의_시도가_한도를_넘으면_429로_거절한다() throws Exception {
+        assertThat(login("10.0.0.1", "{\"email\":\"victim@example.com\",\"password\":\"x\"}").getStatus()).isEqualTo(200);
+        assertThat(login("10.0.0.2", "{\"email\":\"VICTIM@example.com\",\"password\":\"x\"}").getStatus()).isEqualTo(200);
+
+        MockHttpServletResponse rejected = login("10.0.0.3", "{\"password\":\"x\",\"email\":\"victim@example.com\"}");
+
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader("Retry-After")).isNotNull();
+        assertThat(chainCalls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void 같은_IP의_시도가_한도를_넘으면_본문을_읽기_전에_거절한다() throws Exception {
+        for(int i = 0; i < 3; i++) {
+            login("10.0.0.1", "{\"email\":\"user" + i + "@example.com\",\"password\":\"x\"}");
+        }
+
+        assertThat(login("10.0.0.1", "{\"email\":\"other@example.com\",\"password\":\"x\"}").getStatus()).isEqualTo(429);
+        assertThat(chainCalls.get()).isEqualTo(3);
+    }
+
+    @Test
+    void 통과한_요청의_본문은_컨트롤러가_다시_읽을_수_있다() throws Exception {
+        String body = "{\"email\":\"a@example.com\",\"password\":\"비밀번호\"}";
+
+        login("10.0.0.1", body);
+
+        assertThat(forwardedBody.get()).isEqualTo(body);
+    }
+
+    @Test
+    void email_필드가_여러_번_오면_마지막_값으로_제한한다() {
+        String email = filter.extractEmail("{\"email\":\"x@example.com\",\"nested\":{\"email\":\"y\"},\"email\":\"Victim@example.com\"}"
+                .getBytes(StandardCharsets.UTF_8));
+
+        assertThat(email).isEqualTo("victim@example.com");
+        assertThat(filter.extractEmail("not json".getBytes(StandardCharsets.UTF_8))).isNull();
+    }
+
+    @Test
+    void 로그인이_아닌_요청은_제한하지_않는다() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/auth/refresh");
+        request.setServletPath("/auth/refresh");
+
+        assertThat(filter.shouldNotFilter(request)).isTrue();
+    }
+
+    private MockHttpServletResponse login(String ip, String body) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", LoginRateLimitFilter.LOGIN_PATH);
+        request.setServletPath(LoginRateLimitFilter.LOGIN_PATH);
+        request.setRemoteAddr(ip);
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
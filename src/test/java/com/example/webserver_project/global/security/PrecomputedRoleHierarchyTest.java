@@ -0,0 +1,38 @@
+package com.example.webserver_project.global.security;
+
+import com.example.webserver_project.global.jwt.RoleType;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrecomputedRoleHierarchyTest {
+    private final PrecomputedRoleHierarchy roleHierarchy = new PrecomputedRoleHierarchy();
+
+    @Test
+    void 상위_권한은_하위_권한을_모두_포함한다() {
+        assertThat(AuthorityUtils.authorityListToSet(roleHierarchy.getReachableGrantedAuthorities(RoleType.ADMIN.getAuthorities())))
+                .containsExactlyInAnyOrder("ROLE_ADMIN", "ROLE_MANAGER", "ROLE_USER");
+        assertThat(AuthorityUtils.authorityListToSet(roleHierarchy.getReachableGrantedAuthorities(RoleType.USER.getAuthorities())))
+                .containsExactly("ROLE_USER");
+        assertThat(RoleType.ADMIN.implies(RoleType.USER)).isTrue();
+        assertThat(RoleType.USER.implies(RoleType.MANAGER)).isFalse();
+    }
+
+    @Test
+    void 권한_목록은_매번_같은_객체를_반환한다() {
+        assertThat(RoleType.USER.getAuthorities()).isSameAs(RoleType.USER.getAuthorities());
+        assertThat(roleHierarchy.getReachableGrantedAuthorities(List.of(new SimpleGrantedAuthority("ROLE_MANAGER"))))
+                .isSameAs(RoleType.MANAGER.getReachableAuthorities());
+    }
+
+    @Test
+    void RoleType이_아닌_권한은_그대로_유지한다() {
+        assertThat(AuthorityUtils.authorityListToSet(roleHierarchy.getReachableGrantedAuthorities(
+                List.of(new SimpleGrantedAuthority("SCOPE_read"), RoleType.MANAGER.getAuthority()))))
+                .containsExactlyInAnyOrder("SCOPE_read", "ROLE_MANAGER", "ROLE_USER");
+    }
+}
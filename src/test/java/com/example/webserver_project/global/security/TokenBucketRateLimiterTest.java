@@ -0,0 +1,80 @@
+package com.example.webserver_project.global.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketRateLimiterTest {
+    private final AtomicLong now = new AtomicLong(-TimeUnit.HOURS.toNanos(1)); // nanoTime은 음수일 수도 있다
+
+    @Test
+    void 버킷_크기만큼_연속으로_허용하고_이후에는_대기_시간을_반환한다() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(3, 60, 100, now::get); // 1초에 토큰 1개
+
+        assertThat(limiter.tryAcquire("1.1.1.1")).isZero();
+        assertThat(limiter.tryAcquire("1.1.1.1")).isZero();
+        assertThat(limiter.tryAcquire("1.1.1.1")).isZero();
+        assertThat(limiter.tryAcquire("1.1.1.1")).isEqualTo(TimeUnit.SECONDS.toNanos(1));
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(400));
+        assertThat(limiter.tryAcquire("1.1.1.1")).isEqualTo(TimeUnit.MILLISECONDS.toNanos(600)); // 거절된 요청은 토큰을 소비하지 않는다
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(600));
+        assertThat(limiter.tryAcquire("1.1.1.1")).isZero();
+        assertThat(limiter.tryAcquire("1.1.1.1")).isPositive();
+    }
+
+    @Test
+    void 오래_요청이_없으면_버킷이_가득_찬다() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(2, 60, 100, now::get);
+        limiter.tryAcquire("a");
+        limiter.tryAcquire("a");
+
+        now.addAndGet(TimeUnit.MINUTES.toNanos(10));
+
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isPositive(); // 쉬는 동안 버킷 크기 이상으로 쌓이지는 않는다
+    }
+
+    @Test
+    void key마다_버킷이_따로_있다() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 1, 100, now::get);
+
+        assertThat(limiter.tryAcquire("a@example.com")).isZero();
+        assertThat(limiter.tryAcquire("a@example.com")).isPositive();
+        assertThat(limiter.tryAcquire("b@example.com")).isZero();
+    }
+
+    @Test
+    void 동시에_요청해도_버킷_크기만큼만_허용한다() throws InterruptedException {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(50, 1, 100, now::get);
+        AtomicInteger acquired = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for(int i = 0; i < 8; i++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for(int j = 0; j < 100; j++) {
+                    if(limiter.tryAcquire("same-key") == 0) acquired.incrementAndGet();
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(acquired.get()).isEqualTo(50);
+    }
+}
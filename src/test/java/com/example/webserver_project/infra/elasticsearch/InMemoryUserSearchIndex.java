@@ -0,0 +1,85 @@
+package com.example.webserver_project.infra.elasticsearch;
+
+import com.example.webserver_project.domain.user.Document.UserDocument;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 테스트에서 Elasticsearch 대신 사용하는 인메모리 사용자 검색 색인
+// bulk 호출 기록, 실패 주입(failNext), bulk 일시 정지(pause)를 지원한다.
+public class InMemoryUserSearchIndex implements UserSearchIndex {
+    private final Map<String, UserDocument> documents = new ConcurrentHashMap<>();
+    private final List<Integer> bulkSizes = new CopyOnWriteArrayList<>(); // 성공한 bulk 요청별 문서 수
+    private final AtomicInteger failuresRemaining = new AtomicInteger();
+    private volatile CountDownLatch gate = new CountDownLatch(0);
+    private volatile boolean created;
+
+    @Override
+    public synchronized boolean ensureIndex() {
+        if(created) {
+            return false;
+        }
+        created = true;
+        return true;
+    }
+
+    @Override
+    public void bulk(List<UserDocument> upserts, Collection<Long> deletedUserIds) {
+        try {
+            gate.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+        if(failuresRemaining.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+            throw new IllegalStateException("주입된 bulk 실패");
+        }
+        upserts.forEach(document -> documents.put(document.getId(), document));
+        deletedUserIds.forEach(userId -> documents.remove(String.valueOf(userId)));
+        bulkSizes.add(upserts.size() + deletedUserIds.size());
+    }
+
+    @Override
+    public List<UserDocument> searchByPrefix(String prefix, int size) {
+        String lower = prefix.toLowerCase(Locale.ROOT);
+        List<UserDocument> result = new ArrayList<>();
+        for(UserDocument document : documents.values()) {
+            boolean nameMatches = document.getName() != null && document.getName().toLowerCase(Locale.ROOT).startsWith(lower);
+            boolean emailMatches = document.getEmail() != null && document.getEmail().startsWith(lower);
+            if(nameMatches || emailMatches) {
+                result.add(document);
+            }
+        }
+        result.sort(Comparator.comparing(UserDocument::getUserId));
+        return result.subList(0, Math.min(size, result.size()));
+    }
+
+    public UserDocument get(long userId) {
+        return documents.get(String.valueOf(userId));
+    }
+
+    public List<Integer> getBulkSizes() {
+        return bulkSizes;
+    }
+
+    public void failNext(int times) {
+        failuresRemaining.set(times);
+    }
+
+    // resume()까지 bulk 호출을 멈춘다 (Elasticsearch가 느린 상황)
+    public void pause() {
+        gate = new CountDownLatch(1);
+    }
+
+    public void resume() {
+        gate.countDown();
+    }
+}
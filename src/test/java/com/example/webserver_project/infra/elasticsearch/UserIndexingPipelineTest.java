@@ -0,0 +1,124 @@
+package com.example.webserver_project.infra.elasticsearch;
+
+import com.example.webserver_project.domain.user.Event.UserChangedEvent;
+import com.example.webserver_project.global.jwt.RoleType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.webserver_project.global.pipeline.PipelineAwait.await;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserIndexingPipelineTest {
+    private final InMemoryUserSearchIndex index = new InMemoryUserSearchIndex();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<Object> publishedEvents = new CopyOnWriteArrayList<>();
+    private UserIndexingPipeline pipeline;
+
+    @AfterEach
+    void tearDown() {
+        index.resume();
+        pipeline.stop();
+    }
+
+    private UserIndexingPipeline start(int batchSize, long flushIntervalMillis, int queueCapacity) {
+        pipeline = new UserIndexingPipeline(index, publishedEvents::add, meterRegistry, true, batchSize, flushIntervalMillis, queueCapacity, 10, 2, 1);
+        pipeline.start();
+        return pipeline;
+    }
+
+    private static UserChangedEvent joined(long userId, String name, String email) {
+        return new UserChangedEvent(UserChangedEvent.Type.UPSERTED, userId, name, email, RoleType.USER);
+    }
+
+    @Test
+    void 배치_크기만큼_모이면_한_번의_bulk로_보낸다() throws InterruptedException {
+        start(3, TimeUnit.MINUTES.toMillis(1), 100);
+
+        pipeline.enqueue(joined(1, "김철수", "kim@example.com"));
+        pipeline.enqueue(joined(2, "이영희", "lee@example.com"));
+        pipeline.enqueue(joined(3, "박민수", "park@example.com"));
+
+        await(() -> !index.getBulkSizes().isEmpty());
+        assertThat(index.getBulkSizes()).containsExactly(3);
+    }
+
+    @Test
+    void 색인을_새로_만들었다면_기존_사용자_색인을_요청하는_이벤트를_한_번만_발행한다() throws InterruptedException {
+        start(1, 20, 100);
+
+        pipeline.enqueue(joined(1, "김철수", "kim@example.com"));
+        await(() -> index.get(1) != null);
+        pipeline.prepareIndex();
+
+        assertThat(publishedEvents).hasSize(1).first().isInstanceOf(UserSearchIndexCreatedEvent.class);
+    }
+
+    @Test
+    void 배치가_덜_차도_flush_간격이_지나면_보낸다() throws InterruptedException {
+        start(100, 20, 100);
+
+        pipeline.enqueue(joined(1, "김철수", "Kim@Example.com"));
+
+        await(() -> index.get(1) != null);
+        assertThat(index.get(1).getEmail()).isEqualTo("kim@example.com"); // 이메일은 소문자로 색인한다
+        assertThat(index.searchByPrefix("KIM", 10)).hasSize(1);
+    }
+
+    @Test
+    void 같은_배치에서_같은_사용자의_변경은_마지막_것만_보낸다() throws InterruptedException {
+        start(4, TimeUnit.MINUTES.toMillis(1), 100);
+        pipeline.enqueue(joined(1, "김철수", "kim@example.com"));
+        pipeline.enqueue(joined(1, "김철수2", "kim@example.com"));
+        pipeline.enqueue(UserChangedEvent.deleted(1L));
+        pipeline.enqueue(joined(2, "이영희", "lee@example.com"));
+
+        await(() -> !index.getBulkSizes().isEmpty());
+        assertThat(index.getBulkSizes()).containsExactly(2);
+        assertThat(index.get(1)).isNull();
+        assertThat(index.get(2)).isNotNull();
+    }
+
+    @Test
+    void bulk가_실패하면_재시도한다() throws InterruptedException {
+        index.failNext(2); // max-retries = 2
+        start(1, 20, 100);
+
+        pipeline.enqueue(joined(1, "김철수", "kim@example.com"));
+
+        await(() -> index.get(1) != null);
+        assertThat(meterRegistry.get("search.user_index.bulk").tag("outcome", "failure").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void 큐가_가득_차면_기다린_뒤_버린다() throws InterruptedException {
+        index.pause(); // Elasticsearch가 응답하지 않는 상황
+        start(1, 20, 1);
+        pipeline.enqueue(joined(1, "김철수", "kim@example.com"));
+        await(() -> pipeline.pendingCount() == 0); // 첫 변경은 bulk 중에 멈춰 있다
+
+        assertThat(pipeline.enqueue(joined(2, "이영희", "lee@example.com"))).isTrue(); // 큐 한 칸
+        long start = System.nanoTime();
+        assertThat(pipeline.enqueue(joined(3, "박민수", "park@example.com"))).isFalse();
+        assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(10)); // offer-timeout-ms 동안 기다린다
+        assertThat(meterRegistry.get("search.user_index.dropped").tag("reason", "queue_full").counter().count()).isEqualTo(1);
+
+        index.resume();
+        await(() -> index.get(2) != null);
+        assertThat(index.get(3)).isNull();
+    }
+
+    @Test
+    void 종료할_때_큐에_남은_변경을_보낸다() {
+        start(100, TimeUnit.MINUTES.toMillis(1), 100);
+        pipeline.enqueue(joined(1, "김철수", "kim@example.com"));
+
+        pipeline.stop();
+
+        assertThat(index.get(1)).isNotNull();
+    }
+}
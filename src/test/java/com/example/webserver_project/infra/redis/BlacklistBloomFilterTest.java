@@ -0,0 +1,122 @@
+package com.example.webserver_project.infra.redis;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.util.HashSet;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// 인메모리 Set을 Redis 대신 사용해서, 블룸 필터가 Redis 왕복을 얼마나 생략하는지 확인하는 테스트
+class BlacklistBloomFilterTest {
+    private final Set<String> redisKeys = new HashSet<>(); // Redis 대용 저장소
+    private final AtomicInteger redisRoundTrips = new AtomicInteger(); // hasKey(EXISTS) 호출 횟수
+
+    private BlacklistBloomFilter filter;
+    private RedisUtil redisUtil;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        StringRedisTemplate template = mock(StringRedisTemplate.class);
+        ValueOperations<String, String> ops = mock(ValueOperations.class);
+        when(template.opsForValue()).thenReturn(ops);
+        doAnswer(invocation -> redisKeys.add(invocation.getArgument(0)))
+                .when(ops).set(anyString(), eq("1"), anyLong(), eq(TimeUnit.MILLISECONDS));
+        when(template.hasKey(anyString())).thenAnswer(invocation -> {
+            redisRoundTrips.incrementAndGet();
+            return redisKeys.contains(invocation.<String>getArgument(0));
+        });
+
+        filter = new BlacklistBloomFilter(10_000, 0.01);
+        redisUtil = new RedisUtil(template, filter, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void 구성_전에는_모든_조회를_Redis로_보낸다() {
+        redisUtil.isBlacklisted(RedisUtil.BLACKLIST_TOKEN_PREFIX + UUID.randomUUID());
+
+        assertThat(filter.isReady()).isFalse();
+        assertThat(redisRoundTrips.get()).isEqualTo(1);
+    }
+
+    @Test
+    void 블랙리스트에_없는_토큰은_Redis_조회를_생략한다() {
+        // 서버 시작 시 Redis keyspace로부터 필터를 구성하는 상황
+        for(int i = 0; i < 1_000; i++) {
+            redisKeys.add(RedisUtil.BLACKLIST_TOKEN_PREFIX + UUID.randomUUID());
+        }
+        filter.beginRebuild();
+        redisKeys.forEach(filter::putRebuilding);
+        filter.completeRebuild();
+
+        // 이후 로그아웃된 토큰
+        String loggedOut = RedisUtil.BLACKLIST_TOKEN_PREFIX + UUID.randomUUID();
+        redisUtil.setBlacklist(loggedOut, 60_000);
+
+        // 블랙리스트에 등록된 토큰은 모두 걸러져야 한다 (블룸 필터는 false negative가 없다)
+        for(String key : redisKeys) {
+            assertThat(redisUtil.isBlacklisted(key)).isTrue();
+        }
+        redisRoundTrips.set(0);
+
+        // 블랙리스트에 없는 정상 토큰 요청
+        int requests = 100_000;
+        for(int i = 0; i < requests; i++) {
+            assertThat(redisUtil.isBlacklisted(RedisUtil.BLACKLIST_TOKEN_PREFIX + UUID.randomUUID())).isFalse();
+        }
+
+        int skipped = requests - redisRoundTrips.get();
+        assertThat(skipped)
+                .as("%d requests, %d Redis round trips, %d skipped (%.2f%%)",
+                        requests, redisRoundTrips.get(), skipped, skipped * 100.0 / requests)
+                .isGreaterThanOrEqualTo((int) (requests * 0.97));
+    }
+
+    @Test
+    void 재구성_교체와_동시에_추가된_key도_잃어버리지_않는다() throws Exception {
+        filter.beginRebuild();
+        filter.completeRebuild();
+        Queue<String> redisKeyspace = new ConcurrentLinkedQueue<>(); // 동시에 SCAN할 수 있는 Redis 대용 저장소
+        AtomicBoolean putting = new AtomicBoolean(true);
+        // BlacklistFilterSynchronizer처럼 재구성(SCAN) -> 교체를 계속 반복하는 스레드
+        Thread synchronizer = new Thread(() -> {
+            while(putting.get()) {
+                filter.beginRebuild();
+                redisKeyspace.forEach(filter::putRebuilding);
+                filter.completeRebuild();
+            }
+        });
+        synchronizer.start();
+
+        try {
+            for(int i = 0; i < 20_000; i++) {
+                String key = RedisUtil.BLACKLIST_TOKEN_PREFIX + i;
+                redisKeyspace.add(key); // Redis에 SET한 뒤에 필터에 넣는다 (RedisUtil.setBlacklist와 같은 순서)
+                filter.put(key);
+            }
+        } finally {
+            putting.set(false);
+            synchronizer.join();
+        }
+
+        // 교체 직전에 들어온 key도 교체된 배열에 남아 있어야 한다 (빠지면 다음 재구성까지 Redis 확인 없이 통과함)
+        assertThat(redisKeyspace).allMatch(filter::mightContain);
+    }
+}
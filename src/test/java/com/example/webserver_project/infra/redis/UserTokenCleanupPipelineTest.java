@@ -0,0 +1,138 @@
+package com.example.webserver_project.infra.redis;
+
+import com.example.webserver_project.domain.user.Event.UserChangedEvent;
+import com.example.webserver_project.global.jwt.RoleType;
+import com.example.webserver_project.loadtest.InMemoryRedisUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.example.webserver_project.global.pipeline.PipelineAwait.await;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserTokenCleanupPipelineTest {
+    private static final long ACCESS_TOKEN_TTL_MILLIS = 1_800_000;
+
+    private final List<List<Long>> unlinkedBatches = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicInteger unlinkFailures = new AtomicInteger(); // 남은 UNLINK 실패 횟수
+    private volatile boolean redisDown; // 모든 명령이 실패하는 Redis 장애 상황
+    private volatile CountDownLatch unlinkGate = new CountDownLatch(0); // UNLINK pipeline을 멈춰두는 용도
+
+    private final InMemoryRedisUtil redisUtil = new InMemoryRedisUtil(new BlacklistBloomFilter(10_000, 0.01)) {
+        @Override
+        public void blacklistUsers(Collection<Long> userIds, long ttlMillis) {
+            if(redisDown) {
+                throw new IllegalStateException("redis down");
+            }
+            super.blacklistUsers(userIds, ttlMillis);
+        }
+
+        @Override
+        public void unlinkRefreshTokens(Collection<Long> userIds) {
+            if(redisDown || unlinkFailures.getAndDecrement() > 0) {
+                throw new IllegalStateException("redis down");
+            }
+            unlinkedBatches.add(new ArrayList<>(userIds));
+            try {
+                unlinkGate.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            super.unlinkRefreshTokens(userIds);
+        }
+    };
+
+    private UserTokenCleanupPipeline pipeline;
+
+    @AfterEach
+    void tearDown() {
+        redisDown = false;
+        unlinkGate.countDown();
+        pipeline.stop();
+    }
+
+    private void start(int queueCapacity) {
+        pipeline = new UserTokenCleanupPipeline(redisUtil, new SimpleMeterRegistry(), true, 100, queueCapacity, 10, 2, 1, ACCESS_TOKEN_TTL_MILLIS);
+        pipeline.start();
+    }
+
+    private void awaitUnlinked(int userCount) throws InterruptedException {
+        await(() -> unlinkedBatches.stream().mapToInt(List::size).sum() >= userCount);
+    }
+
+    // JwtAuthFilter가 확인하는 사용자 단위 블랙리스트
+    private boolean isRejected(long userId) {
+        return redisUtil.isBlacklisted(RedisUtil.BLACKLIST_USER_PREFIX + userId);
+    }
+
+    @Test
+    void 탈퇴_이벤트만_모아서_refresh_token을_지운다() throws InterruptedException {
+        unlinkGate = new CountDownLatch(1); // 첫 pipeline이 끝나기 전에 들어온 탈퇴는 다음 pipeline 하나로 묶인다
+        start(100);
+
+        pipeline.onUserChanged(UserChangedEvent.deleted(1L));
+        awaitUnlinked(1);
+        pipeline.onUserChanged(new UserChangedEvent(UserChangedEvent.Type.UPSERTED, 2L, "김철수", "kim@example.com", RoleType.USER));
+        pipeline.onUserChanged(UserChangedEvent.deleted(3L));
+        pipeline.onUserChanged(UserChangedEvent.deleted(4L));
+        pipeline.onUserChanged(UserChangedEvent.deleted(3L));
+        unlinkGate.countDown();
+
+        awaitUnlinked(3);
+        assertThat(unlinkedBatches).containsExactly(List.of(1L), List.of(3L, 4L)); // 가입 이벤트는 무시하고, 같은 사용자는 한 번만 보낸다
+        assertThat(isRejected(1)).isTrue();
+        assertThat(isRejected(2)).isFalse();
+        assertThat(isRejected(3)).isTrue();
+    }
+
+    @Test
+    void refresh_token_삭제_실패는_재시도한다() throws InterruptedException {
+        unlinkFailures.set(1);
+        start(100);
+
+        assertThat(pipeline.enqueue(7L)).isTrue();
+
+        awaitUnlinked(1);
+        assertThat(unlinkedBatches).containsExactly(List.of(7L));
+    }
+
+    @Test
+    void 큐가_가득_차서_refresh_token_삭제를_버려도_access_token은_거절한다() throws InterruptedException {
+        unlinkGate = new CountDownLatch(1); // Redis가 느려서 UNLINK pipeline이 멈춰 있는 상황
+        start(1);
+        pipeline.onUserChanged(UserChangedEvent.deleted(1L));
+        awaitUnlinked(1);
+
+        pipeline.onUserChanged(UserChangedEvent.deleted(2L)); // 큐 한 칸
+        pipeline.onUserChanged(UserChangedEvent.deleted(3L)); // 큐가 가득 차서 UNLINK는 버려진다
+
+        assertThat(isRejected(1)).isTrue();
+        assertThat(isRejected(2)).isTrue();
+        assertThat(isRejected(3)).isTrue();
+    }
+
+    @Test
+    void Redis_장애로_블랙리스트에_등록하지_못하면_복구될_때까지_다시_등록한다() throws InterruptedException {
+        start(100);
+        redisDown = true;
+
+        pipeline.onUserChanged(UserChangedEvent.deleted(7L));
+        pipeline.retryPendingBlacklist(); // 아직 장애 중
+
+        assertThat(pipeline.pendingBlacklistCount()).isEqualTo(1);
+
+        redisDown = false;
+        pipeline.retryPendingBlacklist();
+
+        assertThat(pipeline.pendingBlacklistCount()).isZero();
+        assertThat(isRejected(7)).isTrue();
+    }
+}
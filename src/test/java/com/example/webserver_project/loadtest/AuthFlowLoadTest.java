@@ -0,0 +1,188 @@
+package com.example.webserver_project.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.env.Environment;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 인증 흐름 부하 테스트 - ./gradlew loadTest 로 실행한다. (일반 test 태스크에서는 제외됨)
+// 외부 MySQL/Redis 없이 H2 + InMemoryRedisUtil로 애플리케이션을 실제 포트에 띄우고,
+// 가상 사용자마다 회원가입 -> 로그인 -> 토큰 재발급(N회) -> 로그아웃 -> 회원 탈퇴를 실제 HTTP로 호출한다.
+    // ㄴ> 로그아웃은 Authorization 헤더를 JwtAuthFilter가 검증하는 인증 경로를 거친다.
+// 설정 (-Ploadtest.xxx=값)
+    // ㄴ> loadtest.users : 가상 사용자 수 (기본 200)
+    // ㄴ> loadtest.concurrency : 동시에 요청을 보내는 클라이언트 수 (기본 32)
+    // ㄴ> loadtest.refreshes : 사용자당 토큰 재발급 횟수 (기본 5)
+    // ㄴ> loadtest.warmup-users : 측정 전에 JIT 워밍업용으로 실행할 사용자 수 (기본 50)
+    // ㄴ> loadtest.max-error-rate : 허용하는 최대 오류율 (기본 0.0)
+// 결과(처리량, p50/p99/p999, 오류율)는 build/reports/loadtest/latest.json 과 시각별 파일에 저장된다.
+@Tag("load")
+@ActiveProfiles("loadtest")
+@Import(LoadTestConfig.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class AuthFlowLoadTest {
+    private static final Logger log = LoggerFactory.getLogger(AuthFlowLoadTest.class);
+    private static final String PASSWORD = "load-test-password";
+
+    @MockitoBean
+    private RedisMessageListenerContainer redisMessageListenerContainer; // Redis 서버가 없으므로 pub/sub 구독을 띄우지 않는다
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Environment environment;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final AtomicInteger userSequence = new AtomicInteger();
+
+    @Test
+    void 인증_흐름_부하_테스트() throws Exception {
+        int users = Integer.getInteger("loadtest.users", 200);
+        int concurrency = Integer.getInteger("loadtest.concurrency", 32);
+        int refreshes = Integer.getInteger("loadtest.refreshes", 5);
+        int warmupUsers = Integer.getInteger("loadtest.warmup-users", 50);
+        double maxErrorRate = Double.parseDouble(System.getProperty("loadtest.max-error-rate", "0.0"));
+
+        run(warmupUsers, concurrency, refreshes, new LatencyRecorder()); // 워밍업 결과는 버린다
+
+        LatencyRecorder recorder = new LatencyRecorder();
+        long started = System.nanoTime();
+        run(users, concurrency, refreshes, recorder);
+        double elapsedSeconds = (System.nanoTime() - started) / 1_000_000_000.0;
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("users", users);
+        report.put("concurrency", concurrency);
+        report.put("refreshesPerUser", refreshes);
+        report.put("virtualThreads", environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false));
+        report.put("elapsedSeconds", Math.round(elapsedSeconds * 100) / 100.0);
+        report.put("requests", recorder.totalRequests());
+        report.put("throughputPerSecond", Math.round(recorder.totalRequests() / elapsedSeconds * 100) / 100.0);
+        report.put("errorRate", recorder.totalRequests() == 0 ? 0.0 : (double) recorder.totalErrors() / recorder.totalRequests());
+        report.put("endpoints", recorder.summarize(elapsedSeconds));
+        writeReport(report);
+
+        assertThat((double) report.get("errorRate")).isLessThanOrEqualTo(maxErrorRate);
+    }
+
+    // 가상 사용자 users명을 concurrency개의 클라이언트 스레드가 나눠서 실행한다. (closed-loop : 응답을 받아야 다음 요청을 보냄)
+    private void run(int users, int concurrency, int refreshes, LatencyRecorder recorder) throws Exception {
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        try {
+            List<Future<?>> futures = new ArrayList<>(users);
+            for(int i = 0; i < users; i++) {
+                futures.add(clients.submit(() -> {
+                    runUserFlow(refreshes, recorder);
+                    return null;
+                }));
+            }
+            for(Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            clients.shutdown();
+        }
+    }
+
+    // 가상 사용자 한 명의 흐름. 앞 단계가 실패하면 이후 단계는 진행하지 않는다.
+    private void runUserFlow(int refreshes, LatencyRecorder recorder) throws Exception {
+        int id = userSequence.incrementAndGet();
+        String email = "load-" + id + "@example.com";
+        String name = "load" + id;
+
+        HttpResponse<String> join = post("/user/join", json(Map.of("name", name, "email", email, "password", PASSWORD)), Map.of(), recorder);
+        if(join.statusCode() != 200) return;
+
+        HttpResponse<String> login = post("/auth/login", json(Map.of("email", email, "password", PASSWORD)), Map.of(), recorder);
+        if(login.statusCode() != 200) return;
+        String accessToken = login.headers().firstValue("Authorization").orElse(null);
+        String refreshToken = extractRefreshToken(login);
+
+        for(int i = 0; i < refreshes && refreshToken != null; i++) {
+            HttpResponse<String> refresh = post("/auth/refresh", "", Map.of("Cookie", "refreshToken=" + refreshToken), recorder);
+            if(refresh.statusCode() != 200) return;
+            accessToken = refresh.headers().firstValue("Authorization").orElse(accessToken);
+            refreshToken = extractRefreshToken(refresh);
+        }
+
+        if(accessToken != null) {
+            post("/auth/logout", "", Map.of("Authorization", accessToken), recorder);
+        }
+        post("/user/delete", json(Map.of("name", name, "email", email, "password", PASSWORD)), Map.of(), recorder);
+    }
+
+    private HttpResponse<String> post(String path, String body, Map<String, String> headers, LatencyRecorder recorder) throws Exception {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        headers.forEach(builder::header);
+
+        long started = System.nanoTime();
+        HttpResponse<String> response = client.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+        recorder.record("POST " + path, System.nanoTime() - started, response.statusCode() == 200);
+        return response;
+    }
+
+    // Set-Cookie 헤더에서 refreshToken 값을 꺼낸다.
+    private static String extractRefreshToken(HttpResponse<String> response) {
+        for(String cookie : response.headers().allValues("Set-Cookie")) {
+            if(cookie.startsWith("refreshToken=")) {
+                int end = cookie.indexOf(';');
+                return cookie.substring("refreshToken=".length(), end < 0 ? cookie.length() : end);
+            }
+        }
+        return null;
+    }
+
+    private String json(Map<String, String> body) throws Exception {
+        return objectMapper.writeValueAsString(body);
+    }
+
+    private void writeReport(Map<String, Object> report) throws Exception {
+        Path directory = Path.of("build", "reports", "loadtest");
+        Files.createDirectories(directory);
+        String content = objectMapper.copy()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValueAsString(report);
+        Files.writeString(directory.resolve("latest.json"), content);
+        Files.writeString(directory.resolve("auth-flow-" + Instant.now().toEpochMilli() + ".json"), content);
+        log.info("부하 테스트 결과\n{}", content);
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.webserver_project.loadtest;
+
+import com.example.webserver_project.infra.redis.BlacklistBloomFilter;
+import com.example.webserver_project.infra.redis.RedisUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import static org.mockito.Mockito.mock;
+
+// 부하 테스트에서 Redis 서버 대신 사용하는 인메모리 RedisUtil
+// RedisUtil의 모든 함수를 ConcurrentHashMap으로 다시 구현한다. (TTL은 조회 시점에 확인)
+// Lua 스크립트로 원자적으로 처리하던 함수(refresh token 패밀리, blacklistAndRevoke)는 compute()로 같은 의미를 유지한다.
+// ㄴ> refresh token 패밀리 hash는 key별 HashMap으로 따로 보관한다. (compute() 안에서만 수정)
+// 네트워크 왕복이 없으므로, 측정 결과는 Redis 지연을 제외한 애플리케이션 자체의 비용이다.
+public class InMemoryRedisUtil extends RedisUtil {
+    private final Map<String, Entry> store = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, Family>> families = new ConcurrentHashMap<>();
+    private final BlacklistBloomFilter blacklistBloomFilter;
+
+    public InMemoryRedisUtil(BlacklistBloomFilter blacklistBloomFilter) {
+        super(mock(StringRedisTemplate.class), blacklistBloomFilter, new SimpleMeterRegistry());
+        this.blacklistBloomFilter = blacklistBloomFilter;
+    }
+
+    @Override
+    public String getData(String key) {
+        Entry entry = store.get(key);
+        if(entry == null) return null;
+        if(entry.isExpired(System.currentTimeMillis())) {
+            store.remove(key, entry);
+            return null;
+        }
+        return entry.value();
+    }
+
+    @Override
+    public boolean existData(String key) {
+        return getData(key) != null;
+    }
+
+    @Override
+    public void setData(String key, String value) {
+        store.put(key, new Entry(value, Long.MAX_VALUE));
+    }
+
+    @Override
+    public void setData(String key, String value, long ttlSecond) {
+        store.put(key, new Entry(value, System.currentTimeMillis() + ttlSecond * 1000));
+    }
+
+    @Override
+    public void deleteData(String key) {
+        store.remove(key);
+    }
+
+    @Override
+    public Optional<String> refreshTokenValid(String key) {
+        return Optional.ofNullable(getData(key));
+    }
+
+    @Override
+    public void issueRefreshFamily(String familyKey, String familyId, String tokenHash, long expiresAtMillis, int maxFamilies) {
+        families.compute(familyKey, (k, fields) -> {
+            long now = System.currentTimeMillis();
+            Map<String, Family> next = fields == null ? new HashMap<>() : fields;
+            next.values().removeIf(family -> family.expiresAt() <= now);
+            if(next.size() >= maxFamilies) {
+                next.entrySet().stream()
+                        .min(Map.Entry.comparingByValue((a, b) -> Long.compare(a.expiresAt(), b.expiresAt())))
+                        .ifPresent(oldest -> next.remove(oldest.getKey()));
+            }
+            next.put(familyId, new Family(1, tokenHash, expiresAtMillis, 0));
+            return next;
+        });
+    }
+
+    @Override
+    public int rotateRefreshFamily(String familyKey, String familyId, long generation, String tokenHash, String newTokenHash, long graceMillis) {
+        int[] result = {REFRESH_REJECTED};
+        families.computeIfPresent(familyKey, (k, fields) -> {
+            long now = System.currentTimeMillis();
+            Family family = fields.get(familyId);
+            if(family == null) { // Lua 스크립트와 같이 만료 시각은 확인하지 않는다 (refresh token의 exp는 AuthService에서 이미 검증됨)
+                return fields;
+            }
+            if(family.generation() == generation && family.tokenHash().equals(tokenHash)) {
+                fields.put(familyId, new Family(generation + 1, newTokenHash, family.expiresAt(), now));
+                result[0] = REFRESH_ROTATED;
+            } else if(family.generation() == generation + 1 && now - family.rotatedAt() < graceMillis) {
+                result[0] = REFRESH_REJECTED;
+            } else {
+                fields.remove(familyId);
+                result[0] = REFRESH_REUSE_DETECTED;
+            }
+            return fields.isEmpty() ? null : fields;
+        });
+        return result[0];
+    }
+
+    @Override
+    public boolean consumeLegacyRefreshToken(String key, String expectedToken) {
+        boolean[] consumed = {false};
+        store.computeIfPresent(key, (k, entry) -> {
+            if(!entry.isExpired(System.currentTimeMillis()) && entry.value().equals(expectedToken)) {
+                consumed[0] = true;
+                return null;
+            }
+            return entry;
+        });
+        return consumed[0];
+    }
+
+    @Override
+    public void blacklistAndRevoke(String blacklistKey, long ttlMillis, String refreshKey, String familyId) {
+        if(ttlMillis > 0) {
+            setBlacklist(blacklistKey, ttlMillis);
+        }
+        if(familyId == null) {
+            store.remove(refreshKey);
+        } else {
+            families.computeIfPresent(refreshKey, (k, fields) -> {
+                fields.remove(familyId);
+                return fields.isEmpty() ? null : fields;
+            });
+        }
+    }
+
+    @Override
+    public void setBlacklist(String key, long ttlMillis) {
+        store.put(key, new Entry("1", System.currentTimeMillis() + ttlMillis));
+        blacklistBloomFilter.put(key);
+    }
+
+    @Override
+    public void blacklistUsers(Collection<Long> userIds, long ttlMillis) {
+        for(Long userId : userIds) {
+            setBlacklist(BLACKLIST_USER_PREFIX + userId, ttlMillis);
+        }
+    }
+
+    @Override
+    public void unlinkRefreshTokens(Collection<Long> userIds) {
+        for(Long userId : userIds) {
+            families.remove(REFRESH_FAMILY_PREFIX + userId);
+            store.remove(REFRESH_TOKEN_PREFIX + userId);
+        }
+    }
+
+    @Override
+    public boolean isBlacklisted(String key) {
+        if(!blacklistBloomFilter.mightContain(key)) {
+            return false;
+        }
+        return existData(key);
+    }
+
+    // "prefix*" 형태의 패턴만 지원한다. (BlacklistFilterSynchronizer가 사용하는 형태)
+    @Override
+    public void scanKeys(String pattern, Consumer<String> consumer) {
+        String prefix = pattern.endsWith("*") ? pattern.substring(0, pattern.length() - 1) : pattern;
+        long now = System.currentTimeMillis();
+        store.forEach((key, entry) -> {
+            if(key.startsWith(prefix) && !entry.isExpired(now)) {
+                consumer.accept(key);
+            }
+        });
+    }
+
+    private record Family(long generation, String tokenHash, long expiresAt, long rotatedAt) {
+    }
+
+    private record Entry(String value, long expireAtMiliSecond) {
+        boolean isExpired(long now) {
+            return expireAtMiliSecond <= now;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.webserver_project.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// 엔드포인트별 응답 시간과 오류 수를 기록하고, 백분위(p50/p99/p999) 요약을 만드는 클래스
+class LatencyRecorder {
+    private final Map<String, Samples> samplesByEndpoint = new ConcurrentHashMap<>();
+
+    void record(String endpoint, long elapsedNanos, boolean success) {
+        samplesByEndpoint.computeIfAbsent(endpoint, key -> new Samples()).add(elapsedNanos, success);
+    }
+
+    long totalRequests() {
+        return samplesByEndpoint.values().stream().mapToLong(Samples::count).sum();
+    }
+
+    long totalErrors() {
+        return samplesByEndpoint.values().stream().mapToLong(samples -> samples.errors.sum()).sum();
+    }
+
+    // 엔드포인트 이름 순으로 정렬된 요약 (JSON 리포트를 커밋 간 diff하기 쉽도록)
+    Map<String, Map<String, Object>> summarize(double elapsedSeconds) {
+        Map<String, Map<String, Object>> summary = new LinkedHashMap<>();
+        samplesByEndpoint.keySet().stream().sorted().forEach(endpoint -> {
+            Samples samples = samplesByEndpoint.get(endpoint);
+            long[] sorted = samples.snapshot();
+            Arrays.sort(sorted);
+
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("requests", sorted.length);
+            stats.put("errors", samples.errors.sum());
+            stats.put("errorRate", sorted.length == 0 ? 0.0 : (double) samples.errors.sum() / sorted.length);
+            stats.put("throughputPerSecond", round(sorted.length / elapsedSeconds));
+            stats.put("p50Ms", percentileMillis(sorted, 0.50));
+            stats.put("p99Ms", percentileMillis(sorted, 0.99));
+            stats.put("p999Ms", percentileMillis(sorted, 0.999));
+            stats.put("maxMs", sorted.length == 0 ? 0.0 : round(sorted[sorted.length - 1] / 1_000_000.0));
+            summary.put(endpoint, stats);
+        });
+        return summary;
+    }
+
+    private static double percentileMillis(long[] sorted, double percentile) {
+        if(sorted.length == 0) return 0.0;
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return round(sorted[Math.max(0, index)] / 1_000_000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    // 응답 시간 샘플 (나노초). 배열이 가득 차면 두 배로 늘린다.
+    private static final class Samples {
+        private long[] values = new long[1024];
+        private final AtomicInteger size = new AtomicInteger();
+        private final LongAdder errors = new LongAdder();
+
+        synchronized void add(long elapsedNanos, boolean success) {
+            int index = size.getAndIncrement();
+            if(index == values.length) {
+                values = Arrays.copyOf(values, values.length * 2);
+            }
+            values[index] = elapsedNanos;
+            if(!success) {
+                errors.increment();
+            }
+        }
+
+        long count() {
+            return size.get();
+        }
+
+        synchronized long[] snapshot() {
+            return Arrays.copyOf(values, size.get());
+        }
+    }
+}
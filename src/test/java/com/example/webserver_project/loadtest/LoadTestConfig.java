@@ -0,0 +1,18 @@
+package com.example.webserver_project.loadtest;
+
+import com.example.webserver_project.infra.redis.BlacklistBloomFilter;
+import com.example.webserver_project.infra.redis.RedisUtil;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+
+// 부하 테스트에서 실제 RedisUtil 대신 InMemoryRedisUtil을 주입한다.
+@TestConfiguration
+public class LoadTestConfig {
+
+    @Bean
+    @Primary
+    public RedisUtil inMemoryRedisUtil(BlacklistBloomFilter blacklistBloomFilter) {
+        return new InMemoryRedisUtil(blacklistBloomFilter);
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.webserver_project.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 동시 회원가입 부하 테스트 - ./gradlew loadTest 로 실행한다. (일반 test 태스크에서는 제외됨)
+// 적은 수의 이메일로 가입 요청을 동시에 몰아서 보내고, 다음을 확인한다.
+    // ㄴ> 같은 이메일의 계정은 하나만 만들어진다 (나머지 요청은 400)
+    // ㄴ> 가입 한 건에 필요한 SQL 문 수 (Hibernate Statistics) - 중복 확인 조회 없이 INSERT 한 번이므로 1에 가깝다
+        // ㄴ> 이전 방식(existsByEmail + save)은 요청마다 2번이었다.
+// 설정 (-Ploadtest.xxx=값)
+    // ㄴ> loadtest.signup.requests : 가입 요청 수 (기본 400)
+    // ㄴ> loadtest.signup.distinct-emails : 요청에 사용할 이메일 수 (기본 100, 이메일마다 requests / distinct-emails번 충돌)
+    // ㄴ> loadtest.concurrency : 동시에 요청을 보내는 클라이언트 수 (기본 32)
+// 결과는 build/reports/loadtest/signup-latest.json 과 시각별 파일에 저장된다.
+@Tag("load")
+@ActiveProfiles("loadtest")
+@Import(LoadTestConfig.class)
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.jpa.properties.hibernate.generate_statistics=true"
+)
+class SignupLoadTest {
+    private static final Logger log = LoggerFactory.getLogger(SignupLoadTest.class);
+    private static final String PASSWORD = "load-test-password";
+
+    @MockitoBean
+    private RedisMessageListenerContainer redisMessageListenerContainer; // Redis 서버가 없으므로 pub/sub 구독을 띄우지 않는다
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @Test
+    void 동시_회원가입_부하_테스트() throws Exception {
+        int requests = Integer.getInteger("loadtest.signup.requests", 400);
+        int distinctEmails = Integer.getInteger("loadtest.signup.distinct-emails", 100);
+        int concurrency = Integer.getInteger("loadtest.concurrency", 32);
+        String runId = Long.toString(System.nanoTime(), 36); // 같은 JVM에서 다른 부하 테스트와 이메일이 겹치지 않도록 한다
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        LatencyRecorder recorder = new LatencyRecorder();
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        CountDownLatch startSignal = new CountDownLatch(1); // 모든 클라이언트가 준비된 뒤에 한꺼번에 보낸다
+
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        long started;
+        try {
+            List<Future<?>> futures = new ArrayList<>(requests);
+            for(int i = 0; i < requests; i++) {
+                String email = "signup-" + runId + "-" + (i % distinctEmails) + "@example.com";
+                futures.add(clients.submit(() -> {
+                    startSignal.await();
+                    int status = join(email, recorder);
+                    if(status == 200) created.incrementAndGet();
+                    else if(status == 400) rejected.incrementAndGet();
+                    else failed.incrementAndGet();
+                    return null;
+                }));
+            }
+            started = System.nanoTime();
+            startSignal.countDown();
+            for(Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            clients.shutdown();
+        }
+        double elapsedSeconds = (System.nanoTime() - started) / 1_000_000_000.0;
+
+        long statements = statistics.getPrepareStatementCount();
+        Integer accounts = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM User WHERE email LIKE ?", Integer.class, "signup-" + runId + "-%");
+        Integer duplicateAccounts = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) - COUNT(DISTINCT email) FROM User WHERE email LIKE ?", Integer.class, "signup-" + runId + "-%");
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("requests", requests);
+        report.put("distinctEmails", distinctEmails);
+        report.put("concurrency", concurrency);
+        report.put("elapsedSeconds", Math.round(elapsedSeconds * 100) / 100.0);
+        report.put("created", created.get());
+        report.put("rejectedDuplicates", rejected.get());
+        report.put("failed", failed.get());
+        report.put("accounts", accounts);
+        report.put("duplicateAccounts", duplicateAccounts);
+        report.put("statements", statements);
+        report.put("statementsPerRequest", Math.round((double) statements / requests * 100) / 100.0);
+        report.put("endpoints", recorder.summarize(elapsedSeconds));
+        writeReport(report);
+
+        assertThat(duplicateAccounts).isZero();
+        assertThat(accounts).isEqualTo(distinctEmails);
+        assertThat(created.get()).isEqualTo(distinctEmails);
+        assertThat(rejected.get()).isEqualTo(requests - distinctEmails);
+        assertThat(failed.get()).isZero();
+        // 중복 확인 조회가 없으므로 요청당 SQL은 INSERT 한 번 (+ 50건마다 id 블록 예약)
+        assertThat((double) statements / requests).isLessThan(1.5);
+    }
+
+    private int join(String email, LatencyRecorder recorder) throws Exception {
+        String body = objectMapper.writeValueAsString(Map.of("name", "signup", "email", email, "password", PASSWORD));
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/user/join"))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+
+        long started = System.nanoTime();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        // 중복 이메일 거절(400)은 의도한 결과이므로 오류로 세지 않는다
+        recorder.record("POST /user/join", System.nanoTime() - started, response.statusCode() == 200 || response.statusCode() == 400);
+        return response.statusCode();
+    }
+
+    private void writeReport(Map<String, Object> report) throws Exception {
+        Path directory = Path.of("build", "reports", "loadtest");
+        Files.createDirectories(directory);
+        String content = objectMapper.copy()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValueAsString(report);
+        Files.writeString(directory.resolve("signup-latest.json"), content);
+        Files.writeString(directory.resolve("signup-" + Instant.now().toEpochMilli() + ".json"), content);
+        log.info("회원가입 부하 테스트 결과\n{}", content);
+    }
+}